@@ -0,0 +1,107 @@
+package br.com.teste.clientes.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carga HTTP na API de clientes bloqueante (Spring MVC no Tomcat, JPA) e na do perfil
+ * {@code reactive} (WebFlux no Netty, R2DBC), com muitas conexões simultâneas: cada thread do JMH
+ * é um cliente com a sua conexão keep-alive, 256 por padrão (acima das 200 threads do Tomcat;
+ * altere com {@code -t}). O modo {@code SampleTime} registra a distribuição das latências, com
+ * p99 e p99.9 no resultado.
+ *
+ * <p>{@code getById} lê um cliente aleatório ({@code GET /api/clientes/{id}}) e {@code find} busca
+ * a primeira página por trecho do nome ({@code GET /api/clientes?nome=}, consulta e count). A
+ * base tem mil clientes, cadastrados em SQL: com tabelas maiores a busca sem índice domina o
+ * tempo e, com centenas de conexões, esgota o pool JDBC da variante bloqueante. O cache por id
+ * da API bloqueante é desligado para que as duas variantes leiam do banco.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(256)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Dhttp.maxConnections=1024"})
+public class ApiLoadBenchmark {
+
+    private static final int CLIENTES_CADASTRADOS = 1_000;
+
+    private static final String[] TERMOS = {"silva", "ana", "costa", "ernanda", "oliveira souza"};
+
+    @Param({"blocking", "reactive"})
+    String modo;
+
+    ConfigurableApplicationContext context;
+
+    String api;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = "reactive".equals(modo)
+                ? BenchmarkApplication.start("spring.profiles.active=reactive", "spring.cache.type=none")
+                : BenchmarkApplication.start("spring.cache.type=none");
+        NomeSearchBenchmark.cadastrar(context.getBean(JdbcTemplate.class), CLIENTES_CADASTRADOS);
+        int porta = ((WebServerApplicationContext) context).getWebServer().getPort();
+        api = "http://localhost:" + porta + "/api/clientes";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getById() throws IOException {
+        return get(api + "/" + (ThreadLocalRandom.current().nextInt(CLIENTES_CADASTRADOS) + 1));
+    }
+
+    @Benchmark
+    public int find() throws IOException {
+        String termo = TERMOS[ThreadLocalRandom.current().nextInt(TERMOS.length)];
+        return get(api + "?size=20&nome=" + termo.replace(" ", "%20"));
+    }
+
+    /**
+     * Lê a resposta inteira e fecha o corpo, para que a conexão volte ao keep-alive do
+     * {@link HttpURLConnection} e seja reaproveitada pela mesma thread.
+     */
+    private static int get(String url) throws IOException {
+        HttpURLConnection conexao = (HttpURLConnection) new URL(url).openConnection();
+        conexao.setRequestProperty("Accept", "application/json");
+        int status = conexao.getResponseCode();
+        if (status != 200) {
+            throw new IllegalStateException("GET " + url + " respondeu " + status);
+        }
+        int bytes = 0;
+        byte[] buffer = new byte[8192];
+        try (InputStream corpo = conexao.getInputStream()) {
+            for (int lidos = corpo.read(buffer); lidos >= 0; lidos = corpo.read(buffer)) {
+                bytes += lidos;
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.teste.clientes.benchmark;
+
+import br.com.teste.clientes.clientesApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sobe a aplicação numa porta aleatória, sobre um H2 em memória e sem o log de SQL,
+ * para que os benchmarks meçam apenas o caminho de código exercitado. As propriedades vão como
+ * argumentos de linha de comando para prevalecer sobre o {@code application.properties}.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        Map<String, String> valores = new LinkedHashMap<>();
+        valores.put("server.port", "0");
+        valores.put("spring.datasource.url", "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+        valores.put("spring.jpa.properties.hibernate.show_sql", "false");
+        valores.put("spring.jpa.properties.hibernate.format_sql", "false");
+        valores.put("spring.boot.admin.client.enabled", "false");
+        valores.put("logging.level.root", "WARN");
+        valores.put("logging.file.name", "");
+        for (String property : properties) {
+            int separador = property.indexOf('=');
+            valores.put(property.substring(0, separador), property.substring(separador + 1));
+        }
+        String[] args = valores.entrySet().stream()
+                .map(valor -> "--" + valor.getKey() + "=" + valor.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(clientesApplication.class).run(args);
+    }
+}
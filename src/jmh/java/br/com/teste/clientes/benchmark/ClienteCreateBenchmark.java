@@ -0,0 +1,87 @@
+package br.com.teste.clientes.benchmark;
+
+import br.com.teste.clientes.model.entity.Cliente;
+import br.com.teste.clientes.model.repository.ClienteRepository;
+import br.com.teste.clientes.service.ClienteService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latência do cadastro de um cliente: a verificação prévia com {@code existsByCpf} seguida do
+ * insert (caminho anterior de {@code ClienteServiceImpl.save}) contra o insert único protegido
+ * pela constraint de cpf.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClienteCreateBenchmark {
+
+    @Param("100000")
+    int clientesCadastrados;
+
+    ConfigurableApplicationContext context;
+
+    ClienteService service;
+
+    ClienteRepository repository;
+
+    AtomicLong sequencial;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        service = context.getBean(ClienteService.class);
+        repository = context.getBean(ClienteRepository.class);
+
+        List<Cliente> clientes = new ArrayList<>(clientesCadastrados);
+        for (int i = 0; i < clientesCadastrados; i++) {
+            clientes.add(Cliente.builder().nome("Cliente " + i).cpf(Cpfs.of(i)).build());
+        }
+        service.saveAll(clientes);
+        sequencial = new AtomicLong(clientesCadastrados);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Cliente checkThenInsert() {
+        Cliente cliente = novoCliente();
+        if (repository.existsByCpf(cliente.getCpf())) {
+            throw new IllegalStateException("cpf duplicado");
+        }
+        return repository.save(cliente);
+    }
+
+    @Benchmark
+    public Cliente constraintBackedInsert() {
+        return service.save(novoCliente());
+    }
+
+    private Cliente novoCliente() {
+        long n = sequencial.getAndIncrement();
+        return Cliente.builder().nome("Cliente " + n).cpf(Cpfs.of(n)).build();
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.teste.clientes.benchmark;
+
+import br.com.teste.clientes.api.dto.ClienteDTO;
+import br.com.teste.clientes.api.mapper.ClienteMapper;
+import br.com.teste.clientes.model.entity.Cliente;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo por objeto do mapeamento Cliente/ClienteDTO: ModelMapper (reflexão, usado antes nos
+ * controllers) contra o {@link ClienteMapper}. Rode com {@code -prof gc} para ver a alocação por
+ * operação ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClienteMapperBenchmark {
+
+    ModelMapper modelMapper;
+
+    ClienteMapper clienteMapper;
+
+    Cliente cliente;
+
+    ClienteDTO dto;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        clienteMapper = new ClienteMapper();
+        cliente = new Cliente(1L, "Fulano de Tal", "47442993001", LocalDate.of(2020, 8, 1));
+        dto = new ClienteDTO(null, "Fulano de Tal", "47442993001", null);
+    }
+
+    @Benchmark
+    public ClienteDTO modelMapperToDto() {
+        return modelMapper.map(cliente, ClienteDTO.class);
+    }
+
+    @Benchmark
+    public ClienteDTO clienteMapperToDto() {
+        return clienteMapper.toDto(cliente);
+    }
+
+    @Benchmark
+    public Cliente modelMapperToEntity() {
+        return modelMapper.map(dto, Cliente.class);
+    }
+
+    @Benchmark
+    public Cliente clienteMapperToEntity() {
+        return clienteMapper.toEntity(dto);
+    }
+}
@@ -0,0 +1,118 @@
+package br.com.teste.clientes.benchmark;
+
+import br.com.teste.clientes.model.entity.Cliente;
+import br.com.teste.clientes.service.ClienteService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca por exemplo de {@code ClienteServiceImpl.find} (o {@code GET /api/clientes}) sobre tabelas
+ * de 100 mil, 1 milhão e 5 milhões de clientes: sem filtro, por trecho do nome e por trecho do
+ * cpf. Cada busca executa a consulta da página e o count do total.
+ *
+ * <p>Os filtros acima acham um único cliente, e nesse caso o Spring Data já dispensa o count (a
+ * primeira página não enche). O count pesa quando o filtro é frequente: {@code nomeFrequente}
+ * acha cerca de 11% da tabela, e a variante {@code semCount} usa o {@code findSlice}, que só lê
+ * um cliente a mais que a página para saber se há próxima.
+ *
+ * <p>A carga é feita direto em SQL com o {@code SYSTEM_RANGE} do H2: passar 5 milhões de entidades
+ * pelo Hibernate levaria mais tempo que o próprio benchmark. Os cpfs gerados assim são únicos mas
+ * não têm dígitos verificadores válidos, o que não altera o plano das consultas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ClienteSearchBenchmark {
+
+    private static final int LOTE_CARGA = 500_000;
+
+    @Param({"100000", "1000000", "5000000"})
+    int clientesCadastrados;
+
+    ConfigurableApplicationContext context;
+
+    ClienteService service;
+
+    Pageable primeiraPagina;
+
+    Cliente semFiltro;
+
+    Cliente porNome;
+
+    Cliente porCpf;
+
+    Cliente porNomeFrequente;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        service = context.getBean(ClienteService.class);
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        for (long inicio = 1; inicio <= clientesCadastrados; inicio += LOTE_CARGA) {
+            long fim = Math.min(inicio + LOTE_CARGA - 1, clientesCadastrados);
+            jdbc.update("insert into cliente (id, nome, cpf, data_cadastro) "
+                    + "select x, 'Cliente ' || x, lpad(x, 11, '0'), current_date "
+                    + "from system_range(?, ?)", inicio, fim);
+        }
+
+        long meio = clientesCadastrados / 2;
+        primeiraPagina = PageRequest.of(0, 20);
+        semFiltro = new Cliente();
+        porNome = Cliente.builder().nome("cliente " + meio).build();
+        porCpf = Cliente.builder().cpf(String.format("%011d", meio)).build();
+        porNomeFrequente = Cliente.builder().nome("cliente 1").build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Cliente> semFiltro() {
+        return service.find(semFiltro, primeiraPagina);
+    }
+
+    @Benchmark
+    public Page<Cliente> nomeContendo() {
+        return service.find(porNome, primeiraPagina);
+    }
+
+    @Benchmark
+    public Page<Cliente> cpfContendo() {
+        return service.find(porCpf, primeiraPagina);
+    }
+
+    @Benchmark
+    public Page<Cliente> nomeFrequente() {
+        return service.find(porNomeFrequente, primeiraPagina);
+    }
+
+    @Benchmark
+    public Slice<Cliente> nomeFrequenteSemCount() {
+        return service.findSlice(porNomeFrequente, primeiraPagina);
+    }
+}
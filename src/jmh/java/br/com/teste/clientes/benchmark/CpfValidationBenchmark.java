@@ -0,0 +1,109 @@
+package br.com.teste.clientes.benchmark;
+
+import br.com.teste.clientes.api.dto.ClienteDTO;
+import br.com.teste.clientes.validation.Cpf;
+import lombok.AllArgsConstructor;
+import org.hibernate.validator.constraints.br.CPF;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo da validação do cpf do {@link ClienteDTO}, isolada ({@code validateProperty}) e junto das
+ * demais constraints do DTO ({@code validate}), como no {@code @Valid} dos controllers. O cpf
+ * inválido exercita também a interpolação da mensagem. Os benchmarks {@code hibernate*} usam o
+ * {@code @CPF} do Hibernate Validator, baseado em expressões regulares, que o {@code @CpfValido}
+ * substituiu, e {@code cpfSemValidator} mede só o {@link Cpf#isValid(CharSequence)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CpfValidationBenchmark {
+
+    ValidatorFactory factory;
+
+    Validator validator;
+
+    ClienteDTO valido;
+
+    ClienteDTO invalido;
+
+    CpfHibernate hibernateValido;
+
+    CpfHibernate hibernateInvalido;
+
+    @Setup
+    public void setUp() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+        valido = ClienteDTO.builder().nome("Cliente").cpf(Cpfs.of(42)).build();
+        invalido = ClienteDTO.builder().nome("Cliente").cpf("12345678900").build();
+        hibernateValido = new CpfHibernate(valido.getCpf());
+        hibernateInvalido = new CpfHibernate(invalido.getCpf());
+    }
+
+    @TearDown
+    public void tearDown() {
+        factory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ClienteDTO>> cpfValido() {
+        return validator.validateProperty(valido, "cpf");
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ClienteDTO>> cpfInvalido() {
+        return validator.validateProperty(invalido, "cpf");
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ClienteDTO>> dtoValido() {
+        return validator.validate(valido);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ClienteDTO>> dtoInvalido() {
+        return validator.validate(invalido);
+    }
+
+    @Benchmark
+    public boolean cpfSemValidator() {
+        return Cpf.isValid(valido.getCpf());
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CpfHibernate>> hibernateCpfValido() {
+        return validator.validateProperty(hibernateValido, "cpf");
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CpfHibernate>> hibernateCpfInvalido() {
+        return validator.validateProperty(hibernateInvalido, "cpf");
+    }
+
+    @AllArgsConstructor
+    static class CpfHibernate {
+
+        @CPF(message = "{campo.cpf.invalido}")
+        String cpf;
+    }
+}
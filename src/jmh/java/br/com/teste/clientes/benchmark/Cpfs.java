@@ -0,0 +1,33 @@
+package br.com.teste.clientes.benchmark;
+
+/**
+ * Gera cpfs válidos e distintos a partir de um número sequencial, para alimentar os benchmarks.
+ * A base de nove dígitos começa em 100.000.000 para nunca gerar cpfs com todos os dígitos iguais
+ * nos volumes usados aqui.
+ */
+final class Cpfs {
+
+    private Cpfs() {
+    }
+
+    static String of(long sequencial) {
+        char[] digitos = new char[11];
+        long base = 100_000_000L + sequencial % 900_000_000L;
+        for (int i = 8; i >= 0; i--) {
+            digitos[i] = (char) ('0' + base % 10);
+            base /= 10;
+        }
+        digitos[9] = digitoVerificador(digitos, 9);
+        digitos[10] = digitoVerificador(digitos, 10);
+        return new String(digitos);
+    }
+
+    private static char digitoVerificador(char[] digitos, int posicao) {
+        int soma = 0;
+        for (int i = 0; i < posicao; i++) {
+            soma += (digitos[i] - '0') * (posicao + 1 - i);
+        }
+        int resto = (soma * 10) % 11;
+        return (char) ('0' + (resto == 10 ? 0 : resto));
+    }
+}
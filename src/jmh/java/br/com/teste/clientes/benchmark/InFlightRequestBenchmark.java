@@ -0,0 +1,247 @@
+package br.com.teste.clientes.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Requisições em andamento com o banco ocupado, no pool de threads do Tomcat ({@code platform})
+ * e em virtual threads ({@code virtual}, ver {@code VirtualThreadConfig}). Antes de cada medição
+ * o benchmark toma todas as conexões do pool do Hikari e envia {@code requisicoes} leituras por
+ * id, cada uma na sua conexão TCP e sem nenhuma thread do lado do cliente: as requisições param à
+ * espera de uma conexão JDBC, como parariam com o banco lento. Com o pool do Tomcat só
+ * {@code server.tomcat.threads.max} (200) delas chegam a essa espera e o resto aguarda na fila do
+ * executor; com virtual threads todas chegam.
+ *
+ * <p>O tempo medido vai da devolução das conexões até a última resposta. Os contadores auxiliares
+ * trazem, da última rodada de cada iteração, quantas requisições esperavam ao mesmo tempo
+ * ({@code emEspera}) e a memória por requisição em espera, em bytes: heap ocupado depois de um GC ({@code heapPorRequisicao}, onde
+ * ficam as pilhas das virtual threads) e pilhas das threads da plataforma criadas desde a subida,
+ * pelo Native Memory Tracking ({@code pilhasPorRequisicao}). O cache de processadores HTTP do
+ * Tomcat é desligado, para que o estado de cada requisição entre no heap medido nas duas
+ * variantes. Com 200 requisições as duas têm todas em espera, mas o heap que ocupam fica dentro
+ * da variação entre coletas; com 2000 o heap por requisição se estabiliza e aparece o limite do
+ * pool. Na tabela final do JMH os contadores aparecem somados das iterações.
+ *
+ * <p>O modo {@code virtual} precisa de um JDK 21 ou mais novo no fork. Compile com o JDK do
+ * projeto e aponte o fork para o outro JDK:
+ * {@code ./mvnw -Pjmh -DskipTests verify -Djmh.args="InFlightRequest -jvm /caminho/jdk-21/bin/java"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-XX:NativeMemoryTracking=summary"})
+public class InFlightRequestBenchmark {
+
+    private static final int CLIENTES_CADASTRADOS = 10_000;
+
+    private static final Pattern PILHAS = Pattern.compile("Thread \\(reserved=\\d+\\s*KB, committed=(\\d+)\\s*KB\\)");
+
+    @Param({"platform", "virtual"})
+    String modo;
+
+    @Param({"200", "2000"})
+    int requisicoes;
+
+    ConfigurableApplicationContext context;
+
+    DataSource dataSource;
+
+    HikariPoolMXBean pool;
+
+    int conexoesDoPool;
+
+    int porta;
+
+    long pilhasIniciais;
+
+    int proximoId;
+
+    List<Connection> ocupadas;
+
+    List<SocketChannel> pendentes;
+
+    long emEspera;
+
+    long heapPorRequisicao;
+
+    long pilhasPorRequisicao;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Contadores {
+
+        public long emEspera;
+
+        public long heapPorRequisicao;
+
+        public long pilhasPorRequisicao;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start("spring.cache.type=none", "server.tomcat.processor-cache=0",
+                "clientes.virtual-threads.enabled=" + "virtual".equals(modo));
+        TomcatWebServer servidor = (TomcatWebServer) ((WebServerApplicationContext) context).getWebServer();
+        Executor executor = servidor.getTomcat().getConnector().getProtocolHandler().getExecutor();
+        if ("virtual".equals(modo) && executor instanceof org.apache.tomcat.util.threads.ThreadPoolExecutor) {
+            throw new IllegalStateException("Virtual threads indisponíveis no Java "
+                    + System.getProperty("java.version") + "; rode o fork num JDK 21 com -jvm");
+        }
+        NomeSearchBenchmark.cadastrar(context.getBean(JdbcTemplate.class), CLIENTES_CADASTRADOS);
+        porta = servidor.getPort();
+        dataSource = context.getBean(DataSource.class);
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        pool = hikari.getHikariPoolMXBean();
+        conexoesDoPool = hikari.getMaximumPoolSize();
+        heapAposGc();
+        pilhasIniciais = pilhas();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Ocupa o pool do Hikari, envia as requisições e espera que parem de chegar à fila do pool.
+     */
+    @Setup(Level.Invocation)
+    public void ocupar() throws Exception {
+        ocupadas = new ArrayList<>(conexoesDoPool);
+        for (int i = 0; i < conexoesDoPool; i++) {
+            ocupadas.add(dataSource.getConnection());
+        }
+        long heapInicial = heapAposGc();
+        pendentes = new ArrayList<>(requisicoes);
+        for (int i = 0; i < requisicoes; i++) {
+            pendentes.add(enviar("/api/clientes/" + (proximoId++ % CLIENTES_CADASTRADOS + 1)));
+        }
+        emEspera = aguardarFila();
+        heapPorRequisicao = (heapAposGc() - heapInicial) / emEspera;
+        pilhasPorRequisicao = Math.max(0, pilhas() - pilhasIniciais) / emEspera;
+    }
+
+    @Benchmark
+    public long liberar(Contadores contadores) throws SQLException, IOException {
+        for (Connection conexao : ocupadas) {
+            conexao.close();
+        }
+        long bytes = 0;
+        for (SocketChannel canal : pendentes) {
+            bytes += lerResposta(canal);
+        }
+        contadores.emEspera = emEspera;
+        contadores.heapPorRequisicao = heapPorRequisicao;
+        contadores.pilhasPorRequisicao = pilhasPorRequisicao;
+        return bytes;
+    }
+
+    /**
+     * Requisições à espera de uma conexão quando todas chegaram ou quando o número fica estável
+     * por meio segundo (o restante está na fila do executor do Tomcat).
+     */
+    private long aguardarFila() throws InterruptedException {
+        int anterior = -1;
+        long estavelDesde = System.nanoTime();
+        while (true) {
+            int atual = pool.getThreadsAwaitingConnection();
+            if (atual >= requisicoes) {
+                return atual;
+            }
+            if (atual != anterior) {
+                anterior = atual;
+                estavelDesde = System.nanoTime();
+            } else if (atual > 0 && System.nanoTime() - estavelDesde > TimeUnit.MILLISECONDS.toNanos(500)) {
+                return atual;
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private SocketChannel enviar(String caminho) throws IOException {
+        SocketChannel canal = SocketChannel.open(new InetSocketAddress("localhost", porta));
+        String requisicao = "GET " + caminho + " HTTP/1.1\r\nHost: localhost\r\nAccept: application/json\r\n"
+                + "Connection: close\r\n\r\n";
+        canal.write(ByteBuffer.wrap(requisicao.getBytes(StandardCharsets.US_ASCII)));
+        return canal;
+    }
+
+    private static int lerResposta(SocketChannel canal) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        String status = null;
+        int bytes = 0;
+        try (SocketChannel fechar = canal) {
+            for (int lidos = canal.read(buffer); lidos >= 0; lidos = canal.read(buffer)) {
+                bytes += lidos;
+                if (status == null && buffer.position() >= 12) {
+                    status = new String(buffer.array(), 0, 12, StandardCharsets.US_ASCII);
+                }
+                if (!buffer.hasRemaining()) {
+                    buffer.clear();
+                }
+            }
+        }
+        if (!"HTTP/1.1 200".equals(status)) {
+            throw new IllegalStateException("Resposta inesperada: " + status);
+        }
+        return bytes;
+    }
+
+    private static long heapAposGc() {
+        System.gc();
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Memória das pilhas das threads da plataforma, segundo o Native Memory Tracking.
+     */
+    private static long pilhas() throws JMException {
+        String resumo = (String) ManagementFactory.getPlatformMBeanServer().invoke(
+                new ObjectName("com.sun.management:type=DiagnosticCommand"), "vmNativeMemory",
+                new Object[]{new String[]{"summary"}}, new String[]{String[].class.getName()});
+        Matcher pilhas = PILHAS.matcher(resumo);
+        if (!pilhas.find()) {
+            throw new IllegalStateException("Native Memory Tracking desligado: " + resumo);
+        }
+        return Long.parseLong(pilhas.group(1)) * 1024;
+    }
+}
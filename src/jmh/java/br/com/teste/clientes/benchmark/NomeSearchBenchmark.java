@@ -0,0 +1,111 @@
+package br.com.teste.clientes.benchmark;
+
+import br.com.teste.clientes.model.entity.Cliente;
+import br.com.teste.clientes.service.ClienteService;
+import br.com.teste.clientes.service.impl.NomeSearchIndexImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca ranqueada por trecho do nome ({@code ClienteService.searchByNome}, o
+ * {@code GET /api/clientes/search}) sobre o índice de trigramas, com 100 mil, 1 milhão e 5 milhões
+ * de clientes. "silva" é um sobrenome comum (muitos candidatos para ranquear), "ernanda sou" é
+ * seletivo e começa no meio de uma palavra.
+ *
+ * <p>Os nomes combinam listas de nomes e sobrenomes frequentes, para que a distribuição dos
+ * trigramas se pareça com a de uma base real. A carga é feita em SQL e o índice é recarregado em
+ * seguida, já que ele é montado quando a aplicação sobe. O H2 fica em arquivo para que a tabela
+ * não divida o heap com o índice.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class NomeSearchBenchmark {
+
+    private static final int LOTE_CARGA = 500_000;
+
+    private static final String[] NOMES = {"Ana", "Maria", "João", "José", "Francisco", "Antônio",
+            "Carlos", "Paulo", "Pedro", "Lucas", "Luiz", "Marcos", "Luís", "Gabriel", "Rafael", "Daniel",
+            "Marcelo", "Bruno", "Eduardo", "Felipe", "Juliana", "Fernanda", "Patrícia", "Aline", "Sandra",
+            "Camila", "Amanda", "Bruna", "Jéssica", "Letícia", "Júlia", "Luciana", "Vanessa", "Mariana",
+            "Gabriela", "Vera", "Vitória", "Larissa", "Cláudia", "Beatriz", "Rita", "Luana", "Sônia",
+            "Renata", "Eliane", "Josefa", "Adriana", "Simone", "Raimundo", "Sebastião"};
+
+    private static final String[] SOBRENOMES = {"Silva", "Santos", "Oliveira", "Souza", "Rodrigues",
+            "Ferreira", "Alves", "Pereira", "Lima", "Gomes", "Costa", "Ribeiro", "Martins", "Carvalho",
+            "Almeida", "Lopes", "Soares", "Fernandes", "Vieira", "Barbosa", "Rocha", "Dias", "Nascimento",
+            "Andrade", "Moreira", "Nunes", "Marques", "Machado", "Mendes", "Freitas", "Cardoso", "Ramos",
+            "Gonçalves", "Santana", "Teixeira", "Araújo", "Pinto", "Cavalcanti", "Correia", "Monteiro",
+            "Moura", "Batista", "Campos", "Castro", "Reis", "Xavier", "Azevedo", "Fonseca", "Miranda", "Brito"};
+
+    @Param({"100000", "1000000", "5000000"})
+    int clientesCadastrados;
+
+    @Param({"silva", "ernanda sou"})
+    String termo;
+
+    ConfigurableApplicationContext context;
+
+    ClienteService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("spring.datasource.url=jdbc:h2:file:./target/benchmark-h2/nomes");
+        service = context.getBean(ClienteService.class);
+
+        cadastrar(context.getBean(JdbcTemplate.class), clientesCadastrados);
+        context.getBean(NomeSearchIndexImpl.class).carregar();
+    }
+
+    /**
+     * Cadastra a quantidade de clientes com nomes combinados das listas, direto em SQL.
+     */
+    static void cadastrar(JdbcTemplate jdbc, int quantidade) {
+        jdbc.execute("create table nomes_benchmark (i int primary key, nome varchar(30))");
+        jdbc.execute("create table sobrenomes_benchmark (i int primary key, nome varchar(30))");
+        for (int i = 0; i < NOMES.length; i++) {
+            jdbc.update("insert into nomes_benchmark values (?, ?)", i, NOMES[i]);
+            jdbc.update("insert into sobrenomes_benchmark values (?, ?)", i, SOBRENOMES[i]);
+        }
+        for (long inicio = 1; inicio <= quantidade; inicio += LOTE_CARGA) {
+            long fim = Math.min(inicio + LOTE_CARGA - 1, quantidade);
+            jdbc.update("insert into cliente (id, nome, cpf, data_cadastro) "
+                    + "select x, n.nome || ' ' || s1.nome || ' ' || s2.nome, lpad(x, 11, '0'), current_date "
+                    + "from system_range(?, ?) "
+                    + "join nomes_benchmark n on n.i = mod(x, 50) "
+                    + "join sobrenomes_benchmark s1 on s1.i = mod(x / 50, 50) "
+                    + "join sobrenomes_benchmark s2 on s2.i = mod(x / 2500, 50)", inicio, fim);
+        }
+        jdbc.execute("drop table nomes_benchmark");
+        jdbc.execute("drop table sobrenomes_benchmark");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Cliente> searchByNome() {
+        return service.searchByNome(termo, 20);
+    }
+}
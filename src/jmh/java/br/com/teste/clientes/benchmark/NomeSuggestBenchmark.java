@@ -0,0 +1,66 @@
+package br.com.teste.clientes.benchmark;
+
+import br.com.teste.clientes.model.repository.ClienteNome;
+import br.com.teste.clientes.service.ClienteService;
+import br.com.teste.clientes.service.impl.NomePrefixIndexImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sugestões por prefixo do nome ({@code ClienteService.suggest}, o {@code GET /api/clientes/suggest})
+ * sobre o índice ordenado em memória, com 100 mil e 1 milhão de clientes cadastrados como em
+ * {@link NomeSearchBenchmark}. "m" casa com muitos nomes, "fernanda sou" com poucos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class NomeSuggestBenchmark {
+
+    @Param({"100000", "1000000"})
+    int clientesCadastrados;
+
+    @Param({"m", "fernanda sou"})
+    String prefixo;
+
+    ConfigurableApplicationContext context;
+
+    ClienteService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        service = context.getBean(ClienteService.class);
+
+        NomeSearchBenchmark.cadastrar(context.getBean(JdbcTemplate.class), clientesCadastrados);
+        context.getBean(NomePrefixIndexImpl.class).carregar();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ClienteNome> suggest() {
+        return service.suggest(prefixo, 10);
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.teste.clientes.benchmark;
+
+import br.com.teste.clientes.api.dto.ClienteDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização de um {@code Page<ClienteDTO>}, a resposta do {@code GET /api/clientes}, com o
+ * ObjectMapper montado pelo mesmo builder que o Spring Boot usa para as respostas HTTP.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageSerializationBenchmark {
+
+    @Param({"20", "100", "1000"})
+    int tamanhoPagina;
+
+    ObjectMapper objectMapper;
+
+    Page<ClienteDTO> pagina;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<ClienteDTO> clientes = new ArrayList<>(tamanhoPagina);
+        for (int i = 0; i < tamanhoPagina; i++) {
+            clientes.add(ClienteDTO.builder()
+                    .id((long) i)
+                    .nome("Cliente " + i)
+                    .cpf(Cpfs.of(i))
+                    .dataCadastro(LocalDate.of(2020, 1, 1).plusDays(i))
+                    .build());
+        }
+        pagina = new PageImpl<>(clientes, PageRequest.of(0, tamanhoPagina), 5_000_000L);
+    }
+
+    @Benchmark
+    public byte[] serializar() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pagina);
+    }
+}
@@ -0,0 +1,228 @@
+package br.com.teste.clientes.loadtest;
+
+import br.com.teste.clientes.service.SyntheticClientes;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gera a carga: cada conexão é uma thread com a sua conexão keep-alive, que sorteia a próxima
+ * operação pelos pesos do mix.
+ *
+ * <p>Com {@code rate}, cada conexão tem horários marcados a intervalos fixos e a latência conta
+ * a partir do horário marcado, não do envio: quando o servidor atrasa, o tempo que a requisição
+ * esperaria na fila entra na medida em vez de sumir (omissão coordenada). Sem {@code rate}, cada
+ * conexão envia a próxima assim que a anterior responde.
+ *
+ * <p>{@code get} e {@code update} usam os clientes cadastrados antes da carga, que nunca são
+ * excluídos; {@code delete} exclui os criados pelo próprio teste e, quando ainda não há nenhum,
+ * vira um {@code create}. Os cpfs vêm dos mesmos {@link SyntheticClientes} da carga inicial, em
+ * índices depois dos dela, para nunca repetirem um cpf cadastrado.
+ */
+final class LoadGenerator {
+
+    private static final String[] SOBRENOMES = SyntheticClientes.sobrenomes();
+
+    private static final long CPF_ALTERACAO = 500_000_000L;
+
+    private final LoadTestConfig config;
+
+    private final String api;
+
+    private final Operacao[] sorteio;
+
+    private final AtomicLong cadastros = new AtomicLong();
+
+    private final Queue<Long> criados = new ConcurrentLinkedQueue<>();
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final SyntheticClientes sinteticos = new SyntheticClientes(LoadTest.SEMENTE);
+
+    LoadGenerator(LoadTestConfig config, String api) {
+        this.config = config;
+        this.api = api;
+        List<Operacao> pesos = new ArrayList<>();
+        config.getMix().forEach((operacao, peso) -> {
+            for (int i = 0; i < peso; i++) {
+                pesos.add(operacao);
+            }
+        });
+        this.sorteio = pesos.toArray(new Operacao[0]);
+    }
+
+    /**
+     * Executa o aquecimento e a medição e devolve as medições de cada operação.
+     */
+    Map<Operacao, Medicao> run() throws InterruptedException {
+        long inicio = System.nanoTime();
+        long inicioMedicao = inicio + config.getWarmup().toNanos();
+        long fim = inicioMedicao + config.getDuration().toNanos();
+        long intervalo = config.getRate() > 0 ? (long) (config.getConcurrency() * 1e9 / config.getRate()) : 0;
+
+        List<Conexao> conexoes = new ArrayList<>();
+        for (int i = 0; i < config.getConcurrency(); i++) {
+            Conexao conexao = new Conexao(inicio + intervalo * i / config.getConcurrency(), intervalo,
+                    inicioMedicao, fim);
+            conexao.setName("carga-" + i);
+            conexoes.add(conexao);
+            conexao.start();
+        }
+        Map<Operacao, Medicao> medicoes = new EnumMap<>(Operacao.class);
+        for (Conexao conexao : conexoes) {
+            conexao.join();
+            conexao.medicoes.forEach((operacao, medicao) ->
+                    medicoes.computeIfAbsent(operacao, o -> new Medicao()).somar(medicao));
+        }
+        return medicoes;
+    }
+
+    private final class Conexao extends Thread {
+
+        private final Map<Operacao, Medicao> medicoes = new EnumMap<>(Operacao.class);
+
+        private final long intervalo;
+
+        private final long inicioMedicao;
+
+        private final long fim;
+
+        private long proxima;
+
+        Conexao(long primeira, long intervalo, long inicioMedicao, long fim) {
+            this.proxima = primeira;
+            this.intervalo = intervalo;
+            this.inicioMedicao = inicioMedicao;
+            this.fim = fim;
+        }
+
+        @Override
+        public void run() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (true) {
+                long marcada;
+                if (intervalo > 0) {
+                    marcada = proxima;
+                    proxima += intervalo;
+                    if (marcada >= fim) {
+                        return;
+                    }
+                    for (long espera = marcada - System.nanoTime(); espera > 0; espera = marcada - System.nanoTime()) {
+                        LockSupport.parkNanos(espera);
+                    }
+                } else {
+                    marcada = System.nanoTime();
+                    if (marcada >= fim) {
+                        return;
+                    }
+                }
+                Operacao operacao = sorteio[random.nextInt(sorteio.length)];
+                Long removido = operacao == Operacao.DELETE ? criados.poll() : null;
+                if (operacao == Operacao.DELETE && removido == null) {
+                    operacao = Operacao.CREATE;
+                }
+                boolean sucesso = executar(operacao, removido, random);
+                if (marcada >= inicioMedicao) {
+                    medicoes.computeIfAbsent(operacao, o -> new Medicao())
+                            .registrar(System.nanoTime() - marcada, sucesso);
+                }
+            }
+        }
+    }
+
+    private boolean executar(Operacao operacao, Long removido, ThreadLocalRandom random) {
+        try {
+            switch (operacao) {
+                case CREATE:
+                    long sequencial = cadastros.getAndIncrement();
+                    Resposta criado = enviar("POST", api, corpo("Carga " + sequencial + " " + sobrenome(random),
+                            sinteticos.cpf(config.getClientes() + sequencial)));
+                    if (operacao.isSucesso(criado.status)) {
+                        criados.add(mapper.readTree(criado.corpo).get("id").asLong());
+                    }
+                    return operacao.isSucesso(criado.status);
+                case GET:
+                    return operacao.isSucesso(enviar("GET", api + "/" + cadastrado(random), null).status);
+                case UPDATE:
+                    long id = cadastrado(random);
+                    return operacao.isSucesso(enviar("PUT", api + "/" + id,
+                            corpo("Cliente " + id + " Alterado", sinteticos.cpf(CPF_ALTERACAO + id))).status);
+                case DELETE:
+                    return operacao.isSucesso(enviar("DELETE", api + "/" + removido, null).status);
+                case FIND:
+                    return operacao.isSucesso(enviar("GET", api + "?size=20&nome=" + sobrenome(random), null).status);
+                default:
+                    throw new IllegalStateException("Operação sem implementação: " + operacao);
+            }
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private long cadastrado(ThreadLocalRandom random) {
+        return random.nextInt(config.getClientes()) + 1;
+    }
+
+    private static String sobrenome(ThreadLocalRandom random) {
+        return SOBRENOMES[random.nextInt(SOBRENOMES.length)];
+    }
+
+    private static String corpo(String nome, String cpf) {
+        return "{\"nome\":\"" + nome + "\",\"cpf\":\"" + cpf + "\"}";
+    }
+
+    /**
+     * Envia a requisição e lê a resposta inteira, inclusive a de erro, para que a conexão volte ao
+     * keep-alive do {@link HttpURLConnection}.
+     */
+    private static Resposta enviar(String metodo, String url, String corpo) throws IOException {
+        HttpURLConnection conexao = (HttpURLConnection) new URL(url).openConnection();
+        conexao.setRequestMethod(metodo);
+        conexao.setRequestProperty("Accept", "application/json");
+        if (corpo != null) {
+            conexao.setDoOutput(true);
+            conexao.setRequestProperty("Content-Type", "application/json");
+            try (OutputStream saida = conexao.getOutputStream()) {
+                saida.write(corpo.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        int status = conexao.getResponseCode();
+        ByteArrayOutputStream resposta = new ByteArrayOutputStream();
+        try (InputStream entrada = status >= 400 ? conexao.getErrorStream() : conexao.getInputStream()) {
+            if (entrada != null) {
+                byte[] buffer = new byte[8192];
+                for (int lidos = entrada.read(buffer); lidos >= 0; lidos = entrada.read(buffer)) {
+                    resposta.write(buffer, 0, lidos);
+                }
+            }
+        }
+        return new Resposta(status, resposta.toByteArray());
+    }
+
+    private static final class Resposta {
+
+        final int status;
+
+        final byte[] corpo;
+
+        Resposta(int status, byte[] corpo) {
+            this.status = status;
+            this.corpo = corpo;
+        }
+    }
+}
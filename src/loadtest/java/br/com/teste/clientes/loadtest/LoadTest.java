@@ -0,0 +1,89 @@
+package br.com.teste.clientes.loadtest;
+
+import br.com.teste.clientes.clientesApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Teste de carga HTTP da API de clientes, sem nenhum serviço externo: sobe a aplicação numa
+ * porta aleatória sobre um banco H2 em arquivo, recriado e populado a cada execução, gera a carga
+ * ({@link LoadGenerator}) e grava o relatório ({@link LoadTestReport}). Termina com código 1
+ * quando há regressão, para servir de critério na liberação de versões:
+ * {@code ./mvnw -Ploadtest -DskipTests verify -Dloadtest.args="duration=2m baseline=referencia.json"}.
+ * Os parâmetros estão em {@link LoadTestConfig}.
+ */
+public final class LoadTest {
+
+    /**
+     * Semente dos clientes sintéticos; fixa, para que execuções comparadas usem os mesmos dados.
+     */
+    static final long SEMENTE = 1;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        System.setProperty("http.maxConnections", String.valueOf(Math.max(5, config.getConcurrency())));
+
+        ConfigurableApplicationContext context = iniciar(config);
+        int status;
+        try {
+            int porta = ((WebServerApplicationContext) context).getWebServer().getPort();
+            Instant inicio = Instant.now();
+            System.out.printf("Carga em http://localhost:%d/api/clientes: %d conexões, %s de aquecimento e %s de medição%n",
+                    porta, config.getConcurrency(), config.getWarmup(), config.getDuration());
+            Map<Operacao, Medicao> medicoes = new LoadGenerator(config, "http://localhost:" + porta + "/api/clientes")
+                    .run();
+
+            LoadTestReport report = LoadTestReport.of(config, medicoes, inicio);
+            report.write(config.getOutput());
+            System.out.print(report.resumo());
+            System.out.println("Relatório em " + config.getOutput().toAbsolutePath().resolve("report.html"));
+            List<String> regressoes = report.regressoes(config);
+            regressoes.forEach(regressao -> System.out.println("Regressão: " + regressao));
+            status = regressoes.isEmpty() ? 0 : 1;
+        } finally {
+            context.close();
+        }
+        System.exit(status);
+    }
+
+    /**
+     * Sobe a aplicação sobre um banco novo em {@code output/h2}, populado com os clientes
+     * sintéticos de ids 1 a {@code clientes} pelo {@code clientes.seed} da própria aplicação.
+     */
+    private static ConfigurableApplicationContext iniciar(LoadTestConfig config) throws IOException {
+        Path banco = config.getOutput().resolve("h2").toAbsolutePath();
+        FileSystemUtils.deleteRecursively(banco);
+        Map<String, String> propriedades = new LinkedHashMap<>();
+        propriedades.put("server.port", "0");
+        propriedades.put("spring.datasource.url", "jdbc:h2:file:" + banco.resolve("clientes"));
+        propriedades.put("spring.boot.admin.client.enabled", "false");
+        propriedades.put("logging.level.root", "WARN");
+        propriedades.put("logging.file.name", "");
+        propriedades.put("clientes.seed.rows", String.valueOf(config.getClientes()));
+        propriedades.put("clientes.seed.seed", String.valueOf(SEMENTE));
+        for (String arg : config.getApplicationArgs()) {
+            int separador = arg.indexOf('=');
+            propriedades.put(arg.substring(2, separador < 0 ? arg.length() : separador),
+                    separador < 0 ? "true" : arg.substring(separador + 1));
+        }
+        String[] args = propriedades.entrySet().stream()
+                .map(propriedade -> "--" + propriedade.getKey() + "=" + propriedade.getValue())
+                .toArray(String[]::new);
+        // Sem isso o devtools reinicia a aplicação chamando de novo o main com os argumentos acima
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        return new SpringApplicationBuilder(clientesApplication.class).run(args);
+    }
+
+}
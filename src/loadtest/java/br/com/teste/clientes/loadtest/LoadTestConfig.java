@@ -0,0 +1,134 @@
+package br.com.teste.clientes.loadtest;
+
+import lombok.Getter;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parâmetros do teste de carga, lidos dos argumentos no formato {@code chave=valor}. Argumentos
+ * que começam com {@code --} vão para a aplicação testada, como propriedades do Spring
+ * ({@code --clientes.virtual-threads.enabled=true}).
+ *
+ * <ul>
+ *     <li>{@code concurrency}: conexões simultâneas, uma thread cada (padrão 32);</li>
+ *     <li>{@code rate}: requisições por segundo somadas de todas as conexões; 0 envia a próxima
+ *     assim que a anterior responde (padrão 0);</li>
+ *     <li>{@code warmup} e {@code duration}: aquecimento, fora do relatório, e medição (padrão
+ *     {@code 10s} e {@code 60s});</li>
+ *     <li>{@code clientes}: clientes cadastrados antes da carga (padrão 10000);</li>
+ *     <li>{@code mix}: peso de cada operação (padrão {@code create=1,get=6,update=1,delete=1,find=1});</li>
+ *     <li>{@code output}: diretório do relatório e do banco H2 (padrão {@code target/loadtest});</li>
+ *     <li>{@code baseline}: relatório JSON de uma execução anterior, com os mesmos parâmetros, para
+ *     comparar; com ele, {@code tolerance} é a piora aceita no p99 e no throughput de cada operação
+ *     (padrão 0.10);</li>
+ *     <li>{@code max-error-rate}: fração máxima de erros por operação (padrão 0.01).</li>
+ * </ul>
+ */
+@Getter
+final class LoadTestConfig {
+
+    private int concurrency = 32;
+
+    private double rate;
+
+    private Duration warmup = Duration.ofSeconds(10);
+
+    private Duration duration = Duration.ofSeconds(60);
+
+    private int clientes = 10_000;
+
+    private Map<Operacao, Integer> mix = mix("create=1,get=6,update=1,delete=1,find=1");
+
+    private Path output = Paths.get("target", "loadtest");
+
+    private Path baseline;
+
+    private double tolerance = 0.10;
+
+    private double maxErrorRate = 0.01;
+
+    private final List<String> applicationArgs = new ArrayList<>();
+
+    static LoadTestConfig parse(String... args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                config.applicationArgs.add(arg);
+                continue;
+            }
+            int separador = arg.indexOf('=');
+            if (separador < 0) {
+                throw new IllegalArgumentException("Argumento sem valor: " + arg);
+            }
+            config.set(arg.substring(0, separador), arg.substring(separador + 1));
+        }
+        if (config.concurrency <= 0 || config.rate < 0 || config.clientes <= 0 || config.duration.isZero()) {
+            throw new IllegalArgumentException("concurrency, clientes e duration devem ser positivos e rate, não negativo");
+        }
+        return config;
+    }
+
+    private void set(String chave, String valor) {
+        switch (chave) {
+            case "concurrency":
+                concurrency = Integer.parseInt(valor);
+                break;
+            case "rate":
+                rate = Double.parseDouble(valor);
+                break;
+            case "warmup":
+                warmup = DurationStyle.detectAndParse(valor);
+                break;
+            case "duration":
+                duration = DurationStyle.detectAndParse(valor);
+                break;
+            case "clientes":
+                clientes = Integer.parseInt(valor);
+                break;
+            case "mix":
+                mix = mix(valor);
+                break;
+            case "output":
+                output = Paths.get(valor);
+                break;
+            case "baseline":
+                baseline = Paths.get(valor);
+                break;
+            case "tolerance":
+                tolerance = Double.parseDouble(valor);
+                break;
+            case "max-error-rate":
+                maxErrorRate = Double.parseDouble(valor);
+                break;
+            default:
+                throw new IllegalArgumentException("Parâmetro desconhecido: " + chave);
+        }
+    }
+
+    private static Map<Operacao, Integer> mix(String valor) {
+        Map<Operacao, Integer> pesos = new EnumMap<>(Operacao.class);
+        for (String item : valor.split(",")) {
+            String[] partes = item.trim().split("=");
+            int peso = Integer.parseInt(partes[1].trim());
+            if (peso < 0) {
+                throw new IllegalArgumentException("Peso negativo no mix: " + item);
+            }
+            if (peso > 0) {
+                pesos.put(Operacao.valueOf(partes[0].trim().toUpperCase(Locale.ROOT)), peso);
+            }
+        }
+        if (pesos.isEmpty()) {
+            throw new IllegalArgumentException("O mix precisa de ao menos uma operação com peso");
+        }
+        return Collections.unmodifiableMap(pesos);
+    }
+}
@@ -0,0 +1,199 @@
+package br.com.teste.clientes.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Relatório do teste de carga, em {@code report.json} e {@code report.html}: parâmetros usados e,
+ * por operação e no total, requisições, erros, throughput (requisições por segundo) e latências
+ * em milissegundos (média, p50, p90, p99, p99.9 e máxima).
+ *
+ * <p>{@link #regressoes} compara o relatório com os limites de erro e, quando informado, com o
+ * relatório de referência, para que a execução falhe se o desempenho piorou.
+ */
+final class LoadTestReport {
+
+    private static final double[] PERCENTIS = {50, 90, 99, 99.9};
+
+    private static final String[] NOMES_PERCENTIS = {"p50", "p90", "p99", "p999"};
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final ObjectNode relatorio;
+
+    private LoadTestReport(ObjectNode relatorio) {
+        this.relatorio = relatorio;
+    }
+
+    static LoadTestReport of(LoadTestConfig config, Map<Operacao, Medicao> medicoes, Instant inicio) {
+        ObjectNode relatorio = MAPPER.createObjectNode();
+        relatorio.put("startedAt", inicio.toString());
+        relatorio.put("java", System.getProperty("java.version"));
+        ObjectNode parametros = relatorio.putObject("config");
+        parametros.put("concurrency", config.getConcurrency());
+        parametros.put("rate", config.getRate());
+        parametros.put("warmupSeconds", config.getWarmup().getSeconds());
+        parametros.put("durationSeconds", config.getDuration().getSeconds());
+        parametros.put("clientes", config.getClientes());
+        ObjectNode mix = parametros.putObject("mix");
+        config.getMix().forEach((operacao, peso) -> mix.put(operacao.chave(), peso));
+        config.getApplicationArgs().forEach(parametros.putArray("applicationArgs")::add);
+
+        double segundos = config.getDuration().toNanos() / 1e9;
+        ObjectNode operacoes = relatorio.putObject("operations");
+        Medicao total = new Medicao();
+        medicoes.forEach((operacao, medicao) -> {
+            ObjectNode resultado = operacoes.putObject(operacao.chave());
+            resultado.put("endpoint", operacao.getEndpoint());
+            resumir(resultado, medicao, segundos);
+            total.somar(medicao);
+        });
+        resumir(relatorio.putObject("total"), total, segundos);
+        return new LoadTestReport(relatorio);
+    }
+
+    private static void resumir(ObjectNode resultado, Medicao medicao, double segundos) {
+        long requisicoes = medicao.getRequisicoes();
+        resultado.put("requests", requisicoes);
+        resultado.put("errors", medicao.getErros());
+        resultado.put("errorRate", arredondar(requisicoes == 0 ? 0 : (double) medicao.getErros() / requisicoes, 4));
+        resultado.put("throughput", arredondar(requisicoes / segundos, 1));
+        Histogram latencias = medicao.getLatencias();
+        ObjectNode ms = resultado.putObject("latencyMs");
+        ms.put("mean", arredondar(latencias.getMean() / 1_000, 3));
+        for (int i = 0; i < PERCENTIS.length; i++) {
+            ms.put(NOMES_PERCENTIS[i], arredondar(latencias.getValueAtPercentile(PERCENTIS[i]) / 1_000.0, 3));
+        }
+        ms.put("max", arredondar(latencias.getMaxValue() / 1_000.0, 3));
+    }
+
+    private static double arredondar(double valor, int casas) {
+        return BigDecimal.valueOf(valor).setScale(casas, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    void write(Path diretorio) throws IOException {
+        Files.createDirectories(diretorio);
+        MAPPER.writeValue(diretorio.resolve("report.json").toFile(), relatorio);
+        Files.write(diretorio.resolve("report.html"), html().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Operações com erros acima de {@code max-error-rate} e, com {@code baseline}, as que tiveram
+     * p99 ou throughput piores que a referência além de {@code tolerance}. Vazia quando não há
+     * regressão.
+     */
+    List<String> regressoes(LoadTestConfig config) throws IOException {
+        List<String> regressoes = new ArrayList<>();
+        Iterator<Map.Entry<String, JsonNode>> operacoes = relatorio.get("operations").fields();
+        while (operacoes.hasNext()) {
+            Map.Entry<String, JsonNode> operacao = operacoes.next();
+            double erros = operacao.getValue().get("errorRate").asDouble();
+            if (erros > config.getMaxErrorRate()) {
+                regressoes.add(String.format(Locale.ROOT, "%s: %.2f%% de erros (máximo %.2f%%)", operacao.getKey(),
+                        erros * 100, config.getMaxErrorRate() * 100));
+            }
+        }
+        if (config.getBaseline() == null) {
+            return regressoes;
+        }
+        JsonNode referencia = MAPPER.readTree(config.getBaseline().toFile()).get("operations");
+        Iterator<Map.Entry<String, JsonNode>> anteriores = referencia.fields();
+        while (anteriores.hasNext()) {
+            Map.Entry<String, JsonNode> anterior = anteriores.next();
+            JsonNode atual = relatorio.get("operations").get(anterior.getKey());
+            if (atual == null) {
+                continue;
+            }
+            double p99 = atual.get("latencyMs").get("p99").asDouble();
+            double p99Anterior = anterior.getValue().get("latencyMs").get("p99").asDouble();
+            if (p99 > p99Anterior * (1 + config.getTolerance())) {
+                regressoes.add(String.format(Locale.ROOT, "%s: p99 de %.3f ms contra %.3f ms da referência (%+.1f%%)",
+                        anterior.getKey(), p99, p99Anterior, (p99 / p99Anterior - 1) * 100));
+            }
+            double throughput = atual.get("throughput").asDouble();
+            double throughputAnterior = anterior.getValue().get("throughput").asDouble();
+            if (throughput < throughputAnterior * (1 - config.getTolerance())) {
+                regressoes.add(String.format(Locale.ROOT,
+                        "%s: throughput de %.1f req/s contra %.1f req/s da referência (%+.1f%%)", anterior.getKey(),
+                        throughput, throughputAnterior, (throughput / throughputAnterior - 1) * 100));
+            }
+        }
+        return regressoes;
+    }
+
+    String resumo() {
+        StringBuilder texto = new StringBuilder(String.format(Locale.ROOT, "%-8s %10s %8s %10s %10s %10s %10s %10s%n",
+                "", "req", "erros", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        relatorio.get("operations").fields().forEachRemaining(operacao -> linha(texto, operacao.getKey(),
+                operacao.getValue()));
+        linha(texto, "total", relatorio.get("total"));
+        return texto.toString();
+    }
+
+    private static void linha(StringBuilder texto, String nome, JsonNode resultado) {
+        JsonNode ms = resultado.get("latencyMs");
+        texto.append(String.format(Locale.ROOT, "%-8s %10d %8d %10.1f %10.3f %10.3f %10.3f %10.3f%n", nome,
+                resultado.get("requests").asLong(), resultado.get("errors").asLong(),
+                resultado.get("throughput").asDouble(), ms.get("p50").asDouble(), ms.get("p90").asDouble(),
+                ms.get("p99").asDouble(), ms.get("max").asDouble()));
+    }
+
+    private String html() throws IOException {
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html>\n<html lang=\"pt-BR\">\n<head>\n<meta charset=\"UTF-8\">\n")
+                .append("<title>Teste de carga - API de clientes</title>\n<style>\n")
+                .append("body{font-family:sans-serif;margin:2em}table{border-collapse:collapse}")
+                .append("th,td{border:1px solid #ccc;padding:4px 10px;text-align:right}")
+                .append("th:first-child,td:first-child,td:nth-child(2){text-align:left}")
+                .append("tr.total{font-weight:bold}pre{background:#f5f5f5;padding:1em}\n")
+                .append("</style>\n</head>\n<body>\n<h1>Teste de carga - API de clientes</h1>\n<p>Início ")
+                .append(escape(relatorio.get("startedAt").asText())).append(", Java ")
+                .append(escape(relatorio.get("java").asText())).append("</p>\n<table>\n<tr><th>Operação</th>")
+                .append("<th>Endpoint</th><th>Requisições</th><th>Erros</th><th>req/s</th><th>média ms</th>");
+        for (String percentil : NOMES_PERCENTIS) {
+            html.append("<th>").append(percentil).append(" ms</th>");
+        }
+        html.append("<th>máx ms</th></tr>\n");
+        relatorio.get("operations").fields().forEachRemaining(operacao -> linhaHtml(html, "",
+                operacao.getKey(), operacao.getValue().get("endpoint").asText(), operacao.getValue()));
+        linhaHtml(html, " class=\"total\"", "total", "", relatorio.get("total"));
+        html.append("</table>\n<h2>Parâmetros</h2>\n<pre>")
+                .append(escape(MAPPER.writeValueAsString(relatorio.get("config"))))
+                .append("</pre>\n</body>\n</html>\n");
+        return html.toString();
+    }
+
+    private static void linhaHtml(StringBuilder html, String atributos, String nome, String endpoint,
+                                  JsonNode resultado) {
+        JsonNode ms = resultado.get("latencyMs");
+        html.append("<tr").append(atributos).append("><td>").append(escape(nome)).append("</td><td>")
+                .append(escape(endpoint)).append("</td><td>").append(resultado.get("requests").asLong())
+                .append("</td><td>").append(resultado.get("errors").asLong()).append("</td><td>")
+                .append(resultado.get("throughput").asDouble()).append("</td><td>")
+                .append(ms.get("mean").asDouble()).append("</td>");
+        for (String percentil : NOMES_PERCENTIS) {
+            html.append("<td>").append(ms.get(percentil).asDouble()).append("</td>");
+        }
+        html.append("<td>").append(ms.get("max").asDouble()).append("</td></tr>\n");
+    }
+
+    private static String escape(String texto) {
+        return texto.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.teste.clientes.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latências, em microssegundos, e erros de uma operação. Cada conexão tem as suas medições, sem
+ * sincronização, e elas são somadas ao final.
+ */
+final class Medicao {
+
+    private final Histogram latencias = new Histogram(3);
+
+    private long erros;
+
+    void registrar(long latenciaNanos, boolean sucesso) {
+        latencias.recordValue(Math.max(1, latenciaNanos / 1_000));
+        if (!sucesso) {
+            erros++;
+        }
+    }
+
+    void somar(Medicao outra) {
+        latencias.add(outra.latencias);
+        erros += outra.erros;
+    }
+
+    Histogram getLatencias() {
+        return latencias;
+    }
+
+    long getRequisicoes() {
+        return latencias.getTotalCount();
+    }
+
+    long getErros() {
+        return erros;
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.teste.clientes.loadtest;
+
+import java.util.Locale;
+
+/**
+ * Operações da API de clientes exercitadas pelo teste de carga, com o status de sucesso de cada
+ * uma.
+ */
+enum Operacao {
+
+    CREATE("POST /api/clientes", 201),
+    GET("GET /api/clientes/{id}", 200),
+    UPDATE("PUT /api/clientes/{id}", 200),
+    DELETE("DELETE /api/clientes/{id}", 204),
+    FIND("GET /api/clientes?nome=", 200);
+
+    private final String endpoint;
+
+    private final int sucesso;
+
+    Operacao(String endpoint, int sucesso) {
+        this.endpoint = endpoint;
+        this.sucesso = sucesso;
+    }
+
+    String getEndpoint() {
+        return endpoint;
+    }
+
+    boolean isSucesso(int status) {
+        return status == sucesso;
+    }
+
+    /**
+     * Nome da operação no mix e no relatório.
+     */
+    String chave() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
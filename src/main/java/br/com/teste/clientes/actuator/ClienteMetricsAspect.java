@@ -0,0 +1,178 @@
+package br.com.teste.clientes.actuator;
+
+import br.com.teste.clientes.api.dto.ClienteDTO;
+import br.com.teste.clientes.exception.BusinessException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Value;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tempo de cada operação da API de clientes, do {@code ClienteService} e do
+ * {@code ClienteRepository}, em {@code /actuator/metrics}:
+ *
+ * <ul>
+ *     <li>{@code clientes.api}: tags {@code operation} (método do controller), {@code outcome}
+ *     ({@code SUCCESS}, {@code CLIENT_ERROR}, {@code SERVER_ERROR}) e {@code filters}, os campos
+ *     preenchidos do filtro na busca e na exportação ({@code nome+cpf}, {@code none}) ou
+ *     {@code n/a} nas demais operações;</li>
+ *     <li>{@code clientes.service} e {@code clientes.repository}: tags {@code method},
+ *     {@code outcome} ({@code SUCCESS} ou {@code ERROR}) e {@code exception}.</li>
+ * </ul>
+ *
+ * <p>Histogramas e percentis são configurados por {@code management.metrics.distribution.*}.
+ * Métodos que devolvem stream ou corpo em streaming medem só até o retorno, não o consumo.
+ */
+@Aspect
+@Component
+public class ClienteMetricsAspect {
+
+    static final String API = "clientes.api";
+
+    static final String SERVICE = "clientes.service";
+
+    static final String REPOSITORY = "clientes.repository";
+
+    private static final String SEM_FILTRO = "none";
+
+    private static final String NAO_SE_APLICA = "n/a";
+
+    private static final Set<String> OPERACOES_COM_FILTRO = new HashSet<>(Arrays.asList("find", "export"));
+
+    private final MeterRegistry registry;
+
+    private final Map<Chave, Timer> timers = new ConcurrentHashMap<>();
+
+    public ClienteMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * br.com.teste.clientes.api.resource.ClienteController.*(..))")
+    public Object timeApi(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(registry);
+        Outcome outcome = Outcome.SUCCESS;
+        try {
+            return joinPoint.proceed();
+        } catch (ResponseStatusException e) {
+            outcome = Outcome.forStatus(e.getStatus().value());
+            throw e;
+        } catch (BusinessException e) {
+            outcome = Outcome.CLIENT_ERROR;
+            throw e;
+        } catch (Throwable e) {
+            outcome = Outcome.SERVER_ERROR;
+            throw e;
+        } finally {
+            String operacao = joinPoint.getSignature().getName();
+            sample.stop(timer(new Chave(API, operacao, outcome.name(), filtros(operacao, joinPoint.getArgs()))));
+        }
+    }
+
+    @Around("target(br.com.teste.clientes.service.ClienteService)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(SERVICE, joinPoint);
+    }
+
+    @Around("target(br.com.teste.clientes.model.repository.ClienteRepository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(REPOSITORY, joinPoint);
+    }
+
+    private Object time(String nome, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(registry);
+        Throwable erro = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            erro = e;
+            throw e;
+        } finally {
+            sample.stop(timer(new Chave(nome, joinPoint.getSignature().getName(), erro == null ? "SUCCESS" : "ERROR",
+                    erro == null ? "none" : erro.getClass().getSimpleName())));
+        }
+    }
+
+    /**
+     * Timer já registrado para a combinação de tags, sem montar as tags nem consultar o registry a
+     * cada chamada medida; só a primeira chamada de cada combinação o registra.
+     */
+    private Timer timer(Chave chave) {
+        return timers.computeIfAbsent(chave, this::registrar);
+    }
+
+    private Timer registrar(Chave chave) {
+        if (API.equals(chave.nome)) {
+            return Timer.builder(API)
+                    .description("Tempo das operações da API de clientes")
+                    .tag("operation", chave.metodo)
+                    .tag("outcome", chave.outcome)
+                    .tag("filters", chave.detalhe)
+                    .register(registry);
+        }
+        return Timer.builder(chave.nome)
+                .description(SERVICE.equals(chave.nome) ? "Tempo das chamadas ao serviço de clientes"
+                        : "Tempo das chamadas ao repositório de clientes")
+                .tag("method", chave.metodo)
+                .tag("outcome", chave.outcome)
+                .tag("exception", chave.detalhe)
+                .register(registry);
+    }
+
+    /**
+     * Campos preenchidos do {@link ClienteDTO} usado como filtro, em ordem fixa para que a mesma
+     * combinação gere sempre a mesma tag.
+     */
+    static String filtros(String operacao, Object[] args) {
+        if (!OPERACOES_COM_FILTRO.contains(operacao)) {
+            return NAO_SE_APLICA;
+        }
+        for (Object arg : args) {
+            if (arg instanceof ClienteDTO) {
+                ClienteDTO filtro = (ClienteDTO) arg;
+                StringJoiner campos = new StringJoiner("+");
+                if (filtro.getId() != null) {
+                    campos.add("id");
+                }
+                if (filtro.getNome() != null && !filtro.getNome().isEmpty()) {
+                    campos.add("nome");
+                }
+                if (filtro.getCpf() != null && !filtro.getCpf().isEmpty()) {
+                    campos.add("cpf");
+                }
+                if (filtro.getDataCadastro() != null) {
+                    campos.add("dataCadastro");
+                }
+                return campos.length() == 0 ? SEM_FILTRO : campos.toString();
+            }
+        }
+        return SEM_FILTRO;
+    }
+
+    /**
+     * Nome do timer e valores das tags: método, resultado e filtros (API) ou exceção (serviço e
+     * repositório).
+     */
+    @Value
+    private static class Chave {
+
+        String nome;
+
+        String metodo;
+
+        String outcome;
+
+        String detalhe;
+    }
+}
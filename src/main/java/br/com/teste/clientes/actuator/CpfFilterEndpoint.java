@@ -0,0 +1,29 @@
+package br.com.teste.clientes.actuator;
+
+import br.com.teste.clientes.service.CpfFilter;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code /actuator/cpffilter}: memória, ocupação e taxa de falsos positivos do {@link CpfFilter}.
+ */
+@Component
+@Endpoint(id = "cpffilter")
+@ConditionalOnProperty(prefix = "clientes.cpf-filter", name = "enabled", matchIfMissing = true)
+public class CpfFilterEndpoint {
+
+    private final CpfFilter cpfFilter;
+
+    public CpfFilterEndpoint(CpfFilter cpfFilter) {
+        this.cpfFilter = cpfFilter;
+    }
+
+    @ReadOperation
+    public Map<String, Object> estatisticas() {
+        return cpfFilter.estatisticas();
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.teste.clientes.actuator;
+
+import br.com.teste.clientes.model.entity.Cliente;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * {@code /actuator/hibernatestats}: contadores do Hibernate {@link Statistics} da sessão, da
+ * entidade {@link Cliente} e das consultas mais caras. Os números só são coletados com
+ * {@code clientes.hibernate-stats.enabled=true}, que liga {@code hibernate.generate_statistics};
+ * um DELETE no endpoint zera os contadores. O cache da entidade só aparece quando ela tem região
+ * no cache de segundo nível.
+ */
+@Component
+@Endpoint(id = "hibernatestats")
+public class HibernateStatisticsEndpoint {
+
+    private static final int CONSULTAS_MAIS_CARAS = 10;
+
+    private final Statistics statistics;
+
+    public HibernateStatisticsEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ReadOperation
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("habilitado", statistics.isStatisticsEnabled());
+        resultado.put("desde", statistics.getStartTime());
+        resultado.put("sessoes", statistics.getSessionOpenCount());
+        resultado.put("transacoes", statistics.getTransactionCount());
+        resultado.put("statements", statistics.getPrepareStatementCount());
+        resultado.put("flushes", statistics.getFlushCount());
+        resultado.put("consultas", statistics.getQueryExecutionCount());
+        resultado.put("consultaMaisLentaMs", statistics.getQueryExecutionMaxTime());
+        resultado.put("consultaMaisLenta", statistics.getQueryExecutionMaxTimeQueryString());
+        resultado.put("cacheSegundoNivel", cache(statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount()));
+        resultado.put("cacheConsultas", cache(statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()));
+        resultado.put("cliente", cliente(statistics.getEntityStatistics(Cliente.class.getName())));
+        resultado.put("consultasMaisCaras", consultasMaisCaras());
+        return resultado;
+    }
+
+    @DeleteOperation
+    public void zerar() {
+        statistics.clear();
+    }
+
+    private static Map<String, Object> cliente(EntityStatistics entidade) {
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("carregados", entidade.getLoadCount());
+        resultado.put("buscadosPorId", entidade.getFetchCount());
+        resultado.put("inseridos", entidade.getInsertCount());
+        resultado.put("alterados", entidade.getUpdateCount());
+        resultado.put("excluidos", entidade.getDeleteCount());
+        resultado.put("falhasDeLockOtimista", entidade.getOptimisticFailureCount());
+        if (entidade.getCacheRegionName() != null) {
+            resultado.put("cache", cache(entidade.getCacheHitCount(), entidade.getCacheMissCount(),
+                    entidade.getCachePutCount()));
+        }
+        return resultado;
+    }
+
+    private static Map<String, Object> cache(long acertos, long faltas, long inclusoes) {
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("acertos", acertos);
+        resultado.put("faltas", faltas);
+        resultado.put("inclusoes", inclusoes);
+        return resultado;
+    }
+
+    private List<Map<String, Object>> consultasMaisCaras() {
+        return Arrays.stream(statistics.getQueries())
+                .map(hql -> {
+                    QueryStatistics consulta = statistics.getQueryStatistics(hql);
+                    Map<String, Object> resultado = new LinkedHashMap<>();
+                    resultado.put("consulta", hql);
+                    resultado.put("execucoes", consulta.getExecutionCount());
+                    resultado.put("linhas", consulta.getExecutionRowCount());
+                    resultado.put("mediaMs", consulta.getExecutionAvgTime());
+                    resultado.put("maximoMs", consulta.getExecutionMaxTime());
+                    resultado.put("totalMs", consulta.getExecutionCount() * consulta.getExecutionAvgTime());
+                    return resultado;
+                })
+                .sorted(Comparator.comparingLong((Map<String, Object> consulta) -> (Long) consulta.get("totalMs")).reversed())
+                .limit(CONSULTAS_MAIS_CARAS)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.teste.clientes.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClienteBatchItemDTO {
+
+    public enum Status { CREATED, REJECTED }
+
+    private int index;
+
+    private Status status;
+
+    private ClienteDTO cliente;
+
+    private List<String> errors;
+}
@@ -1,11 +1,11 @@
 package br.com.teste.clientes.api.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import br.com.teste.clientes.validation.CpfValido;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.validator.constraints.br.CPF;
 
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
@@ -23,7 +23,7 @@ public class ClienteDTO {
     private String nome;
 
     @NotNull(message = "{campo.cpf.obrigatorio}")
-    @CPF(message = "{campo.cpf.invalido}")
+    @CpfValido
     private String cpf;
 
     @JsonFormat(pattern = "dd/MM/yyyy")
@@ -0,0 +1,45 @@
+package br.com.teste.clientes.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClienteImportDTO {
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowErrorDTO {
+
+        private long linha;
+
+        private List<String> errors;
+    }
+
+    private String id;
+
+    private String status;
+
+    private long linhasLidas;
+
+    private long importados;
+
+    private long rejeitados;
+
+    @JsonFormat(pattern = "dd/MM/yyyy HH:mm:ss")
+    private LocalDateTime inicio;
+
+    @JsonFormat(pattern = "dd/MM/yyyy HH:mm:ss")
+    private LocalDateTime fim;
+
+    private List<RowErrorDTO> errors;
+}
@@ -0,0 +1,25 @@
+package br.com.teste.clientes.api.dto;
+
+import br.com.teste.clientes.validation.CpfValido;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.Size;
+
+/**
+ * Alteração parcial de um cliente: só os campos preenchidos são alterados.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientePatchDTO {
+
+    @Size(min = 1, message = "{campo.nome.obrigatorio}")
+    private String nome;
+
+    @CpfValido
+    private String cpf;
+}
@@ -0,0 +1,17 @@
+package br.com.teste.clientes.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClienteSugestaoDTO {
+
+    private Long id;
+
+    private String nome;
+}
@@ -0,0 +1,25 @@
+package br.com.teste.clientes.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página da paginação por cursor: não informa total de registros, apenas o token
+ * {@code next} para a página seguinte, nulo na última página.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+
+    private List<T> content;
+
+    private int size;
+
+    private String next;
+}
@@ -0,0 +1,65 @@
+package br.com.teste.clientes.api.mapper;
+
+import br.com.teste.clientes.api.dto.ClienteDTO;
+import br.com.teste.clientes.api.dto.ClienteSugestaoDTO;
+import br.com.teste.clientes.model.entity.Cliente;
+import br.com.teste.clientes.model.repository.ClienteNome;
+import br.com.teste.clientes.validation.Cpf;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Conversão entre {@link Cliente} e {@link ClienteDTO} escrita campo a campo, sem reflexão.
+ * Ao incluir um campo em um dos lados, inclua também aqui. O cpf recebido é levado à forma
+ * canônica ({@link Cpf#normalize(String)}), inclusive quando o DTO é usado como filtro.
+ */
+public class ClienteMapper {
+
+    public Cliente toEntity(ClienteDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        return Cliente.builder()
+                .id(dto.getId())
+                .nome(dto.getNome())
+                .cpf(Cpf.normalize(dto.getCpf()))
+                .dataCadastro(dto.getDataCadastro())
+                .build();
+    }
+
+    /**
+     * Entidade para um cadastro novo: o id vem da sequência, então um id enviado no DTO é
+     * descartado para que o cliente seja inserido, e não tratado como um cliente existente.
+     */
+    public Cliente toNewEntity(ClienteDTO dto) {
+        Cliente cliente = toEntity(dto);
+        if (cliente != null) {
+            cliente.setId(null);
+        }
+        return cliente;
+    }
+
+    public ClienteDTO toDto(Cliente cliente) {
+        if (cliente == null) {
+            return null;
+        }
+        return new ClienteDTO(cliente.getId(), cliente.getNome(), cliente.getCpf(), cliente.getDataCadastro());
+    }
+
+    public List<ClienteDTO> toDtoList(List<Cliente> clientes) {
+        List<ClienteDTO> dtos = new ArrayList<>(clientes.size());
+        for (Cliente cliente : clientes) {
+            dtos.add(toDto(cliente));
+        }
+        return dtos;
+    }
+
+    public List<ClienteSugestaoDTO> toSugestaoList(List<ClienteNome> nomes) {
+        List<ClienteSugestaoDTO> dtos = new ArrayList<>(nomes.size());
+        for (ClienteNome nome : nomes) {
+            dtos.add(new ClienteSugestaoDTO(nome.getId(), nome.getNome()));
+        }
+        return dtos;
+    }
+}
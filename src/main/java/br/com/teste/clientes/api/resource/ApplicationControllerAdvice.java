@@ -4,20 +4,32 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import br.com.teste.clientes.exception.BusinessException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 import org.springframework.web.server.ResponseStatusException;
 
+import br.com.teste.clientes.config.MessageCatalog;
 import br.com.teste.clientes.exception.ApiErrors;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @RestControllerAdvice
 public class ApplicationControllerAdvice {
 
+	private ErrorBodies errorBodies;
+
+	@Autowired(required = false)
+	void setErrorBodies(MessageCatalog catalogo, ObjectMapper objectMapper) {
+		this.errorBodies = new ErrorBodies(catalogo, objectMapper);
+	}
+
 	@ExceptionHandler(MethodArgumentNotValidException.class)
 	@ResponseStatus(HttpStatus.BAD_REQUEST)
 	public ApiErrors handleValidationErrors(MethodArgumentNotValidException ex) {
@@ -28,16 +40,36 @@ public class ApplicationControllerAdvice {
 				.collect(Collectors.toList());
 		return new ApiErrors(messages);	
 	}
+
+	@ExceptionHandler(WebExchangeBindException.class)
+	@ResponseStatus(HttpStatus.BAD_REQUEST)
+	public ApiErrors handleReactiveValidationErrors(WebExchangeBindException ex) {
+		List<String> messages = ex.getAllErrors()
+				.stream()
+				.map(objectError -> objectError.getDefaultMessage())
+				.collect(Collectors.toList());
+		return new ApiErrors(messages);
+	}
 	
 	@ExceptionHandler(ResponseStatusException.class)
-	public ResponseEntity<ApiErrors> handleResponseStatusException(ResponseStatusException ex) {
-		ApiErrors apiErrors = new ApiErrors(ex.getMessage());
-		return new ResponseEntity<ApiErrors>(apiErrors, ex.getStatus());
+	public ResponseEntity<?> handleResponseStatusException(ResponseStatusException ex) {
+		return erro(ex.getStatus(), ex.getMessage(), ex.getReason());
 	}
 
 	@ExceptionHandler(BusinessException.class)
-	@ResponseStatus(HttpStatus.BAD_REQUEST)
-	public ApiErrors handleBusinessException(Exception ex) {
-		return new ApiErrors(ex.getMessage());
+	public ResponseEntity<?> handleBusinessException(Exception ex) {
+		return erro(HttpStatus.BAD_REQUEST, ex.getMessage(), ex.getMessage());
+	}
+
+	/**
+	 * Responde com o corpo já serializado quando o erro vem de uma mensagem do catálogo, sem criar
+	 * nem serializar um {@link ApiErrors} a cada requisição.
+	 */
+	private ResponseEntity<?> erro(HttpStatus status, String texto, String mensagem) {
+		byte[] corpo = errorBodies != null ? errorBodies.get(texto, mensagem) : null;
+		if (corpo == null) {
+			return new ResponseEntity<ApiErrors>(new ApiErrors(texto), status);
+		}
+		return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(corpo);
 	}
 }
@@ -1,56 +1,90 @@
 package br.com.teste.clientes.api.resource;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import br.com.teste.clientes.api.dto.ClienteBatchItemDTO;
+import br.com.teste.clientes.api.mapper.ClienteMapper;
 import br.com.teste.clientes.api.dto.ClienteDTO;
+import br.com.teste.clientes.api.dto.ClientePatchDTO;
+import br.com.teste.clientes.api.dto.ClienteSugestaoDTO;
+import br.com.teste.clientes.api.dto.CursorPageDTO;
+import br.com.teste.clientes.service.ClienteBatchResult;
+import br.com.teste.clientes.service.ClienteCursor;
+import br.com.teste.clientes.service.NomeSearchIndex;
+import br.com.teste.clientes.service.Nomes;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
-import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import br.com.teste.clientes.config.AccessLog;
 import br.com.teste.clientes.config.InternacionalizacaoConfig;
 import br.com.teste.clientes.model.entity.Cliente;
 import br.com.teste.clientes.service.ClienteService;
 
+import javax.validation.ConstraintViolation;
 import javax.validation.Valid;
+import javax.validation.Validator;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/clientes")
 @CrossOrigin("http://localhost:4200")
-@Slf4j
 @Api("API de Clientes")
 public class ClienteController {
 
+	static final int MAX_CURSOR_PAGE_SIZE = 2000;
+
+	static final int MAX_SEARCH_LIMIT = 100;
+
+	static final int MAX_SUGGEST_LIMIT = 50;
+
 	private ClienteService service;
 
-	private ModelMapper modelMapper;
+	private ClienteMapper mapper;
 
-	public ClienteController(ClienteService service, ModelMapper modelMapper) {
+	public ClienteController(ClienteService service, ClienteMapper mapper) {
 		this.service = service;
-		this.modelMapper = modelMapper;
+		this.mapper = mapper;
 	}
 
 	@Autowired
 	private InternacionalizacaoConfig messages;
+
+	@Autowired
+	private Validator validator;
 	
 	@PostMapping
 	@ResponseStatus(HttpStatus.CREATED)
@@ -59,58 +93,237 @@ public class ClienteController {
 			@ApiResponse(code = 201, message = "Cliente adicionado com sucesso")
 	})
 	public ClienteDTO create(@RequestBody @Valid ClienteDTO dto) {
-		log.info("Criando um cliente com cpf {} e nome {}", dto.getCpf(), dto.getNome() );
-		Cliente entity = modelMapper.map(dto, Cliente.class);
+		AccessLog.cpf(dto.getCpf());
+		Cliente entity = mapper.toNewEntity(dto);
 
 		entity = service.save(entity);
-		return modelMapper.map(entity, ClienteDTO.class);
+		AccessLog.clienteId(entity.getId());
+		return mapper.toDto(entity);
+	}
+
+	@PostMapping("batch")
+	@ApiOperation("Adicionar clientes em lote")
+	@ApiResponses({
+			@ApiResponse(code = 200, message = "Resultado do cadastro de cada cliente do lote")
+	})
+	public List<ClienteBatchItemDTO> createBatch(@RequestBody List<ClienteDTO> dtos) {
+		ClienteBatchItemDTO[] items = new ClienteBatchItemDTO[dtos.size()];
+		List<Cliente> validos = new ArrayList<>(dtos.size());
+		List<Integer> indices = new ArrayList<>(dtos.size());
+
+		for (int i = 0; i < dtos.size(); i++) {
+			if (dtos.get(i) == null) {
+				items[i] = ClienteBatchItemDTO.builder().index(i).status(ClienteBatchItemDTO.Status.REJECTED)
+						.errors(Arrays.asList(messages.getMessage("cliente.lote.item.nulo"))).build();
+				continue;
+			}
+			Set<ConstraintViolation<ClienteDTO>> violations = validator.validate(dtos.get(i));
+			if (violations.isEmpty()) {
+				validos.add(mapper.toNewEntity(dtos.get(i)));
+				indices.add(i);
+			} else {
+				List<String> errors = violations.stream()
+						.map(ConstraintViolation::getMessage)
+						.collect(Collectors.toList());
+				items[i] = ClienteBatchItemDTO.builder().index(i)
+						.status(ClienteBatchItemDTO.Status.REJECTED).errors(errors).build();
+			}
+		}
+
+		List<ClienteBatchResult> results = service.saveAll(validos);
+		for (int k = 0; k < results.size(); k++) {
+			ClienteBatchResult result = results.get(k);
+			int index = indices.get(k);
+			items[index] = result.isCreated()
+					? ClienteBatchItemDTO.builder().index(index).status(ClienteBatchItemDTO.Status.CREATED)
+							.cliente(mapper.toDto(result.getCliente())).build()
+					: ClienteBatchItemDTO.builder().index(index).status(ClienteBatchItemDTO.Status.REJECTED)
+							.errors(Arrays.asList(result.getError())).build();
+		}
+		return Arrays.asList(items);
 	}
 
 	@GetMapping("{id}")
 	@ApiOperation("Obter cliente pelo id")
-	public ClienteDTO get(@PathVariable Long id) {
-		log.info("Obtendo detalhes do cliente com id {} ", id);
-		return service.getById(id).map(cliente -> modelMapper.map(cliente, ClienteDTO.class))
+	@ApiResponses({
+			@ApiResponse(code = 304, message = "O cliente não mudou desde a ETag de If-None-Match")
+	})
+	public ResponseEntity<ClienteDTO> get(@PathVariable Long id, WebRequest request) {
+		if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+			Optional<Long> versao = service.getVersao(id);
+			if (versao.isPresent() && request.checkNotModified(ClienteETags.of(versao.get()))) {
+				return null;
+			}
+		}
+		Cliente cliente = service.getById(id)
 				.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
 						messages.getMessage("cliente.inexistente")));
+		return ResponseEntity.ok().eTag(ClienteETags.of(cliente.getVersao())).body(mapper.toDto(cliente));
 	}
 	
 	@DeleteMapping("{id}")
 	@ResponseStatus(HttpStatus.NO_CONTENT)
 	@ApiOperation("Deletar cliente pelo id")
 	public void delete(@PathVariable Long id) {
-		log.info("Deletando cliente com id {} ", id);
-		Cliente cliente = service.getById(id)
-				.orElseThrow(() ->
-						new ResponseStatusException(HttpStatus.NOT_FOUND,
-								messages.getMessage("cliente.inexistente")));
-		service.delete(cliente);
+		if (!service.deleteById(id)) {
+			throw new ResponseStatusException(HttpStatus.NOT_FOUND, messages.getMessage("cliente.inexistente"));
+		}
 	}
 	
 	@PutMapping("{id}")
 	@ApiOperation("Atualizar um cliente")
-	public ClienteDTO update(@PathVariable Long id, @RequestBody @Valid ClienteDTO dto) {
-		log.info("Atualizando cliente com id {} ", id);
-		return service.getById(id).map(cliente -> {
-			cliente.setCpf(dto.getCpf());
-			cliente.setNome(dto.getNome());
-			cliente = service.update(cliente);
-			return modelMapper.map(cliente, ClienteDTO.class);
-		}).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
-				messages.getMessage("cliente.inexistente")));
+	@ApiResponses({
+			@ApiResponse(code = 412, message = "O cliente mudou desde a ETag de If-Match"),
+			@ApiResponse(code = 409, message = "O cliente foi alterado por outra requisição durante a atualização")
+	})
+	public ResponseEntity<ClienteDTO> update(@PathVariable Long id, @RequestBody @Valid ClienteDTO dto,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		AccessLog.cpf(dto.getCpf());
+		Cliente atual = service.getById(id)
+				.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+						messages.getMessage("cliente.inexistente")));
+		if (ifMatch != null && !ClienteETags.matches(ifMatch, atual.getVersao())) {
+			throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, messages.getMessage("cliente.alterado"));
+		}
+		Cliente cliente = Cliente.builder().id(atual.getId()).nome(dto.getNome()).cpf(dto.getCpf())
+				.dataCadastro(atual.getDataCadastro()).versao(atual.getVersao()).build();
+		try {
+			Cliente salvo = service.update(cliente);
+			return ResponseEntity.ok().eTag(ClienteETags.of(salvo.getVersao())).body(mapper.toDto(salvo));
+		} catch (OptimisticLockingFailureException e) {
+			HttpStatus status = ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+			throw new ResponseStatusException(status, messages.getMessage("cliente.alterado"), e);
+		}
+	}
+
+	/**
+	 * Altera só os campos enviados com um único update, sem ler o cliente antes. O {@code If-Match},
+	 * quando enviado, deve ser {@code *} ou uma única ETag do cliente; com ele a resposta traz a
+	 * ETag da nova versão. Só quando nada é alterado o banco é consultado de novo, para distinguir
+	 * cliente inexistente de versão desatualizada.
+	 */
+	@PatchMapping("{id}")
+	@ResponseStatus(HttpStatus.NO_CONTENT)
+	@ApiOperation("Alterar parte dos dados de um cliente")
+	@ApiResponses({
+			@ApiResponse(code = 204, message = "Cliente alterado com sucesso"),
+			@ApiResponse(code = 412, message = "O cliente mudou desde a ETag de If-Match")
+	})
+	public ResponseEntity<Void> patch(@PathVariable Long id, @RequestBody @Valid ClientePatchDTO dto,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		AccessLog.cpf(dto.getCpf());
+		if (dto.getNome() == null && dto.getCpf() == null) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, messages.getMessage("cliente.alteracao.vazia"));
+		}
+		Long versao = null;
+		if (ifMatch != null && !ClienteETags.QUALQUER.equals(ifMatch.trim())) {
+			versao = ClienteETags.versao(ifMatch);
+			if (versao == null) {
+				throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, messages.getMessage("cliente.alterado"));
+			}
+		}
+		Cliente alteracao = Cliente.builder().id(id).nome(dto.getNome()).cpf(dto.getCpf()).versao(versao).build();
+		if (service.patch(alteracao)) {
+			return versao == null
+					? ResponseEntity.noContent().build()
+					: ResponseEntity.noContent().eTag(ClienteETags.of(versao + 1)).build();
+		}
+		if (versao != null && service.getVersao(id).isPresent()) {
+			throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, messages.getMessage("cliente.alterado"));
+		}
+		throw new ResponseStatusException(HttpStatus.NOT_FOUND, messages.getMessage("cliente.inexistente"));
 	}
 
+	/**
+	 * Com {@code count=false} a busca não conta o total: devolve um {@link Slice}, sem
+	 * {@code totalElements} e {@code totalPages}, em que {@code last} diz se existe a próxima página.
+	 */
 	@GetMapping
 	@ApiOperation("Busca de clientes pelos parâmetros")
-	public Page<ClienteDTO> find(ClienteDTO dto, Pageable pageRequest) {
-		log.info("Utilizando a busca avançada de clientes");
-		Cliente filter = modelMapper.map(dto, Cliente.class);
-		Page<Cliente> result = service.find(filter, pageRequest);
-		List<ClienteDTO> list = result.getContent()
-				.stream()
-				.map(entity -> modelMapper.map(entity, ClienteDTO.class))
-				.collect(Collectors.toList());
-		return new PageImpl<ClienteDTO>(list, pageRequest, result.getTotalElements());
+	@ApiResponses({
+			@ApiResponse(code = 304, message = "A página não mudou desde a ETag de If-None-Match")
+	})
+	public ResponseEntity<Slice<ClienteDTO>> find(ClienteDTO dto, Pageable pageRequest,
+			@RequestParam(defaultValue = "true") boolean count, WebRequest request) {
+		Cliente filter = mapper.toEntity(dto);
+		Slice<Cliente> result = count ? service.find(filter, pageRequest) : service.findSlice(filter, pageRequest);
+		String etag = ClienteETags.of(result);
+		if (request.checkNotModified(etag)) {
+			return null;
+		}
+		List<ClienteDTO> list = mapper.toDtoList(result.getContent());
+		Slice<ClienteDTO> body = result instanceof Page
+				? new PageImpl<ClienteDTO>(list, pageRequest, ((Page<Cliente>) result).getTotalElements())
+				: new SliceImpl<ClienteDTO>(list, pageRequest, result.hasNext());
+		return ResponseEntity.ok().eTag(etag).body(body);
+	}
+
+	@GetMapping("search")
+	@ApiOperation("Busca ranqueada de clientes por trecho do nome, ignorando maiúsculas e acentos")
+	public List<ClienteDTO> searchByNome(@RequestParam String nome, @RequestParam(defaultValue = "20") int limit) {
+		if (Nomes.normalize(nome).length() < NomeSearchIndex.TAMANHO_MINIMO_TERMO) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, messages.getMessage("busca.nome.curto"));
+		}
+		int limite = Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+		return mapper.toDtoList(service.searchByNome(nome, limite));
+	}
+
+	@GetMapping("suggest")
+	@ApiOperation("Sugestões de clientes pelo início do nome, só com id e nome, para autocompletar")
+	public List<ClienteSugestaoDTO> suggest(@RequestParam String prefix, @RequestParam(defaultValue = "10") int limit) {
+		int limite = Math.max(1, Math.min(limit, MAX_SUGGEST_LIMIT));
+		return mapper.toSugestaoList(service.suggest(prefix, limite));
+	}
+
+	@GetMapping("export")
+	@ApiOperation("Exportação de todos os clientes que atendem aos parâmetros, em NDJSON ou CSV")
+	public ResponseEntity<StreamingResponseBody> export(ClienteDTO dto,
+			@RequestParam(defaultValue = "ndjson") String format) {
+		ClienteExportWriter.Format exportFormat = toExportFormat(format);
+		Cliente filter = mapper.toEntity(dto);
+		StreamingResponseBody body = out -> {
+			try (ClienteExportWriter writer = ClienteExportWriter.of(exportFormat, out)) {
+				service.export(filter, writer::accept);
+			}
+		};
+		return ResponseEntity.ok()
+				.contentType(exportFormat.mediaType)
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=clientes." + exportFormat.extension)
+				.body(body);
+	}
+
+	private ClienteExportWriter.Format toExportFormat(String format) {
+		try {
+			return ClienteExportWriter.Format.valueOf(format.toUpperCase());
+		} catch (IllegalArgumentException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, messages.getMessage("exportacao.formato.invalido"));
+		}
 	}
-}
 
+	@GetMapping("cursor")
+	@ApiOperation("Listagem de clientes paginada por cursor")
+	public CursorPageDTO<ClienteDTO> findByCursor(@RequestParam(required = false) String after,
+			@RequestParam(defaultValue = "id") String sort, @RequestParam(defaultValue = "20") int size) {
+		ClienteCursor cursor = toCursor(after, sort);
+		int limite = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+		Slice<Cliente> slice = service.findAfter(cursor, limite);
+		List<ClienteDTO> content = mapper.toDtoList(slice.getContent());
+
+		String next = null;
+		if (slice.hasNext()) {
+			Cliente ultimo = slice.getContent().get(slice.getNumberOfElements() - 1);
+			next = new ClienteCursor(cursor.getSort(), ultimo.getId(), ultimo.getNome()).encode();
+		}
+		return new CursorPageDTO<>(content, limite, next);
+	}
+
+	private ClienteCursor toCursor(String after, String sort) {
+		try {
+			return after == null
+					? ClienteCursor.inicio(ClienteCursor.Sort.valueOf(sort.toUpperCase()))
+					: ClienteCursor.decode(after);
+		} catch (IllegalArgumentException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, messages.getMessage("cursor.invalido"));
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package br.com.teste.clientes.api.resource;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.util.DigestUtils;
+
+import br.com.teste.clientes.model.entity.Cliente;
+
+/**
+ * ETags fortes da API de clientes. A de um cliente é a sua versão ({@link Cliente#getVersao()});
+ * a de uma página da busca é um resumo do total (ou, sem contagem, de existir a próxima página) e
+ * dos ids e versões do conteúdo, em ordem, e muda quando um cliente da página é alterado ou quando
+ * a página passa a ter outros clientes.
+ */
+final class ClienteETags {
+
+	static final String QUALQUER = "*";
+
+	private ClienteETags() {
+	}
+
+	static String of(Long versao) {
+		return "\"" + versao + "\"";
+	}
+
+	static String of(Slice<Cliente> page) {
+		StringBuilder resumo = new StringBuilder();
+		if (page instanceof Page) {
+			resumo.append(((Page<Cliente>) page).getTotalElements());
+		} else {
+			resumo.append(page.hasNext() ? "+" : "-");
+		}
+		for (Cliente cliente : page) {
+			resumo.append(';').append(cliente.getId()).append(':').append(cliente.getVersao());
+		}
+		return "\"" + DigestUtils.md5DigestAsHex(resumo.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+	}
+
+	/**
+	 * Se o {@code If-Match} aceita a versão atual: {@code *} ou uma lista de ETags em que uma é
+	 * igual à do cliente. A comparação é forte, então ETags fracas ({@code W/"1"}) nunca aceitam.
+	 */
+	static boolean matches(String ifMatch, Long versao) {
+		String atual = of(versao);
+		for (String etag : ifMatch.split(",")) {
+			String valor = etag.trim();
+			if (QUALQUER.equals(valor) || atual.equals(valor)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Versão indicada por uma única ETag forte de cliente, ou {@code null} quando o valor não é uma
+	 * ETag desse tipo (lista, ETag fraca ou de página).
+	 */
+	static Long versao(String etag) {
+		String valor = etag.trim();
+		if (valor.length() < 3 || valor.charAt(0) != '"' || valor.charAt(valor.length() - 1) != '"') {
+			return null;
+		}
+		try {
+			return Long.valueOf(valor.substring(1, valor.length() - 1));
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package br.com.teste.clientes.api.resource;
+
+import br.com.teste.clientes.model.entity.Cliente;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Escreve os clientes exportados diretamente na resposta, um registro por linha, sem passar
+ * pelo mapeamento para {@code ClienteDTO}. Os campos e o formato da data são os mesmos do DTO.
+ */
+abstract class ClienteExportWriter implements Closeable {
+
+    static final DateTimeFormatter DATA_CADASTRO = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    enum Format {
+        NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+        CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+        final MediaType mediaType;
+
+        final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+    }
+
+    static ClienteExportWriter of(Format format, OutputStream out) throws IOException {
+        return format == Format.CSV ? new Csv(out) : new Ndjson(out);
+    }
+
+    abstract void write(Cliente cliente) throws IOException;
+
+    /**
+     * Versão de {@link #write(Cliente)} para uso como {@code Consumer<Cliente>}.
+     */
+    void accept(Cliente cliente) {
+        try {
+            write(cliente);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class Ndjson extends ClienteExportWriter {
+
+        private static final JsonFactory FACTORY = new JsonFactory().setRootValueSeparator(null);
+
+        private final JsonGenerator generator;
+
+        Ndjson(OutputStream out) throws IOException {
+            generator = FACTORY.createGenerator(out, JsonEncoding.UTF8)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        void write(Cliente cliente) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", cliente.getId());
+            generator.writeStringField("nome", cliente.getNome());
+            generator.writeStringField("cpf", cliente.getCpf());
+            generator.writeStringField("dataCadastro",
+                    cliente.getDataCadastro() == null ? null : DATA_CADASTRO.format(cliente.getDataCadastro()));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static class Csv extends ClienteExportWriter {
+
+        private final Writer writer;
+
+        Csv(OutputStream out) throws IOException {
+            writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write("id;nome;cpf;dataCadastro\n");
+        }
+
+        @Override
+        void write(Cliente cliente) throws IOException {
+            writer.write(String.valueOf(cliente.getId()));
+            writer.write(';');
+            writeText(cliente.getNome());
+            writer.write(';');
+            writeText(cliente.getCpf());
+            writer.write(';');
+            if (cliente.getDataCadastro() != null) {
+                DATA_CADASTRO.formatTo(cliente.getDataCadastro(), writer);
+            }
+            writer.write('\n');
+        }
+
+        private void writeText(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(';') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                    && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package br.com.teste.clientes.api.resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+import br.com.teste.clientes.api.dto.ClienteImportDTO;
+import br.com.teste.clientes.config.InternacionalizacaoConfig;
+import br.com.teste.clientes.service.ClienteImport;
+import br.com.teste.clientes.service.ClienteImportService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/clientes/import")
+@CrossOrigin("http://localhost:4200")
+@Slf4j
+@Api("API de Importação de Clientes")
+public class ClienteImportController {
+
+	private ClienteImportService service;
+
+	public ClienteImportController(ClienteImportService service) {
+		this.service = service;
+	}
+
+	@Autowired
+	private InternacionalizacaoConfig messages;
+
+	/**
+	 * A importação roda em segundo plano e a requisição termina com 202 antes dela; como o corpo só
+	 * pode ser lido enquanto a requisição está aberta, ele é gravado num arquivo temporário, que a
+	 * importação lê linha a linha. No multipart o container já guardou a parte em disco e o
+	 * {@code transferTo} só a move.
+	 */
+	@PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+	@ApiOperation("Importar clientes de um arquivo CSV (nome;cpf) enviado como multipart")
+	@ApiResponses({
+			@ApiResponse(code = 202, message = "Importação iniciada"),
+			@ApiResponse(code = 503, message = "Todas as importações simultâneas permitidas estão em andamento")
+	})
+	public ResponseEntity<ClienteImportDTO> upload(@RequestParam("file") MultipartFile file) throws IOException {
+		log.info("Recebendo arquivo {} para importação", file.getOriginalFilename());
+		Path arquivo = Files.createTempFile("clientes-import-", ".csv");
+		file.transferTo(arquivo);
+		return start(arquivo);
+	}
+
+	@PostMapping(consumes = "text/csv")
+	@ApiOperation("Importar clientes de um CSV (nome;cpf) enviado no corpo da requisição")
+	public ResponseEntity<ClienteImportDTO> upload(InputStream body) throws IOException {
+		log.info("Recebendo CSV para importação");
+		Path arquivo = Files.createTempFile("clientes-import-", ".csv");
+		Files.copy(body, arquivo, StandardCopyOption.REPLACE_EXISTING);
+		return start(arquivo);
+	}
+
+	@GetMapping("{id}")
+	@ApiOperation("Acompanhar o progresso e os erros de uma importação")
+	public ClienteImportDTO get(@PathVariable String id) {
+		return service.get(id).map(ClienteImportController::toDto)
+				.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+						messages.getMessage("importacao.inexistente")));
+	}
+
+	private ResponseEntity<ClienteImportDTO> start(Path arquivo) {
+		ClienteImport importacao;
+		try {
+			importacao = service.start(arquivo);
+		} catch (RejectedExecutionException e) {
+			throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+					messages.getMessage("importacao.ocupada"));
+		}
+		return ResponseEntity.accepted()
+				.location(URI.create("/api/clientes/import/" + importacao.getId()))
+				.body(toDto(importacao));
+	}
+
+	private static ClienteImportDTO toDto(ClienteImport importacao) {
+		return ClienteImportDTO.builder()
+				.id(importacao.getId())
+				.status(importacao.getStatus().name())
+				.linhasLidas(importacao.getLinhasLidas())
+				.importados(importacao.getImportados())
+				.rejeitados(importacao.getRejeitados())
+				.inicio(importacao.getInicio())
+				.fim(importacao.getFim())
+				.errors(importacao.getErrors().stream()
+						.map(error -> new ClienteImportDTO.RowErrorDTO(error.getLinha(), error.getErrors()))
+						.collect(Collectors.toList()))
+				.build();
+	}
+}
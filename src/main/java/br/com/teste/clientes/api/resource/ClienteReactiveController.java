@@ -0,0 +1,112 @@
+package br.com.teste.clientes.api.resource;
+
+import br.com.teste.clientes.api.dto.ClienteDTO;
+import br.com.teste.clientes.api.mapper.ClienteMapper;
+import br.com.teste.clientes.config.InternacionalizacaoConfig;
+import br.com.teste.clientes.model.entity.Cliente;
+import br.com.teste.clientes.service.ClienteReactiveService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+
+/**
+ * A API de {@link ClienteController} no perfil {@code reactive}, servida pelo WebFlux com acesso
+ * ao banco por R2DBC. Mesmos caminhos, DTOs, mensagens de validação e formato de erro
+ * ({@link ApplicationControllerAdvice}); cadastro em lote, busca por nome, sugestões, exportação,
+ * paginação por cursor e importação existem só na API bloqueante.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/clientes")
+@CrossOrigin("http://localhost:4200")
+@Api("API de Clientes")
+public class ClienteReactiveController {
+
+	private ClienteReactiveService service;
+
+	private ClienteMapper mapper;
+
+	public ClienteReactiveController(ClienteReactiveService service, ClienteMapper mapper) {
+		this.service = service;
+		this.mapper = mapper;
+	}
+
+	@Autowired
+	private InternacionalizacaoConfig messages;
+
+	@PostMapping
+	@ResponseStatus(HttpStatus.CREATED)
+	@ApiOperation("Adicionar um cliente")
+	@ApiResponses({
+			@ApiResponse(code = 201, message = "Cliente adicionado com sucesso")
+	})
+	public Mono<ClienteDTO> create(@RequestBody @Valid ClienteDTO dto) {
+		return service.save(mapper.toNewEntity(dto)).map(mapper::toDto);
+	}
+
+	@GetMapping("{id}")
+	@ApiOperation("Obter cliente pelo id")
+	public Mono<ClienteDTO> get(@PathVariable Long id) {
+		return service.getById(id).map(mapper::toDto)
+				.switchIfEmpty(Mono.error(this::naoEncontrado));
+	}
+
+	@DeleteMapping("{id}")
+	@ResponseStatus(HttpStatus.NO_CONTENT)
+	@ApiOperation("Deletar cliente pelo id")
+	public Mono<Void> delete(@PathVariable Long id) {
+		return service.getById(id)
+				.switchIfEmpty(Mono.error(this::naoEncontrado))
+				.flatMap(service::delete);
+	}
+
+	@PutMapping("{id}")
+	@ApiOperation("Atualizar um cliente")
+	@ApiResponses({
+			@ApiResponse(code = 409, message = "O cliente foi alterado por outra requisição durante a atualização")
+	})
+	public Mono<ClienteDTO> update(@PathVariable Long id, @RequestBody @Valid ClienteDTO dto) {
+		return service.getById(id)
+				.map(atual -> Cliente.builder().id(atual.getId()).nome(dto.getNome())
+						.cpf(dto.getCpf()).dataCadastro(atual.getDataCadastro()).versao(atual.getVersao()).build())
+				.flatMap(service::update)
+				.map(mapper::toDto)
+				.switchIfEmpty(Mono.error(this::naoEncontrado))
+				.onErrorMap(OptimisticLockingFailureException.class, e -> new ResponseStatusException(
+						HttpStatus.CONFLICT, messages.getMessage("cliente.alterado"), e));
+	}
+
+	@GetMapping
+	@ApiOperation("Busca de clientes pelos parâmetros")
+	public Mono<Page<ClienteDTO>> find(ClienteDTO dto, Pageable pageRequest) {
+		return service.find(mapper.toEntity(dto), pageRequest)
+				.map(result -> new PageImpl<>(mapper.toDtoList(result.getContent()), pageRequest,
+						result.getTotalElements()));
+	}
+
+	private ResponseStatusException naoEncontrado() {
+		return new ResponseStatusException(HttpStatus.NOT_FOUND, messages.getMessage("cliente.inexistente"));
+	}
+}
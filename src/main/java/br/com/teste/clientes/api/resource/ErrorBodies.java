@@ -0,0 +1,50 @@
+package br.com.teste.clientes.api.resource;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.teste.clientes.config.MessageCatalog;
+import br.com.teste.clientes.exception.ApiErrors;
+
+/**
+ * {@link ApiErrors} já serializados em JSON para os erros de mensagem fixa, isto é, as do
+ * {@link MessageCatalog}. Os de uma única mensagem do catálogo são montados na criação; os que
+ * acrescentam algo a ela, como o status no texto de {@code ResponseStatusException}, na primeira
+ * vez em que aparecem. Como só entram textos derivados do catálogo, o tamanho fica limitado.
+ */
+final class ErrorBodies {
+
+	private final MessageCatalog catalogo;
+
+	private final ObjectMapper objectMapper;
+
+	private final ConcurrentMap<String, byte[]> corpos = new ConcurrentHashMap<>();
+
+	ErrorBodies(MessageCatalog catalogo, ObjectMapper objectMapper) {
+		this.catalogo = catalogo;
+		this.objectMapper = objectMapper;
+		catalogo.messages().forEach(mensagem -> corpos.put(mensagem, serializar(mensagem)));
+	}
+
+	/**
+	 * Corpo com o texto informado como único erro, ou {@code null} quando a mensagem que o originou
+	 * não é do catálogo.
+	 */
+	byte[] get(String texto, String mensagem) {
+		if (mensagem == null || !catalogo.contains(mensagem)) {
+			return null;
+		}
+		return corpos.computeIfAbsent(texto, this::serializar);
+	}
+
+	private byte[] serializar(String texto) {
+		try {
+			return objectMapper.writeValueAsBytes(new ApiErrors(texto));
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -1,6 +1,5 @@
 package br.com.teste.clientes;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
@@ -8,6 +7,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
 import org.springframework.context.annotation.Bean;
 
+import br.com.teste.clientes.api.mapper.ClienteMapper;
 import br.com.teste.clientes.model.entity.Cliente;
 import br.com.teste.clientes.model.repository.ClienteRepository;
 
@@ -19,8 +19,8 @@ public class clientesApplication {
 	}
 
 	@Bean
-	public ModelMapper modelMapper() {
-		return new ModelMapper();
+	public ClienteMapper clienteMapper() {
+		return new ClienteMapper();
 	}
 
 }
@@ -0,0 +1,36 @@
+package br.com.teste.clientes.config;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Dados que o controller acrescenta ao evento do log de acesso da requisição atual. O cpf é
+ * guardado como veio e só é mascarado se o evento for escrito. Sem log de acesso ligado, ou fora
+ * de uma requisição, as chamadas não fazem nada.
+ */
+public final class AccessLog {
+
+    private AccessLog() {
+    }
+
+    public static void cpf(String cpf) {
+        AccessLogEvent event = atual();
+        if (event != null) {
+            event.cpf = cpf;
+        }
+    }
+
+    public static void clienteId(Long id) {
+        AccessLogEvent event = atual();
+        if (event != null) {
+            event.clienteId = id;
+        }
+    }
+
+    private static AccessLogEvent atual() {
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        return atributos == null
+                ? null
+                : (AccessLogEvent) atributos.getAttribute(AccessLogEvent.ATRIBUTO, RequestAttributes.SCOPE_REQUEST);
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.teste.clientes.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fila circular de tamanho fixo, sem trava, para vários produtores e um único consumidor. Cada
+ * posição tem um número de sequência que diz se ela está livre para a volta atual do produtor ou
+ * preenchida para o consumidor; o produtor reserva a posição com um CAS no contador de escrita e
+ * nunca espera: com a fila cheia, {@link #offer} devolve {@code false}.
+ */
+final class AccessLogBuffer<T> {
+
+    private final AtomicReferenceArray<T> itens;
+
+    private final AtomicLongArray sequencias;
+
+    private final int mascara;
+
+    private final AtomicLong escrita = new AtomicLong();
+
+    private final AtomicLong leitura = new AtomicLong();
+
+    /**
+     * @param capacidade arredondada para a potência de 2 seguinte
+     */
+    AccessLogBuffer(int capacidade) {
+        int tamanho = Integer.highestOneBit(Math.max(2, capacidade) - 1) << 1;
+        itens = new AtomicReferenceArray<>(tamanho);
+        sequencias = new AtomicLongArray(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            sequencias.set(i, i);
+        }
+        mascara = tamanho - 1;
+    }
+
+    int capacity() {
+        return mascara + 1;
+    }
+
+    boolean offer(T item) {
+        long posicao = escrita.get();
+        while (true) {
+            int i = (int) posicao & mascara;
+            long diferenca = sequencias.get(i) - posicao;
+            if (diferenca == 0) {
+                if (escrita.compareAndSet(posicao, posicao + 1)) {
+                    itens.set(i, item);
+                    sequencias.set(i, posicao + 1);
+                    return true;
+                }
+                posicao = escrita.get();
+            } else if (diferenca < 0) {
+                return false;
+            } else {
+                posicao = escrita.get();
+            }
+        }
+    }
+
+    /**
+     * Próximo item, ou {@code null} com a fila vazia. Só pode ser chamado por uma thread.
+     */
+    T poll() {
+        long posicao = leitura.get();
+        int i = (int) posicao & mascara;
+        if (sequencias.get(i) != posicao + 1) {
+            return null;
+        }
+        T item = itens.get(i);
+        itens.lazySet(i, null);
+        sequencias.lazySet(i, posicao + mascara + 1);
+        leitura.lazySet(posicao + 1);
+        return item;
+    }
+
+    int size() {
+        return (int) Math.max(0, escrita.get() - leitura.get());
+    }
+}
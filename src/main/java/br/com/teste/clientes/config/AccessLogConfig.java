@@ -0,0 +1,56 @@
+package br.com.teste.clientes.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.server.WebFilter;
+
+/**
+ * Log de acesso estruturado da API ({@code /api/*}): uma linha JSON por requisição no logger
+ * {@code clientes.access}, com método, caminho, query, status, tempo e, quando o controller
+ * informa, id e cpf mascarado do cliente. A escrita é assíncrona (ver {@link AccessLogWriter}),
+ * também no perfil {@code reactive}, onde os eventos vêm de um {@link AccessLogWebFilter}.
+ * Desligue com {@code clientes.access-log.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "clientes.access-log", name = "enabled", matchIfMissing = true)
+public class AccessLogConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    AccessLogWriter accessLogWriter(@Value("${clientes.access-log.buffer-size:8192}") int capacidade,
+                                    @Value("${clientes.access-log.read-sample-rate:1.0}") double amostragemLeitura,
+                                    MeterRegistry registry) {
+        return new AccessLogWriter(capacidade, amostragemLeitura, registry);
+    }
+
+    @Configuration
+    @Profile("!reactive")
+    static class Servlet {
+
+        @Bean
+        public FilterRegistrationBean<AccessLogFilter> accessLogFilter(AccessLogWriter writer) {
+            FilterRegistrationBean<AccessLogFilter> registration =
+                    new FilterRegistrationBean<>(new AccessLogFilter(writer));
+            registration.addUrlPatterns("/api/*");
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+            return registration;
+        }
+    }
+
+    @Configuration
+    @Profile("reactive")
+    static class Reactive {
+
+        @Bean
+        @Order(Ordered.HIGHEST_PRECEDENCE + 2)
+        public WebFilter accessLogWebFilter(AccessLogWriter writer) {
+            return new AccessLogWebFilter(writer);
+        }
+    }
+}
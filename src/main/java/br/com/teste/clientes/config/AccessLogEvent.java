@@ -0,0 +1,41 @@
+package br.com.teste.clientes.config;
+
+/**
+ * Uma requisição da API para o log de acesso. Guarda os valores como vieram, inclusive cpf na
+ * query ou anotado pelo controller: o mascaramento e a serialização só acontecem na thread de
+ * escrita, e só para os eventos que chegam a ser escritos.
+ */
+final class AccessLogEvent {
+
+    static final String ATRIBUTO = AccessLogEvent.class.getName();
+
+    final long inicioMillis;
+
+    final long inicioNanos;
+
+    final String method;
+
+    final String path;
+
+    final String query;
+
+    int status;
+
+    long duracaoNanos;
+
+    String cpf;
+
+    Long clienteId;
+
+    AccessLogEvent(long inicioMillis, long inicioNanos, String method, String path, String query) {
+        this.inicioMillis = inicioMillis;
+        this.inicioNanos = inicioNanos;
+        this.method = method;
+        this.path = path;
+        this.query = query;
+    }
+
+    boolean isLeitura() {
+        return "GET".equals(method) || "HEAD".equals(method);
+    }
+}
@@ -0,0 +1,74 @@
+package br.com.teste.clientes.config;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Cria o {@link AccessLogEvent} de cada requisição da API e o entrega ao {@link AccessLogWriter}
+ * ao final, com o status e o tempo total. Em requisições assíncronas, como a exportação, o evento
+ * só é entregue quando a resposta termina.
+ */
+class AccessLogFilter extends OncePerRequestFilter {
+
+    private final AccessLogWriter writer;
+
+    AccessLogFilter(AccessLogWriter writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AccessLogEvent event = new AccessLogEvent(System.currentTimeMillis(), System.nanoTime(),
+                request.getMethod(), request.getRequestURI(), request.getQueryString());
+        request.setAttribute(AccessLogEvent.ATRIBUTO, event);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new Conclusao(event));
+            } else {
+                concluir(event, response.getStatus());
+            }
+        }
+    }
+
+    private void concluir(AccessLogEvent event, int status) {
+        event.status = status;
+        event.duracaoNanos = System.nanoTime() - event.inicioNanos;
+        writer.registrar(event);
+    }
+
+    private final class Conclusao implements AsyncListener {
+
+        private final AccessLogEvent event;
+
+        Conclusao(AccessLogEvent event) {
+            this.event = event;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent asyncEvent) {
+            concluir(event, ((HttpServletResponse) asyncEvent.getSuppliedResponse()).getStatus());
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent asyncEvent) {
+        }
+
+        @Override
+        public void onError(AsyncEvent asyncEvent) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent asyncEvent) {
+        }
+    }
+}
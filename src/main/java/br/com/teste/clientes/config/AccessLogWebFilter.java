@@ -0,0 +1,42 @@
+package br.com.teste.clientes.config;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * O {@link AccessLogFilter} do perfil {@code reactive}: cria o {@link AccessLogEvent} de cada
+ * requisição da API e o entrega ao {@link AccessLogWriter} quando a resposta termina, sem escrever
+ * nada na thread do Netty.
+ */
+class AccessLogWebFilter implements WebFilter {
+
+    private static final String API = "/api/";
+
+    private final AccessLogWriter writer;
+
+    AccessLogWebFilter(AccessLogWriter writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().value();
+        if (!path.startsWith(API)) {
+            return chain.filter(exchange);
+        }
+        AccessLogEvent event = new AccessLogEvent(System.currentTimeMillis(), System.nanoTime(),
+                request.getMethodValue(), path, request.getURI().getRawQuery());
+        exchange.getAttributes().put(AccessLogEvent.ATRIBUTO, event);
+        return chain.filter(exchange).doFinally(sinal -> {
+            HttpStatus status = exchange.getResponse().getStatusCode();
+            event.status = status != null ? status.value() : HttpStatus.OK.value();
+            event.duracaoNanos = System.nanoTime() - event.inicioNanos;
+            writer.registrar(event);
+        });
+    }
+}
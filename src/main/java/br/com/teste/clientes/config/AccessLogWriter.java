@@ -0,0 +1,191 @@
+package br.com.teste.clientes.config;
+
+import br.com.teste.clientes.validation.Cpf;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Escreve os eventos do log de acesso em JSON, uma linha por requisição, no logger
+ * {@value #LOGGER}, a partir de uma thread própria. As requisições só entregam o evento ao
+ * {@link AccessLogBuffer}: se ele estiver cheio o evento é descartado e contado em
+ * {@value #DESCARTADOS}, sem que a requisição espere pelo log.
+ *
+ * <p>Leituras bem-sucedidas ({@code GET} e {@code HEAD} abaixo de 400) são amostradas pela taxa
+ * configurada; escritas e erros são sempre registrados.
+ */
+@Slf4j
+class AccessLogWriter {
+
+    static final String LOGGER = "clientes.access";
+
+    static final String DESCARTADOS = "clientes.access.log.dropped";
+
+    private static final Logger accessLog = LoggerFactory.getLogger(LOGGER);
+
+    private final AccessLogBuffer<AccessLogEvent> buffer;
+
+    private final double amostragemLeitura;
+
+    private final Counter descartados;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    private final StringWriter linha = new StringWriter(256);
+
+    private volatile boolean ativo;
+
+    /**
+     * Indica que a thread de escrita achou o buffer vazio e vai estacionar; quem entrega um evento
+     * nesse estado a acorda.
+     */
+    private volatile boolean aguardando;
+
+    private volatile Thread thread;
+
+    AccessLogWriter(int capacidade, double amostragemLeitura, MeterRegistry registry) {
+        this.buffer = new AccessLogBuffer<>(capacidade);
+        this.amostragemLeitura = amostragemLeitura;
+        this.descartados = Counter.builder(DESCARTADOS)
+                .description("Eventos do log de acesso descartados com o buffer cheio")
+                .register(registry);
+        Gauge.builder("clientes.access.log.pending", buffer, AccessLogBuffer::size)
+                .description("Eventos do log de acesso aguardando escrita")
+                .register(registry);
+    }
+
+    void start() {
+        ativo = true;
+        thread = new Thread(this::run, "clientes-access-log");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Para a thread depois de escrever o que já estava no buffer.
+     */
+    void stop() throws InterruptedException {
+        ativo = false;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * Entrega o evento para escrita, se ele passar pela amostragem. Nunca bloqueia.
+     */
+    void registrar(AccessLogEvent event) {
+        if (!amostrado(event)) {
+            return;
+        }
+        if (!buffer.offer(event)) {
+            descartados.increment();
+        } else if (aguardando) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private boolean amostrado(AccessLogEvent event) {
+        if (!event.isLeitura() || event.status >= 400 || amostragemLeitura >= 1) {
+            return true;
+        }
+        return ThreadLocalRandom.current().nextDouble() < amostragemLeitura;
+    }
+
+    /**
+     * Com o buffer vazio a thread estaciona até um produtor ou {@link #stop} acordá-la, sem
+     * acordar periodicamente. {@link #aguardando} é marcado antes de conferir o buffer de novo e o
+     * produtor o lê depois de publicar o evento, então um dos dois sempre vê o outro e nenhum
+     * evento fica esperando no buffer com a thread parada.
+     */
+    private void run() {
+        while (ativo || buffer.size() > 0) {
+            AccessLogEvent event = buffer.poll();
+            if (event == null) {
+                aguardando = true;
+                event = buffer.poll();
+                if (event == null && ativo) {
+                    LockSupport.park(this);
+                }
+                aguardando = false;
+                if (event == null) {
+                    continue;
+                }
+            }
+            if (accessLog.isInfoEnabled()) {
+                try {
+                    accessLog.info(json(event));
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Falha ao escrever o log de acesso", e);
+                }
+            }
+        }
+    }
+
+    String json(AccessLogEvent event) throws IOException {
+        linha.getBuffer().setLength(0);
+        try (JsonGenerator json = jsonFactory.createGenerator(linha)) {
+            json.writeStartObject();
+            json.writeStringField("ts", Instant.ofEpochMilli(event.inicioMillis).toString());
+            json.writeStringField("method", event.method);
+            json.writeStringField("path", event.path);
+            if (event.query != null) {
+                json.writeStringField("query", mascararQuery(event.query));
+            }
+            json.writeNumberField("status", event.status);
+            json.writeNumberField("durationMs", Math.round(event.duracaoNanos / 1000.0) / 1000.0);
+            if (event.clienteId != null) {
+                json.writeNumberField("clienteId", event.clienteId);
+            }
+            if (event.cpf != null) {
+                json.writeStringField("cpf", Cpf.mask(event.cpf));
+            }
+            json.writeEndObject();
+        }
+        return linha.toString();
+    }
+
+    /**
+     * Query string com o valor do parâmetro {@code cpf} mascarado; os demais ficam como vieram.
+     */
+    static String mascararQuery(String query) {
+        if (!query.contains("cpf=")) {
+            return query;
+        }
+        StringBuilder mascarada = new StringBuilder(query.length());
+        for (String parametro : query.split("&")) {
+            if (mascarada.length() > 0) {
+                mascarada.append('&');
+            }
+            if (parametro.startsWith("cpf=")) {
+                mascarada.append("cpf=").append(Cpf.mask(decodificar(parametro.substring(4))));
+            } else {
+                mascarada.append(parametro);
+            }
+        }
+        return mascarada.toString();
+    }
+
+    private static String decodificar(String valor) {
+        try {
+            return URLDecoder.decode(valor, "UTF-8");
+        } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+            return valor;
+        }
+    }
+}
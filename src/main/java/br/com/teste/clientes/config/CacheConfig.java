@@ -0,0 +1,18 @@
+package br.com.teste.clientes.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Habilita o cache de clientes por id. Tamanho e expiração ficam em
+ * {@code spring.cache.caffeine.spec}; as métricas {@code cache.gets}, {@code cache.puts} e
+ * {@code cache.evictions} aparecem em {@code /actuator/metrics} quando a spec inclui
+ * {@code recordStats}. Com {@code spring.cache.type=none} as anotações continuam no lugar, mas
+ * toda leitura vai ao banco.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CLIENTES = "clientes";
+}
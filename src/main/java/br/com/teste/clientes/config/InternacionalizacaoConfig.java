@@ -1,5 +1,6 @@
 package br.com.teste.clientes.config;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Locale;
 
 import org.springframework.beans.factory.annotation.Value;
@@ -11,14 +12,27 @@ import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 
 @Configuration
 public class InternacionalizacaoConfig {	
+	private static final String BASENAME = "messages";
+
+	private volatile MessageCatalog catalogo;
+
 	@Bean
 	public MessageSource messageSource() {
 		ReloadableResourceBundleMessageSource messageSource = new ReloadableResourceBundleMessageSource();
-		messageSource.setBasename("classpath:messages");
-		messageSource.setDefaultEncoding("ISO-8859-1");
+		messageSource.setBasename("classpath:" + BASENAME);
+		messageSource.setDefaultEncoding(StandardCharsets.ISO_8859_1.name());
 		messageSource.setDefaultLocale(getLocale());
 		return messageSource;
 	}
+
+	/**
+	 * Mensagens resolvidas uma única vez para o idioma configurado, usadas por {@link #getMessage}
+	 * e pelos corpos de erro pré-serializados.
+	 */
+	@Bean
+	public MessageCatalog messageCatalog() {
+		return catalogo();
+	}
 	
 	@Bean
 	public LocalValidatorFactoryBean validatorFactoryBean() {
@@ -40,7 +54,22 @@ public class InternacionalizacaoConfig {
 		return locale;
 	}
 	
+	/**
+	 * Texto da mensagem no idioma configurado, lido do {@link MessageCatalog}; códigos fora do
+	 * catálogo ainda passam pelo {@link MessageSource}.
+	 */
 	public String getMessage(String code) {
-		return messageSource().getMessage(code, null, null, getLocale());
+		MessageCatalog mensagens = catalogo();
+		String mensagem = mensagens.get(code);
+		return mensagem != null ? mensagem : messageSource().getMessage(code, null, null, mensagens.getLocale());
+	}
+
+	private MessageCatalog catalogo() {
+		MessageCatalog mensagens = catalogo;
+		if (mensagens == null) {
+			mensagens = MessageCatalog.load(messageSource(), BASENAME, StandardCharsets.ISO_8859_1, getLocale());
+			catalogo = mensagens;
+		}
+		return mensagens;
 	}
 }
@@ -0,0 +1,75 @@
+package br.com.teste.clientes.config;
+
+import org.springframework.context.MessageSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Mensagens da aplicação já resolvidas para o idioma configurado. É montado uma vez na subida, com
+ * os códigos do arquivo base ({@code messages.properties}) e os textos do {@link MessageSource},
+ * que aplica o arquivo do idioma e os fallbacks; depois disso uma consulta é só um acesso a mapa.
+ */
+public final class MessageCatalog {
+
+    private final Locale locale;
+
+    private final Map<String, String> mensagens;
+
+    private final Set<String> textos;
+
+    private MessageCatalog(Locale locale, Map<String, String> mensagens) {
+        this.locale = locale;
+        this.mensagens = Collections.unmodifiableMap(mensagens);
+        this.textos = Collections.unmodifiableSet(new HashSet<>(mensagens.values()));
+    }
+
+    static MessageCatalog load(MessageSource messageSource, String basename, Charset encoding, Locale locale) {
+        Properties base;
+        try {
+            base = PropertiesLoaderUtils.loadProperties(
+                    new EncodedResource(new ClassPathResource(basename + ".properties"), encoding));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Map<String, String> mensagens = new HashMap<>();
+        for (String code : base.stringPropertyNames()) {
+            mensagens.put(code, messageSource.getMessage(code, null, locale));
+        }
+        return new MessageCatalog(locale, mensagens);
+    }
+
+    public Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * Texto da mensagem, ou {@code null} quando o código não existe no catálogo.
+     */
+    public String get(String code) {
+        return mensagens.get(code);
+    }
+
+    /**
+     * Se o texto é uma das mensagens do catálogo, isto é, uma mensagem fixa e não montada na hora.
+     */
+    public boolean contains(String texto) {
+        return textos.contains(texto);
+    }
+
+    public Collection<String> messages() {
+        return textos;
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.teste.clientes.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Acesso a dados do perfil {@code reactive}. A API usa R2DBC, mas a carga dos índices em
+ * memória, o filtro de cpfs e a criação do esquema continuam com JPA, então os dois acessos
+ * abrem o mesmo banco de {@code spring.datasource.url}: o pool R2DBC é montado a partir dela em
+ * vez de {@code spring.r2dbc.url}. O {@link javax.sql.DataSource} é declarado aqui porque o
+ * Spring Boot deixa de criá-lo quando existe uma {@link io.r2dbc.spi.ConnectionFactory}.
+ */
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveConfig {
+
+    private static final String PREFIXO_JDBC_H2 = "jdbc:h2:";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory(DataSourceProperties properties,
+                                            @Value("${clientes.reactive.pool.initial-size:10}") int initialSize,
+                                            @Value("${clientes.reactive.pool.max-size:20}") int maxSize) {
+        String url = properties.determineUrl();
+        if (!url.startsWith(PREFIXO_JDBC_H2)) {
+            throw new IllegalStateException("O perfil reactive só suporta o H2, e a url é " + url);
+        }
+        H2ConnectionConfiguration.Builder h2 = H2ConnectionConfiguration.builder()
+                .url(url.substring(PREFIXO_JDBC_H2.length()))
+                .username(properties.determineUsername());
+        if (properties.determinePassword() != null) {
+            h2.password(properties.determinePassword());
+        }
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(new H2ConnectionFactory(h2.build()))
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .build());
+    }
+}
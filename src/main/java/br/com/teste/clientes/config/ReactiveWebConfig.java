@@ -0,0 +1,44 @@
+package br.com.teste.clientes.config;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.savedrequest.NoOpServerRequestCache;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+/**
+ * Web do perfil {@code reactive}: Netty em vez do Tomcat (que também está no classpath por causa
+ * do Spring MVC), {@link org.springframework.data.domain.Pageable} nos parâmetros dos controllers
+ * e as mesmas liberações de {@link SecurityPermitAllConfig}. Como lá a API fica fora da
+ * segurança, aqui a cadeia não guarda contexto nem requisição na {@code WebSession}: sem isso cada
+ * requisição carregaria a sessão, e o restante do processamento sairia das threads do Netty.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        return http.securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .requestCache().requestCache(NoOpServerRequestCache.getInstance())
+                .and().authorizeExchange().anyExchange().permitAll()
+                .and().csrf().disable()
+                .build();
+    }
+
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        configurer.addCustomResolver(new ReactivePageableHandlerMethodArgumentResolver());
+    }
+}
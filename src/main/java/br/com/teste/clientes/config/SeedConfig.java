@@ -0,0 +1,27 @@
+package br.com.teste.clientes.config;
+
+import br.com.teste.clientes.service.ClienteSeeder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Popula o banco com {@code clientes.seed.rows} clientes sintéticos na subida, antes do
+ * {@code ApplicationReadyEvent}, para que os índices de nomes e o filtro de cpfs já os carreguem:
+ * {@code java -jar clientes.jar --clientes.seed.rows=10000000 --clientes.seed.seed=42}. A mesma
+ * semente gera sempre os mesmos clientes. Para milhões de clientes use um H2 em arquivo
+ * ({@code spring.datasource.url=jdbc:h2:file:...}), já que o banco em memória fica no heap.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "clientes.seed", name = "rows")
+public class SeedConfig {
+
+    @Bean
+    public ApplicationRunner clienteSeedRunner(ClienteSeeder seeder,
+                                               @Value("${clientes.seed.rows}") long rows,
+                                               @Value("${clientes.seed.seed:1}") long seed) {
+        return args -> seeder.seed(rows, seed);
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.teste.clientes.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Envolve o {@link DataSource} com o datasource-proxy para medir cada comando e registrar os que
+ * passam de {@code clientes.slow-query.threshold} (ver {@link SlowQueryListener}). Substitui o
+ * {@code hibernate.show_sql}, que imprimia todos os comandos. Desligue com
+ * {@code clientes.slow-query.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "clientes.slow-query", name = "enabled", matchIfMissing = true)
+public class SlowQueryConfig {
+
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource)) {
+                    return bean;
+                }
+                Duration limite = environment.getProperty("clientes.slow-query.threshold", Duration.class,
+                        Duration.ofMillis(200));
+                return ProxyDataSourceBuilder.create(beanName, (DataSource) bean)
+                        .listener(new SlowQueryListener(limite.toMillis()))
+                        .build();
+            }
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.teste.clientes.config;
+
+import br.com.teste.clientes.service.ClienteReactiveService;
+import br.com.teste.clientes.service.ClienteService;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Registra em WARN os comandos que passam do limite configurado, com o tempo, o SQL, o tipo de
+ * cada parâmetro (nunca o valor, que pode ser um cpf) e o método do serviço que os disparou. A
+ * origem é procurada na pilha só quando o comando é lento, então os demais não pagam nada além da
+ * medição.
+ */
+@Slf4j
+class SlowQueryListener implements QueryExecutionListener {
+
+    private static final String PACOTE_SERVICO = "br.com.teste.clientes.service.";
+
+    private final long limiteMillis;
+
+    SlowQueryListener(long limiteMillis) {
+        this.limiteMillis = limiteMillis;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < limiteMillis || !log.isWarnEnabled()) {
+            return;
+        }
+        String origem = origem(new Throwable().getStackTrace());
+        for (QueryInfo query : queryInfoList) {
+            List<List<ParameterSetOperation>> parametros = query.getParametersList();
+            log.warn("Consulta lenta: {} ms em {}{}: {} parâmetros {}", execInfo.getElapsedTime(), origem,
+                    execInfo.isBatch() ? " (lote de " + execInfo.getBatchSize() + ")" : "",
+                    query.getQuery(), parametros.isEmpty() ? "[]" : formato(parametros.get(0)));
+        }
+    }
+
+    /**
+     * Tipos dos parâmetros na ordem em que foram ligados, como {@code [String, Long, null]}.
+     */
+    static String formato(List<ParameterSetOperation> operacoes) {
+        StringJoiner formato = new StringJoiner(", ", "[", "]");
+        for (ParameterSetOperation operacao : operacoes) {
+            Object[] args = operacao.getArgs();
+            if (ParameterSetOperation.isRegisterOutParameterOperation(operacao) || args.length < 2) {
+                continue;
+            }
+            formato.add(ParameterSetOperation.isSetNullParameterOperation(operacao) || args[1] == null
+                    ? "null" : args[1].getClass().getSimpleName());
+        }
+        return formato.toString();
+    }
+
+    /**
+     * Primeiro método de uma implementação de {@link ClienteService} ou
+     * {@link ClienteReactiveService} na pilha, como {@code ClienteServiceImpl.find}, passando por
+     * cima dos auxiliares do pacote de serviços (índices, importação, group commit) que os
+     * serviços chamam. Sem um serviço na pilha, como nas threads da importação e do group commit,
+     * vale o primeiro método do pacote de serviços.
+     */
+    static String origem(StackTraceElement[] pilha) {
+        StackTraceElement auxiliar = null;
+        for (StackTraceElement elemento : pilha) {
+            String classe = elemento.getClassName();
+            if (!classe.startsWith(PACOTE_SERVICO) || classe.contains("$$")) {
+                continue;
+            }
+            if (servico(classe)) {
+                return descricao(elemento);
+            }
+            if (auxiliar == null) {
+                auxiliar = elemento;
+            }
+        }
+        return auxiliar == null ? "origem desconhecida" : descricao(auxiliar);
+    }
+
+    private static boolean servico(String classe) {
+        try {
+            Class<?> tipo = Class.forName(classe, false, SlowQueryListener.class.getClassLoader());
+            return ClienteService.class.isAssignableFrom(tipo) || ClienteReactiveService.class.isAssignableFrom(tipo);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static String descricao(StackTraceElement elemento) {
+        String classe = elemento.getClassName();
+        return classe.substring(classe.lastIndexOf('.') + 1) + "." + elemento.getMethodName();
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.teste.clientes.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.annotation.PreDestroy;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Atende cada requisição do Tomcat numa virtual thread própria, no lugar do pool fixo de
+ * {@code server.tomcat.threads.max} threads. Ligue com {@code clientes.virtual-threads.enabled=true}
+ * e rode num JDK 21 ou mais novo; o projeto continua compilado para Java 8, então as virtual
+ * threads são criadas por reflexão e, num JDK sem elas, o Tomcat fica com o pool de sempre e um
+ * aviso no log.
+ *
+ * <p>O Tomcat até o 9.0.70, como o 9.0.37 do Spring Boot 2.3, processava cada conexão dentro de
+ * {@code synchronized}, prendendo a virtual thread à portadora durante toda a requisição; a partir
+ * do 9.0.71 ele usa {@code ReentrantLock}, por isso o {@code tomcat.version} do pom fica num 9.0
+ * mais novo. Sem o pool, quem limita as requisições simultâneas é
+ * {@code server.tomcat.max-connections}, e as que precisam do banco esperam na fila do pool do
+ * Hikari, que não prende a thread portadora.
+ * No caminho da requisição não há espera dentro de {@code synchronized}, que prenderia a
+ * portadora: o log de acesso é escrito por uma thread própria, as mensagens vêm do
+ * {@link MessageCatalog} sem trava e os índices de nomes usam {@code ReentrantLock}. O H2 embutido
+ * executa a consulta na própria thread, dentro de {@code synchronized} da sessão JDBC; esse tempo
+ * é de CPU e ocupa a portadora com ou sem virtual threads.
+ */
+@Slf4j
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "clientes.virtual-threads", name = "enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final String PREFIXO = "clientes-vt-";
+
+    private ExecutorService executor;
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            executor = newVirtualThreadPerTaskExecutor(PREFIXO);
+            if (executor == null) {
+                log.warn("Virtual threads indisponíveis no Java {}; o Tomcat continua com o pool de threads",
+                        System.getProperty("java.version"));
+                return;
+            }
+            protocolHandler.setExecutor(executor);
+            log.info("Requisições do Tomcat atendidas por virtual threads ({}*)", PREFIXO);
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * {@code Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefixo, 0).factory())},
+     * ou {@code null} quando o JDK não tem virtual threads (ou só as tem em preview).
+     */
+    static ExecutorService newVirtualThreadPerTaskExecutor(String prefixo) {
+        try {
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            Object virtual = Thread.class.getMethod("ofVirtual").invoke(null);
+            virtual = builder.getMethod("name", String.class, long.class).invoke(virtual, prefixo, 0L);
+            ThreadFactory factory = (ThreadFactory) builder.getMethod("factory").invoke(virtual);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factory);
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof UnsupportedOperationException) {
+                return null;
+            }
+            throw new IllegalStateException("Falha ao criar o executor de virtual threads", e.getCause());
+        }
+    }
+}
@@ -7,14 +7,21 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import javax.persistence.Version;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 
-import org.hibernate.validator.constraints.br.CPF;
-
 import com.fasterxml.jackson.annotation.JsonFormat;
 
+import br.com.teste.clientes.validation.Cpf;
+import br.com.teste.clientes.validation.CpfValido;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -25,9 +32,15 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(uniqueConstraints = @UniqueConstraint(name = Cliente.UK_CPF, columnNames = "cpf"),
+		indexes = @Index(name = "idx_cliente_nome_id", columnList = "nome, id"))
 public class Cliente {
+
+	public static final String UK_CPF = "uk_cliente_cpf";
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cliente_seq")
+	@SequenceGenerator(name = "cliente_seq", sequenceName = "cliente_seq", allocationSize = 50)
 	private Long id;
 	
 	@Column(nullable = false, length = 150)
@@ -36,15 +49,33 @@ public class Cliente {
 	
 	@Column(nullable = false, length = 11)
 	@NotNull(message = "{campo.cpf.obrigatorio}")
-	@CPF(message = "{campo.cpf.invalido}")
+	@CpfValido
 	private String cpf;
 	
 	@Column(name = "data_cadastro", updatable = false)
 	@JsonFormat(pattern = "dd/MM/yyyy")
 	private LocalDate dataCadastro;
+
+	/**
+	 * Incrementada pelo Hibernate a cada alteração; é a ETag do cliente na API. O default da coluna
+	 * cobre linhas inseridas fora do JPA e as que já existiam quando a coluna foi criada.
+	 */
+	@Version
+	@Column(nullable = false, columnDefinition = "bigint default 0")
+	private Long versao;
+
+	public Cliente(Long id, String nome, String cpf, LocalDate dataCadastro) {
+		this(id, nome, cpf, dataCadastro, null);
+	}
 	
 	@PrePersist
 	public void prePersist() {
 		setDataCadastro(LocalDate.now());
+		setCpf(Cpf.normalize(getCpf()));
+	}
+
+	@PreUpdate
+	public void preUpdate() {
+		setCpf(Cpf.normalize(getCpf()));
 	}
 }
@@ -0,0 +1,11 @@
+package br.com.teste.clientes.model.repository;
+
+/**
+ * Projeção com apenas o id e o nome do cliente.
+ */
+public interface ClienteNome {
+
+    Long getId();
+
+    String getNome();
+}
@@ -0,0 +1,234 @@
+package br.com.teste.clientes.model.repository;
+
+import br.com.teste.clientes.model.entity.Cliente;
+import br.com.teste.clientes.service.PadroesLike;
+import io.r2dbc.spi.Row;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Acesso à tabela {@code cliente} por R2DBC, usado pela API do perfil {@code reactive}. O esquema
+ * continua sendo o mapeado em {@link Cliente}: os ids saem da mesma sequência {@code cliente_seq}
+ * em blocos de {@value #BLOCO_IDS}, como o gerador do Hibernate, e a busca segue os critérios da
+ * busca avançada por exemplo (textos por trecho, sem diferenciar maiúsculas).
+ */
+@Repository
+@Profile("reactive")
+public class ClienteReactiveRepository {
+
+    private static final int BLOCO_IDS = 50;
+
+    private static final String COLUNAS = "select id, nome, cpf, data_cadastro, versao from cliente";
+
+    private static final Map<String, String> ORDENACAO = new HashMap<>();
+
+    static {
+        ORDENACAO.put("id", "id");
+        ORDENACAO.put("nome", "nome");
+        ORDENACAO.put("cpf", "cpf");
+        ORDENACAO.put("dataCadastro", "data_cadastro");
+    }
+
+    private final DatabaseClient client;
+
+    private long proximoId;
+
+    private long ultimoId = -1;
+
+    public ClienteReactiveRepository(DatabaseClient client) {
+        this.client = client;
+    }
+
+    public Mono<Cliente> findById(Long id) {
+        return client.execute(COLUNAS + " where id = :id")
+                .bind("id", id)
+                .map(ClienteReactiveRepository::toCliente)
+                .one();
+    }
+
+    /**
+     * Só o cpf gravado do cliente, para saber se uma alteração o troca.
+     */
+    public Mono<String> findCpfById(Long id) {
+        return client.execute("select cpf from cliente where id = :id")
+                .bind("id", id)
+                .map(row -> row.get(0, String.class))
+                .first();
+    }
+
+    public Mono<Boolean> existsByCpf(String cpf) {
+        return client.execute("select 1 from cliente where cpf = :cpf")
+                .bind("cpf", cpf)
+                .map(row -> 1)
+                .first()
+                .hasElement();
+    }
+
+    /**
+     * Insere o cliente com o próximo id da sequência e o devolve com o id preenchido.
+     */
+    public Mono<Cliente> insert(Cliente cliente) {
+        return proximoId().flatMap(id -> {
+            DatabaseClient.GenericExecuteSpec insert = client
+                    .execute("insert into cliente (id, nome, cpf, data_cadastro, versao) values (:id, :nome, :cpf, :dataCadastro, 0)")
+                    .bind("id", id)
+                    .bind("nome", cliente.getNome())
+                    .bind("cpf", cliente.getCpf());
+            insert = cliente.getDataCadastro() == null
+                    ? insert.bindNull("dataCadastro", LocalDate.class)
+                    : insert.bind("dataCadastro", cliente.getDataCadastro());
+            return insert.fetch().rowsUpdated().thenReturn(id);
+        }).map(id -> Cliente.builder().id(id).nome(cliente.getNome()).cpf(cliente.getCpf())
+                .dataCadastro(cliente.getDataCadastro()).versao(0L).build());
+    }
+
+    /**
+     * Altera nome e cpf e incrementa a versão; a data de cadastro não é alterável, como no
+     * mapeamento JPA. Com a versão preenchida, só altera se ela ainda for a do banco, como o
+     * {@code @Version} do Hibernate. Vazio quando o cliente não existe ou mudou.
+     */
+    public Mono<Cliente> update(Cliente cliente) {
+        DatabaseClient.GenericExecuteSpec update = client.execute("update cliente set nome = :nome, cpf = :cpf,"
+                + " versao = versao + 1 where id = :id" + (cliente.getVersao() != null ? " and versao = :versao" : ""))
+                .bind("nome", cliente.getNome())
+                .bind("cpf", cliente.getCpf())
+                .bind("id", cliente.getId());
+        if (cliente.getVersao() != null) {
+            update = update.bind("versao", cliente.getVersao());
+        }
+        return update.fetch()
+                .rowsUpdated()
+                .filter(linhas -> linhas > 0)
+                .flatMap(linhas -> findById(cliente.getId()));
+    }
+
+    public Mono<Integer> deleteById(Long id) {
+        return client.execute("delete from cliente where id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Página dos clientes que atendem ao filtro, com o total para a paginação. Sem ordenação na
+     * requisição, a página é ordenada pelo id. A página e o count rodam em sequência: em paralelo,
+     * cada requisição seguraria uma conexão do pool esperando a segunda, e sob carga as
+     * requisições travariam umas às outras.
+     */
+    public Mono<Page<Cliente>> find(Cliente filter, Pageable pageable) {
+        Map<String, Object> parametros = new LinkedHashMap<>();
+        StringJoiner where = new StringJoiner(" and ", " where ", "").setEmptyValue("");
+        if (filter.getId() != null) {
+            where.add("id = :id");
+            parametros.put("id", filter.getId());
+        }
+        if (filter.getNome() != null && !filter.getNome().isEmpty()) {
+            where.add("lower(nome) like :nome escape '\\'");
+            parametros.put("nome", PadroesLike.contendo(filter.getNome().toLowerCase()));
+        }
+        if (filter.getCpf() != null && !filter.getCpf().isEmpty()) {
+            where.add("lower(cpf) like :cpf escape '\\'");
+            parametros.put("cpf", PadroesLike.contendo(filter.getCpf().toLowerCase()));
+        }
+        if (filter.getDataCadastro() != null) {
+            where.add("data_cadastro = :dataCadastro");
+            parametros.put("dataCadastro", filter.getDataCadastro());
+        }
+
+        String sql = COLUNAS + where + orderBy(pageable.getSort());
+        if (pageable.isPaged()) {
+            sql += " limit " + pageable.getPageSize() + " offset " + pageable.getOffset();
+        }
+        Mono<Long> total = bind(client.execute("select count(*) from cliente" + where), parametros)
+                .map(row -> row.get(0, Long.class))
+                .one();
+        return bind(client.execute(sql), parametros)
+                .map(ClienteReactiveRepository::toCliente)
+                .all()
+                .collectList()
+                .<Page<Cliente>>flatMap(clientes -> precisaContar(clientes.size(), pageable)
+                        ? total.map(count -> new PageImpl<>(clientes, pageable, count))
+                        : Mono.just(new PageImpl<>(clientes, pageable,
+                                pageable.isPaged() ? pageable.getOffset() + clientes.size() : clientes.size())));
+    }
+
+    /**
+     * Como no {@code PageableExecutionUtils} do Spring Data, o count só é necessário quando a
+     * página veio cheia, ou vazia depois da primeira.
+     */
+    private static boolean precisaContar(int encontrados, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return false;
+        }
+        return encontrados == pageable.getPageSize() || (encontrados == 0 && pageable.getOffset() > 0);
+    }
+
+    /**
+     * Próximo id do bloco reservado na sequência; ao esgotar, reserva outro. Como no otimizador
+     * {@code pooled} do Hibernate, o valor lido da sequência é o fim do bloco.
+     */
+    private Mono<Long> proximoId() {
+        return Mono.defer(() -> {
+            synchronized (this) {
+                if (proximoId <= ultimoId) {
+                    return Mono.just(proximoId++);
+                }
+            }
+            return client.execute("select next value for cliente_seq")
+                    .map(row -> row.get(0, Long.class))
+                    .one()
+                    .map(fim -> {
+                        synchronized (this) {
+                            proximoId = Math.max(1, fim - BLOCO_IDS + 1);
+                            ultimoId = fim;
+                            return proximoId++;
+                        }
+                    });
+        });
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec,
+                                                          Map<String, Object> parametros) {
+        for (Map.Entry<String, Object> parametro : parametros.entrySet()) {
+            spec = spec.bind(parametro.getKey(), parametro.getValue());
+        }
+        return spec;
+    }
+
+    private static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return " order by id";
+        }
+        StringJoiner orderBy = new StringJoiner(", ", " order by ", "");
+        for (Sort.Order order : sort) {
+            String coluna = ORDENACAO.get(order.getProperty());
+            if (coluna == null) {
+                throw new IllegalArgumentException("Não é possível ordenar por " + order.getProperty());
+            }
+            orderBy.add(coluna + (order.isAscending() ? " asc" : " desc"));
+        }
+        return orderBy.toString();
+    }
+
+    private static Cliente toCliente(Row row) {
+        return Cliente.builder()
+                .id(row.get("id", Long.class))
+                .nome(row.get("nome", String.class))
+                .cpf(row.get("cpf", String.class))
+                .dataCadastro(row.get("data_cadastro", LocalDate.class))
+                .versao(row.get("versao", Long.class))
+                .build();
+    }
+}
@@ -1,10 +1,137 @@
 package br.com.teste.clientes.model.repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import br.com.teste.clientes.model.entity.Cliente;
+import br.com.teste.clientes.service.PadroesLike;
 
-public interface ClienteRepository extends JpaRepository<Cliente, Long>{
+public interface ClienteRepository extends JpaRepository<Cliente, Long>, ClienteSliceRepository {
 
     boolean existsByCpf(String cpf);
+
+    @Query("select c.cpf from Cliente c where c.cpf in :cpfs")
+    List<String> findCpfsIn(@Param("cpfs") Collection<String> cpfs);
+
+    @Query("select c from Cliente c order by c.id")
+    List<Cliente> findOrderedById(Pageable pageable);
+
+    @Query("select c from Cliente c where c.id > :id order by c.id")
+    List<Cliente> findAfterId(@Param("id") Long id, Pageable pageable);
+
+    @Query("select c from Cliente c order by c.nome, c.id")
+    List<Cliente> findOrderedByNome(Pageable pageable);
+
+    @Query("select c from Cliente c where c.nome >= :nome and (c.nome > :nome or c.id > :id) order by c.nome, c.id")
+    List<Cliente> findAfterNome(@Param("nome") String nome, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Percorre os clientes que atendem ao filtro com os mesmos critérios da busca avançada
+     * (textos por trecho, sem diferenciar maiúsculas). {@code nome} e {@code cpf} são padrões
+     * {@code like} já escapados, montados com {@link PadroesLike#contendo}, para que {@code %},
+     * {@code _} e {@code \} sejam literais como na busca. Deve ser consumido dentro de uma transação
+     * e fechado ao final.
+     */
+    @QueryHints({
+            @QueryHint(name = org.hibernate.annotations.QueryHints.FETCH_SIZE, value = "500"),
+            @QueryHint(name = org.hibernate.annotations.QueryHints.READ_ONLY, value = "true"),
+            @QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "false")
+    })
+    @Query("select c from Cliente c where (:id is null or c.id = :id)"
+            + " and (:nome is null or lower(c.nome) like lower(:nome) escape '\\')"
+            + " and (:cpf is null or c.cpf like :cpf escape '\\')"
+            + " and (:dataCadastro is null or c.dataCadastro = :dataCadastro)"
+            + " order by c.id")
+    Stream<Cliente> streamByFilter(@Param("id") Long id, @Param("nome") String nome, @Param("cpf") String cpf,
+                                   @Param("dataCadastro") LocalDate dataCadastro);
+
+    /**
+     * Percorre todos os cpfs cadastrados, sem carregar as entidades. Deve ser consumido dentro de
+     * uma transação e fechado ao final.
+     */
+    @QueryHints({
+            @QueryHint(name = org.hibernate.annotations.QueryHints.FETCH_SIZE, value = "5000"),
+            @QueryHint(name = org.hibernate.annotations.QueryHints.READ_ONLY, value = "true"),
+            @QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "false")
+    })
+    @Query("select c.cpf from Cliente c")
+    Stream<String> streamAllCpfs();
+
+    /**
+     * Percorre id e nome de todos os clientes, para carregar os índices de nome em memória. Deve ser
+     * consumido dentro de uma transação e fechado ao final.
+     */
+    @QueryHints({
+            @QueryHint(name = org.hibernate.annotations.QueryHints.FETCH_SIZE, value = "5000"),
+            @QueryHint(name = org.hibernate.annotations.QueryHints.READ_ONLY, value = "true"),
+            @QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "false")
+    })
+    @Query("select c.id as id, c.nome as nome from Cliente c")
+    Stream<ClienteNome> streamAllNomes();
+
+    /**
+     * Busca por trecho do nome direto no banco, usada enquanto o índice de nomes não está carregado.
+     * Compara o nome em minúsculas e sem acentos com o padrão {@code like} recebido, que deve estar
+     * na mesma forma ({@link br.com.teste.clientes.service.Nomes#normalize}) e escapado com
+     * {@link PadroesLike#contendo}, para dar os mesmos resultados do índice.
+     */
+    @Query("select c from Cliente c where function('translate', lower(c.nome), '" + PadroesLike.ACENTOS
+            + "', '" + PadroesLike.SEM_ACENTOS + "') like :padrao escape '\\' order by length(c.nome), c.id")
+    List<Cliente> findByNomeContendo(@Param("padrao") String padrao, Pageable pageable);
+
+    /**
+     * Sugestões por prefixo do nome direto no banco, usadas enquanto o índice de prefixos não está
+     * carregado. Como no {@link #findByNomeContendo}, o nome é comparado em minúsculas e sem acentos
+     * com o padrão recebido, normalizado e escapado com {@link PadroesLike#comecandoCom}, e a ordem é
+     * a do índice.
+     */
+    @Query("select c.id as id, c.nome as nome from Cliente c where function('translate', lower(c.nome), '"
+            + PadroesLike.ACENTOS + "', '" + PadroesLike.SEM_ACENTOS + "') like :padrao escape '\\'"
+            + " order by function('translate', lower(c.nome), '" + PadroesLike.ACENTOS + "', '"
+            + PadroesLike.SEM_ACENTOS + "'), c.id")
+    List<ClienteNome> findNomesComecandoCom(@Param("padrao") String padrao, Pageable pageable);
+
+    /**
+     * Só a versão do cliente, para responder requisições condicionais sem carregar a entidade.
+     */
+    @Query("select c.versao from Cliente c where c.id = :id")
+    Optional<Long> findVersaoById(@Param("id") Long id);
+
+    /**
+     * Só o cpf gravado do cliente, para saber se uma alteração o troca.
+     */
+    @Query("select c.cpf from Cliente c where c.id = :id")
+    Optional<String> findCpfById(@Param("id") Long id);
+
+    /**
+     * Altera nome e cpf com um único update pelo id, sem carregar o cliente: parâmetros nulos
+     * mantêm o valor atual, e com {@code versao} a linha só é alterada se ela ainda for a atual. Não
+     * passa pelos callbacks da entidade, então o cpf deve chegar normalizado. Devolve o número de
+     * linhas alteradas.
+     */
+    @Modifying
+    @Query("update Cliente c set c.nome = coalesce(:nome, c.nome), c.cpf = coalesce(:cpf, c.cpf),"
+            + " c.versao = c.versao + 1 where c.id = :id and (:versao is null or c.versao = :versao)")
+    int patch(@Param("id") Long id, @Param("nome") String nome, @Param("cpf") String cpf,
+              @Param("versao") Long versao);
+
+    /**
+     * Exclui pelo id com um único delete, sem carregar o cliente como o {@code deleteById} herdado.
+     * Devolve o número de linhas excluídas.
+     */
+    @Modifying
+    @Query("delete from Cliente c where c.id = :id")
+    int deleteDirectlyById(@Param("id") Long id);
 }
@@ -0,0 +1,19 @@
+package br.com.teste.clientes.model.repository;
+
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import br.com.teste.clientes.model.entity.Cliente;
+
+/**
+ * Busca por exemplo paginada sem {@code count}, incorporada ao {@link ClienteRepository}.
+ */
+public interface ClienteSliceRepository {
+
+    /**
+     * Mesmos critérios e ordenação do {@code findAll(Example, Pageable)}, mas lê um cliente a mais
+     * que o tamanho da página para saber se existe a próxima, em vez de contar o total.
+     */
+    Slice<Cliente> findSlice(Example<Cliente> example, Pageable pageable);
+}
@@ -0,0 +1,31 @@
+package br.com.teste.clientes.service;
+
+import br.com.teste.clientes.model.entity.Cliente;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Resultado do cadastro de um item de {@link ClienteService#saveAll}: o cliente salvo
+ * ou a mensagem que explica por que ele foi rejeitado.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ClienteBatchResult {
+
+    private final Cliente cliente;
+
+    private final String error;
+
+    public static ClienteBatchResult created(Cliente cliente) {
+        return new ClienteBatchResult(cliente, null);
+    }
+
+    public static ClienteBatchResult rejected(Cliente cliente, String error) {
+        return new ClienteBatchResult(cliente, error);
+    }
+
+    public boolean isCreated() {
+        return error == null;
+    }
+}
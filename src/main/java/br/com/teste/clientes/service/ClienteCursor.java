@@ -0,0 +1,52 @@
+package br.com.teste.clientes.service;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição da paginação por cursor (keyset): a chave de ordenação e o id do último cliente
+ * entregue. É trafegada como um token opaco no parâmetro {@code after}.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class ClienteCursor {
+
+    public enum Sort { ID, NOME }
+
+    private final Sort sort;
+
+    private final Long id;
+
+    private final String nome;
+
+    public static ClienteCursor inicio(Sort sort) {
+        return new ClienteCursor(sort, null, null);
+    }
+
+    public boolean isInicio() {
+        return id == null;
+    }
+
+    public String encode() {
+        String valor = sort.name() + ":" + id + ":" + (sort == Sort.NOME ? nome : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException quando o token não foi gerado por {@link #encode()}
+     */
+    public static ClienteCursor decode(String token) {
+        String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        String[] partes = valor.split(":", 3);
+        if (partes.length != 3) {
+            throw new IllegalArgumentException(token);
+        }
+        Sort sort = Sort.valueOf(partes[0]);
+        return new ClienteCursor(sort, Long.valueOf(partes[1]), sort == Sort.NOME ? partes[2] : null);
+    }
+}
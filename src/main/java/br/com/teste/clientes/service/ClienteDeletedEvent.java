@@ -0,0 +1,15 @@
+package br.com.teste.clientes.service;
+
+import br.com.teste.clientes.model.entity.Cliente;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Publicado por {@link ClienteService#delete} depois da exclusão do cliente.
+ */
+@Getter
+@AllArgsConstructor
+public class ClienteDeletedEvent {
+
+    private final Cliente cliente;
+}
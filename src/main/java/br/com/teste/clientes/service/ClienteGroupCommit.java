@@ -0,0 +1,19 @@
+package br.com.teste.clientes.service;
+
+import br.com.teste.clientes.model.entity.Cliente;
+
+/**
+ * Cadastro de clientes avulsos agrupado em lotes: cadastros concorrentes esperam juntos e são
+ * gravados com uma única consulta de cpfs, um insert em lote e um commit, dividindo o custo do
+ * commit entre eles. Cada chamador recebe o próprio resultado.
+ */
+public interface ClienteGroupCommit {
+
+    /**
+     * Cadastra o cliente no próximo lote e espera a gravação.
+     *
+     * @throws br.com.teste.clientes.exception.BusinessException se o cpf já estiver cadastrado,
+     *         na base ou no mesmo lote
+     */
+    Cliente save(Cliente cliente);
+}
@@ -0,0 +1,100 @@
+package br.com.teste.clientes.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estado de uma importação de clientes em andamento ou concluída. É atualizado pela thread da
+ * importação e lido pelas consultas de progresso, por isso os contadores são atômicos e a lista
+ * de erros, limitada a {@code maxErrors} itens, é sincronizada.
+ */
+public class ClienteImport {
+
+    public enum Status { RUNNING, COMPLETED, FAILED }
+
+    @Getter
+    @AllArgsConstructor
+    public static class RowError {
+
+        private final long linha;
+
+        private final List<String> errors;
+    }
+
+    @Getter
+    private final String id = UUID.randomUUID().toString();
+
+    @Getter
+    private final LocalDateTime inicio = LocalDateTime.now();
+
+    @Getter
+    private volatile LocalDateTime fim;
+
+    @Getter
+    private volatile Status status = Status.RUNNING;
+
+    private final AtomicLong linhasLidas = new AtomicLong();
+
+    private final AtomicLong importados = new AtomicLong();
+
+    private final AtomicLong rejeitados = new AtomicLong();
+
+    private final List<RowError> errors = new ArrayList<>();
+
+    private final int maxErrors;
+
+    public ClienteImport(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    public long getLinhasLidas() {
+        return linhasLidas.get();
+    }
+
+    public long getImportados() {
+        return importados.get();
+    }
+
+    public long getRejeitados() {
+        return rejeitados.get();
+    }
+
+    public List<RowError> getErrors() {
+        synchronized (errors) {
+            return Collections.unmodifiableList(new ArrayList<>(errors));
+        }
+    }
+
+    public boolean isFinished() {
+        return status != Status.RUNNING;
+    }
+
+    public void linhaLida() {
+        linhasLidas.incrementAndGet();
+    }
+
+    public void importado() {
+        importados.incrementAndGet();
+    }
+
+    public void rejeitado(long linha, List<String> mensagens) {
+        rejeitados.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxErrors) {
+                errors.add(new RowError(linha, mensagens));
+            }
+        }
+    }
+
+    public void concluir(Status status) {
+        this.fim = LocalDateTime.now();
+        this.status = status;
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.teste.clientes.service;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+public interface ClienteImportService {
+
+    /**
+     * Inicia, em segundo plano, a importação do arquivo CSV {@code nome;cpf}. O arquivo passa a
+     * pertencer à importação e é apagado quando ela termina.
+     */
+    ClienteImport start(Path arquivo);
+
+    Optional<ClienteImport> get(String id);
+}
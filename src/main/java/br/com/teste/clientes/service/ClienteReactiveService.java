@@ -0,0 +1,23 @@
+package br.com.teste.clientes.service;
+
+import br.com.teste.clientes.model.entity.Cliente;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Mono;
+
+/**
+ * Operações de {@link ClienteService} usadas pela API do perfil {@code reactive}, com as mesmas
+ * regras e sem bloquear a thread de quem chama.
+ */
+public interface ClienteReactiveService {
+
+    Mono<Cliente> save(Cliente cliente);
+
+    Mono<Cliente> getById(Long id);
+
+    Mono<Void> delete(Cliente cliente);
+
+    Mono<Cliente> update(Cliente cliente);
+
+    Mono<Page<Cliente>> find(Cliente filter, Pageable pageRequest);
+}
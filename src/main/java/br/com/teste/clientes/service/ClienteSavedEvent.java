@@ -0,0 +1,15 @@
+package br.com.teste.clientes.service;
+
+import br.com.teste.clientes.model.entity.Cliente;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Publicado por {@link ClienteService} depois de cadastrar ou alterar um cliente.
+ */
+@Getter
+@AllArgsConstructor
+public class ClienteSavedEvent {
+
+    private final Cliente cliente;
+}
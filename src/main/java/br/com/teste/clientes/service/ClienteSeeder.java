@@ -0,0 +1,16 @@
+package br.com.teste.clientes.service;
+
+/**
+ * Carga de clientes sintéticos ({@link SyntheticClientes}) para testes de desempenho.
+ */
+public interface ClienteSeeder {
+
+    /**
+     * Cadastra {@code quantidade} clientes com ids de 1 a {@code quantidade}, gerados a partir da
+     * {@code semente}, e avança a sequence de ids além deles. Só carrega numa tabela vazia, para
+     * não misturar os clientes gerados com cpfs já cadastrados.
+     *
+     * @return clientes cadastrados; 0 se a tabela já tinha clientes
+     */
+    long seed(long quantidade, long semente);
+}
@@ -1,20 +1,42 @@
 package br.com.teste.clientes.service;
 
 import br.com.teste.clientes.model.entity.Cliente;
+import br.com.teste.clientes.model.repository.ClienteNome;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ClienteService {
 
     Cliente save(Cliente cliente);
 
+    List<ClienteBatchResult> saveAll(List<Cliente> clientes);
+
     Optional<Cliente> getById(Long id);
 
+    Optional<Long> getVersao(Long id);
+
     void delete(Cliente cliente);
 
+    boolean deleteById(Long id);
+
     Cliente update(Cliente cliente);
 
+    boolean patch(Cliente cliente);
+
     Page<Cliente> find(Cliente filter, Pageable pageRequest);
+
+    Slice<Cliente> findSlice(Cliente filter, Pageable pageRequest);
+
+    List<Cliente> searchByNome(String termo, int limite);
+
+    List<ClienteNome> suggest(String prefixo, int limite);
+
+    Slice<Cliente> findAfter(ClienteCursor cursor, int size);
+
+    void export(Cliente filter, Consumer<Cliente> consumer);
 }
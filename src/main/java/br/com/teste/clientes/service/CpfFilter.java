@@ -0,0 +1,19 @@
+package br.com.teste.clientes.service;
+
+import java.util.Map;
+
+/**
+ * Visão compacta, em memória, dos cpfs cadastrados. Responde "talvez cadastrado" ou "certamente
+ * não cadastrado", permitindo evitar consultas ao banco para cpfs novos. Pode dar falsos
+ * positivos, nunca falsos negativos; enquanto não estiver carregado responde sempre "talvez".
+ */
+public interface CpfFilter {
+
+    boolean mightContain(String cpf);
+
+    void add(String cpf);
+
+    void remove(String cpf);
+
+    Map<String, Object> estatisticas();
+}
@@ -0,0 +1,19 @@
+package br.com.teste.clientes.service;
+
+import br.com.teste.clientes.model.repository.ClienteNome;
+
+import java.util.List;
+
+/**
+ * Índice em memória dos nomes para sugestões por prefixo, sem consultar o banco.
+ */
+public interface NomePrefixIndex {
+
+    boolean isPronto();
+
+    /**
+     * Id e nome dos clientes cujo nome começa pelo prefixo, ignorando maiúsculas e acentos, em
+     * ordem alfabética.
+     */
+    List<ClienteNome> suggest(String prefixo, int limite);
+}
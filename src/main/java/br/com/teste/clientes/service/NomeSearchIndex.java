@@ -0,0 +1,22 @@
+package br.com.teste.clientes.service;
+
+import java.util.List;
+
+/**
+ * Índice em memória para a busca por trecho do nome, sem varrer a tabela.
+ */
+public interface NomeSearchIndex {
+
+    /**
+     * Tamanho mínimo do termo, já normalizado ({@link Nomes#normalize}): um trigrama.
+     */
+    int TAMANHO_MINIMO_TERMO = 3;
+
+    boolean isPronto();
+
+    /**
+     * Ids dos clientes cujo nome contém o termo, ignorando maiúsculas e acentos, do mais
+     * relevante para o menos.
+     */
+    List<Long> search(String termo, int limite);
+}
@@ -0,0 +1,43 @@
+package br.com.teste.clientes.service;
+
+import java.text.Normalizer;
+
+/**
+ * Forma dos nomes usada pelos índices em memória e pelas buscas por nome: minúsculas, sem
+ * acentos e com os espaços colapsados, para que "José  da Silva" e "jose da silva" sejam o mesmo
+ * texto.
+ */
+public final class Nomes {
+
+    private Nomes() {
+    }
+
+    public static String normalize(String nome) {
+        if (nome == null) {
+            return "";
+        }
+        String decomposto = Normalizer.normalize(nome, Normalizer.Form.NFD);
+        StringBuilder normalizado = new StringBuilder(decomposto.length());
+        boolean espaco = true;
+        for (int i = 0; i < decomposto.length(); i++) {
+            char c = decomposto.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                if (!espaco) {
+                    normalizado.append(' ');
+                    espaco = true;
+                }
+                continue;
+            }
+            normalizado.append(Character.toLowerCase(c));
+            espaco = false;
+        }
+        int fim = normalizado.length();
+        if (fim > 0 && normalizado.charAt(fim - 1) == ' ') {
+            normalizado.setLength(fim - 1);
+        }
+        return normalizado.toString();
+    }
+}
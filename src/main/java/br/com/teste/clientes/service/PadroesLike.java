@@ -0,0 +1,41 @@
+package br.com.teste.clientes.service;
+
+/**
+ * Padrões {@code like} montados a partir do texto da requisição, com {@code \}, {@code %} e
+ * {@code _} escapados por {@code \}, para que sejam procurados literalmente; as consultas que os
+ * usam devem declarar {@code escape '\'}.
+ */
+public final class PadroesLike {
+
+    /**
+     * Letras acentuadas minúsculas do português e, na mesma posição, a letra sem acento, para
+     * comparar nomes no banco como o {@link Nomes#normalize}.
+     */
+    public static final String ACENTOS = "áàâãäåéèêëíìîïóòôõöúùûüçñý";
+
+    public static final String SEM_ACENTOS = "aaaaaaeeeeiiiiooooouuuucny";
+
+    private PadroesLike() {
+    }
+
+    /**
+     * Padrão para o trecho informado em qualquer posição.
+     */
+    public static String contendo(String trecho) {
+        return "%" + escapar(trecho) + "%";
+    }
+
+    /**
+     * Padrão para os textos que começam com o prefixo informado.
+     */
+    public static String comecandoCom(String prefixo) {
+        return escapar(prefixo) + "%";
+    }
+
+    private static String escapar(String texto) {
+        return texto
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
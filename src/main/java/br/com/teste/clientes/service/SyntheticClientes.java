@@ -0,0 +1,101 @@
+package br.com.teste.clientes.service;
+
+import br.com.teste.clientes.validation.Cpf;
+
+import java.time.LocalDate;
+
+/**
+ * Clientes sintéticos para testes de desempenho: o cliente de índice {@code i} tem sempre o
+ * mesmo nome, cpf e data de cadastro para a mesma semente, e é calculado sem estado, então
+ * qualquer faixa de índices pode ser gerada em paralelo, sem memória proporcional à quantidade.
+ *
+ * <p>Os cpfs são válidos e distintos para índices distintos, até {@link #LIMITE}: a base de nove
+ * dígitos vem de uma permutação afim dos 10^9 valores, {@code (a * x + b) mod 10^9} com {@code a}
+ * e {@code b} derivados da semente, aplicada sobre as bases que não têm todos os dígitos iguais.
+ * Quando a permutação cai numa dessas dez bases ela é aplicada de novo até sair delas, o que
+ * mantém a correspondência um para um.
+ */
+public final class SyntheticClientes {
+
+    /**
+     * Quantidade de cpfs distintos: todas as bases de nove dígitos menos as dez repetidas.
+     */
+    public static final long LIMITE = 999_999_990L;
+
+    private static final long BASES = 1_000_000_000L;
+
+    private static final long REPETIDA = 111_111_111L;
+
+    private static final String[] NOMES = {"Ana", "Maria", "Beatriz", "Juliana", "Fernanda", "Camila", "Larissa",
+            "Patrícia", "Letícia", "Gabriela", "João", "José", "Pedro", "Lucas", "Gabriel", "Rafael", "Carlos",
+            "Marcos", "Thiago", "André"};
+
+    private static final String[] SOBRENOMES = {"Silva", "Souza", "Oliveira", "Santos", "Costa", "Pereira",
+            "Almeida", "Ferreira", "Rodrigues", "Lima", "Gomes", "Ribeiro", "Carvalho", "Araújo", "Martins", "Rocha"};
+
+    private static final LocalDate PRIMEIRO_CADASTRO = LocalDate.of(2015, 1, 1);
+
+    private static final int DIAS_CADASTRO = 3650;
+
+    private final long semente;
+
+    private final long a;
+
+    private final long b;
+
+    public SyntheticClientes(long semente) {
+        this.semente = semente;
+        long multiplicador = 1 + 2 * Long.remainderUnsigned(mix(semente), 499_999_999L);
+        this.a = multiplicador % 5 == 0 ? multiplicador + 2 : multiplicador;
+        this.b = Long.remainderUnsigned(mix(semente + 1), BASES);
+    }
+
+    /**
+     * Sobrenomes usados nos nomes, para buscas que devem encontrar clientes.
+     */
+    public static String[] sobrenomes() {
+        return SOBRENOMES.clone();
+    }
+
+    /**
+     * Cpf canônico, de 11 dígitos, do cliente {@code indice}, entre 0 e {@link #LIMITE} - 1.
+     */
+    public String cpf(long indice) {
+        if (indice < 0 || indice >= LIMITE) {
+            throw new IllegalArgumentException("Índice de cliente sintético fora de 0 a " + (LIMITE - 1) + ": " + indice);
+        }
+        long base = (indice / (REPETIDA - 1)) * REPETIDA + 1 + indice % (REPETIDA - 1);
+        do {
+            base = (a * base + b) % BASES;
+        } while (base % REPETIDA == 0);
+        return Cpf.fromBase((int) base);
+    }
+
+    /**
+     * Nome do cliente {@code indice}, com um prenome e dois sobrenomes.
+     */
+    public String nome(long indice) {
+        long hash = mix(semente ^ mix(indice));
+        return NOMES[(int) Long.remainderUnsigned(hash, NOMES.length)] + ' '
+                + SOBRENOMES[(int) ((hash >>> 16) % SOBRENOMES.length)] + ' '
+                + SOBRENOMES[(int) ((hash >>> 32) % SOBRENOMES.length)];
+    }
+
+    /**
+     * Data de cadastro do cliente {@code indice}, nos dez anos a partir de 2015.
+     */
+    public LocalDate dataCadastro(long indice) {
+        long hash = mix(~semente ^ mix(indice));
+        return PRIMEIRO_CADASTRO.plusDays(Long.remainderUnsigned(hash, DIAS_CADASTRO));
+    }
+
+    /**
+     * Finalizador do SplitMix64: espalha os bits de valores próximos, como índices consecutivos.
+     */
+    private static long mix(long valor) {
+        long z = valor + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
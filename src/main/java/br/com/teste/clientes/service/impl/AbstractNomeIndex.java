@@ -0,0 +1,115 @@
+package br.com.teste.clientes.service.impl;
+
+import br.com.teste.clientes.model.entity.Cliente;
+import br.com.teste.clientes.model.repository.ClienteNome;
+import br.com.teste.clientes.model.repository.ClienteRepository;
+import br.com.teste.clientes.service.ClienteDeletedEvent;
+import br.com.teste.clientes.service.ClienteSavedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Ciclo de vida comum aos índices de nomes em memória: carga a partir de id e nome de todos os
+ * clientes quando a aplicação termina de subir, e manutenção pelos eventos de cadastro, alteração
+ * e exclusão depois do commit. Alterações que chegam durante a carga ficam pendentes e são
+ * aplicadas ao final, na ordem em que chegaram. A fila de pendentes é protegida por um
+ * {@link ReentrantLock} e não por {@code synchronized}: a alteração pode esperar pela trava de
+ * escrita do índice, e essa espera dentro de um monitor prenderia a thread portadora de uma
+ * virtual thread.
+ *
+ * <p>A classe é pública porque, numa superclasse de pacote, o compilador gera métodos ponte nas
+ * subclasses e o Spring deixa de enxergar os {@code @EventListener} herdados.
+ */
+@Slf4j
+public abstract class AbstractNomeIndex {
+
+    private final ClienteRepository repository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final List<Runnable> pendentes = new ArrayList<>();
+
+    private final Lock pendentesLock = new ReentrantLock();
+
+    private volatile boolean pronto;
+
+    AbstractNomeIndex(ClienteRepository repository, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        long inicio = System.currentTimeMillis();
+        transactionTemplate.execute(status -> {
+            try (Stream<ClienteNome> nomes = repository.streamAllNomes()) {
+                indexar(nomes);
+            }
+            return null;
+        });
+        pendentesLock.lock();
+        try {
+            pendentes.forEach(Runnable::run);
+            pendentes.clear();
+            pronto = true;
+        } finally {
+            pendentesLock.unlock();
+        }
+        log.info("{} carregado com {} em {} ms", getClass().getSimpleName(), resumo(),
+                System.currentTimeMillis() - inicio);
+    }
+
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClienteSaved(ClienteSavedEvent event) {
+        Cliente cliente = event.getCliente();
+        aplicar(() -> put(cliente.getId(), cliente.getNome()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClienteDeleted(ClienteDeletedEvent event) {
+        Long id = event.getCliente().getId();
+        aplicar(() -> remove(id));
+    }
+
+    private void aplicar(Runnable alteracao) {
+        pendentesLock.lock();
+        try {
+            if (pronto) {
+                alteracao.run();
+            } else {
+                pendentes.add(alteracao);
+            }
+        } finally {
+            pendentesLock.unlock();
+        }
+    }
+
+    /**
+     * Inclui no índice os nomes lidos do banco, dentro da transação de leitura da carga.
+     */
+    abstract void indexar(Stream<ClienteNome> nomes);
+
+    abstract void put(long id, String nome);
+
+    abstract void remove(long id);
+
+    /**
+     * Tamanho do índice para o log da carga.
+     */
+    abstract String resumo();
+}
@@ -0,0 +1,193 @@
+package br.com.teste.clientes.service.impl;
+
+import br.com.teste.clientes.config.InternacionalizacaoConfig;
+import br.com.teste.clientes.exception.BusinessException;
+import br.com.teste.clientes.model.entity.Cliente;
+import br.com.teste.clientes.service.ClienteBatchResult;
+import br.com.teste.clientes.service.ClienteGroupCommit;
+import br.com.teste.clientes.service.ClienteService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ClienteGroupCommit} com uma thread de gravação: ela pega o primeiro cadastro da fila e
+ * junta os que chegarem em até {@code clientes.group-commit.max-wait}, até
+ * {@code clientes.group-commit.max-batch}, e grava o lote com {@link ClienteService#saveAll}, que
+ * já consulta os cpfs do bloco com um único {@code IN}, insere em lote JDBC e faz um só commit.
+ *
+ * <p>Se o lote inteiro falhar, por exemplo por um cpf cadastrado por fora entre a consulta e o
+ * insert, cada cliente é gravado de novo sozinho, para que só quem causou o erro o receba. A
+ * distribuição {@code clientes.group-commit.batch.size} mostra o tamanho dos lotes. Ligue com
+ * {@code clientes.group-commit.enabled=true}.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "clientes.group-commit", name = "enabled", havingValue = "true")
+public class ClienteGroupCommitImpl implements ClienteGroupCommit {
+
+    private final ClienteService clienteService;
+
+    private final BlockingQueue<Pendente> fila;
+
+    private final int maxBatch;
+
+    private final long maxWaitNanos;
+
+    private final DistributionSummary tamanhoLote;
+
+    @Autowired
+    private InternacionalizacaoConfig messages;
+
+    private volatile boolean ativo;
+
+    private Thread thread;
+
+    public ClienteGroupCommitImpl(@Lazy ClienteService clienteService,
+                                  @Value("${clientes.group-commit.max-batch:100}") int maxBatch,
+                                  @Value("${clientes.group-commit.max-wait:2ms}") Duration maxWait,
+                                  MeterRegistry registry) {
+        this.clienteService = clienteService;
+        this.maxBatch = maxBatch;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.fila = new LinkedBlockingQueue<>(maxBatch * 16);
+        this.tamanhoLote = DistributionSummary.builder("clientes.group-commit.batch.size")
+                .description("Cadastros gravados em cada commit agrupado")
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        ativo = true;
+        thread = new Thread(this::run, "clientes-group-commit");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        ativo = false;
+        thread.interrupt();
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+        List<Pendente> restantes = new ArrayList<>();
+        fila.drainTo(restantes);
+        restantes.forEach(pendente -> pendente.resultado.completeExceptionally(
+                new IllegalStateException("Aplicação encerrando")));
+    }
+
+    @Override
+    public Cliente save(Cliente cliente) {
+        Pendente pendente = new Pendente(cliente);
+        try {
+            fila.put(pendente);
+            return pendente.resultado.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void run() {
+        List<Pendente> lote = new ArrayList<>(maxBatch);
+        while (ativo) {
+            try {
+                lote.add(fila.take());
+                long limite = System.nanoTime() + maxWaitNanos;
+                while (lote.size() < maxBatch) {
+                    Pendente proximo = fila.poll(Math.max(0, limite - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    if (proximo == null) {
+                        break;
+                    }
+                    lote.add(proximo);
+                }
+                gravar(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Falha inesperada no commit agrupado", e);
+                lote.forEach(pendente -> pendente.resultado.completeExceptionally(e));
+            } finally {
+                lote.forEach(pendente -> pendente.resultado.completeExceptionally(
+                        new IllegalStateException("Cadastro não concluído")));
+                lote.clear();
+            }
+        }
+    }
+
+    void gravar(List<Pendente> lote) {
+        tamanhoLote.record(lote.size());
+        List<Cliente> clientes = new ArrayList<>(lote.size());
+        lote.forEach(pendente -> clientes.add(pendente.cliente));
+        try {
+            List<ClienteBatchResult> resultados = clienteService.saveAll(clientes);
+            for (int i = 0; i < lote.size(); i++) {
+                concluir(lote.get(i), resultados.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.debug("Lote de {} cadastros falhou; gravando um a um", lote.size(), e);
+            lote.forEach(this::gravarSozinho);
+        }
+    }
+
+    /**
+     * Grava o cliente numa cópia sem id e sem versão: o persist do lote que falhou já os preencheu
+     * no original, e com eles o repositório faria um merge, gravando outro id que não o devolvido.
+     */
+    private void gravarSozinho(Pendente pendente) {
+        Cliente copia = Cliente.builder()
+                .nome(pendente.cliente.getNome())
+                .cpf(pendente.cliente.getCpf())
+                .build();
+        try {
+            concluir(pendente, clienteService.saveAll(Collections.singletonList(copia)).get(0));
+        } catch (DataIntegrityViolationException e) {
+            pendente.resultado.completeExceptionally(ClienteServiceImpl.isCpfDuplicado(e)
+                    ? new BusinessException(messages.getMessage("campo.cpf.ja.cadastrado"), e)
+                    : e);
+        } catch (RuntimeException e) {
+            pendente.resultado.completeExceptionally(e);
+        }
+    }
+
+    private static void concluir(Pendente pendente, ClienteBatchResult resultado) {
+        if (resultado.isCreated()) {
+            pendente.resultado.complete(resultado.getCliente());
+        } else {
+            pendente.resultado.completeExceptionally(new BusinessException(resultado.getError()));
+        }
+    }
+
+    static final class Pendente {
+
+        final Cliente cliente;
+
+        final CompletableFuture<Cliente> resultado = new CompletableFuture<>();
+
+        Pendente(Cliente cliente) {
+            this.cliente = cliente;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package br.com.teste.clientes.service.impl;
+
+import br.com.teste.clientes.config.InternacionalizacaoConfig;
+import br.com.teste.clientes.model.entity.Cliente;
+import br.com.teste.clientes.service.ClienteBatchResult;
+import br.com.teste.clientes.service.ClienteImport;
+import br.com.teste.clientes.service.ClienteImportService;
+import br.com.teste.clientes.service.ClienteService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Importa arquivos CSV {@code nome;cpf} lendo uma linha por vez e gravando blocos de
+ * {@code clientes.import.chunk-size} clientes com {@link ClienteService#saveAll}, cada bloco em
+ * sua própria transação. A leitura só avança depois que o bloco anterior foi gravado, o que limita
+ * a memória a um bloco por importação; o número de importações simultâneas é limitado por
+ * {@code clientes.import.max-concurrent} e novas importações são recusadas quando todas estão ocupadas.
+ */
+@Slf4j
+@Service
+public class ClienteImportServiceImpl implements ClienteImportService {
+
+    static final String CABECALHO = "nome;cpf";
+
+    private ClienteService clienteService;
+
+    private Validator validator;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Map<String, ClienteImport> imports = new ConcurrentHashMap<>();
+
+    public ClienteImportServiceImpl(ClienteService clienteService, Validator validator,
+                                    @Value("${clientes.import.max-concurrent:2}") int maxConcurrent) {
+        this.clienteService = clienteService;
+        this.validator = validator;
+        this.executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), new CustomizableThreadFactory("clientes-import-"));
+    }
+
+    @Autowired
+    private InternacionalizacaoConfig messages;
+
+    @Value("${clientes.import.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${clientes.import.max-errors:1000}")
+    private int maxErrors = 1000;
+
+    @Value("${clientes.import.retention:1h}")
+    private Duration retention = Duration.ofHours(1);
+
+    @Override
+    public ClienteImport start(Path arquivo) {
+        removerConcluidas();
+        ClienteImport importacao = new ClienteImport(maxErrors);
+        imports.put(importacao.getId(), importacao);
+        try {
+            executor.execute(() -> run(importacao, arquivo));
+        } catch (RejectedExecutionException e) {
+            imports.remove(importacao.getId());
+            apagar(arquivo);
+            throw e;
+        }
+        log.info("Importação {} iniciada", importacao.getId());
+        return importacao;
+    }
+
+    @Override
+    public Optional<ClienteImport> get(String id) {
+        return Optional.ofNullable(imports.get(id));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    void run(ClienteImport importacao, Path arquivo) {
+        try (BufferedReader reader = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            List<Cliente> bloco = new ArrayList<>(chunkSize);
+            List<Long> linhas = new ArrayList<>(chunkSize);
+            long numero = 0;
+            String linha;
+            while ((linha = reader.readLine()) != null) {
+                numero++;
+                if (numero == 1 && !linha.isEmpty() && linha.charAt(0) == '\uFEFF') {
+                    linha = linha.substring(1);
+                }
+                if (linha.trim().isEmpty() || (numero == 1 && linha.trim().equalsIgnoreCase(CABECALHO))) {
+                    continue;
+                }
+                importacao.linhaLida();
+                Cliente cliente = parse(importacao, numero, linha);
+                if (cliente != null) {
+                    bloco.add(cliente);
+                    linhas.add(numero);
+                }
+                if (bloco.size() == chunkSize) {
+                    gravar(importacao, bloco, linhas);
+                }
+            }
+            gravar(importacao, bloco, linhas);
+            importacao.concluir(ClienteImport.Status.COMPLETED);
+            log.info("Importação {} concluída: {} importados, {} rejeitados", importacao.getId(),
+                    importacao.getImportados(), importacao.getRejeitados());
+        } catch (IOException | RuntimeException e) {
+            log.error("Falha na importação {}", importacao.getId(), e);
+            importacao.concluir(ClienteImport.Status.FAILED);
+        } finally {
+            apagar(arquivo);
+        }
+    }
+
+    private Cliente parse(ClienteImport importacao, long numero, String linha) {
+        String[] campos = linha.split(";", -1);
+        if (campos.length != 2) {
+            importacao.rejeitado(numero, Collections.singletonList(messages.getMessage("importacao.linha.invalida")));
+            return null;
+        }
+        Cliente cliente = Cliente.builder().nome(emptyToNull(campos[0])).cpf(emptyToNull(campos[1])).build();
+        Set<ConstraintViolation<Cliente>> violations = validator.validate(cliente);
+        if (!violations.isEmpty()) {
+            importacao.rejeitado(numero, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .collect(Collectors.toList()));
+            return null;
+        }
+        return cliente;
+    }
+
+    private void gravar(ClienteImport importacao, List<Cliente> bloco, List<Long> linhas) {
+        if (bloco.isEmpty()) {
+            return;
+        }
+        List<ClienteBatchResult> results = clienteService.saveAll(bloco);
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i).isCreated()) {
+                importacao.importado();
+            } else {
+                importacao.rejeitado(linhas.get(i), Collections.singletonList(results.get(i).getError()));
+            }
+        }
+        bloco.clear();
+        linhas.clear();
+    }
+
+    private void removerConcluidas() {
+        LocalDateTime limite = LocalDateTime.now().minus(retention);
+        imports.values().removeIf(importacao -> importacao.isFinished() && importacao.getFim().isBefore(limite));
+    }
+
+    private static String emptyToNull(String valor) {
+        String trimmed = valor.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static void apagar(Path arquivo) {
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException e) {
+            log.warn("Não foi possível apagar o arquivo temporário {}", arquivo, e);
+        }
+    }
+}
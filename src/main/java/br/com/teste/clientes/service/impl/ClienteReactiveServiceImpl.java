@@ -0,0 +1,152 @@
+package br.com.teste.clientes.service.impl;
+
+import br.com.teste.clientes.config.InternacionalizacaoConfig;
+import br.com.teste.clientes.exception.BusinessException;
+import br.com.teste.clientes.model.entity.Cliente;
+import br.com.teste.clientes.model.repository.ClienteReactiveRepository;
+import br.com.teste.clientes.service.ClienteDeletedEvent;
+import br.com.teste.clientes.service.ClienteReactiveService;
+import br.com.teste.clientes.service.ClienteSavedEvent;
+import br.com.teste.clientes.service.CpfFilter;
+import br.com.teste.clientes.validation.Cpf;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Slf4j
+@Service
+@Profile("reactive")
+public class ClienteReactiveServiceImpl implements ClienteReactiveService {
+
+    private ClienteReactiveRepository repository;
+
+    public ClienteReactiveServiceImpl(ClienteReactiveRepository repository) {
+        this.repository = repository;
+    }
+
+    @Autowired
+    private InternacionalizacaoConfig messages;
+
+    @Autowired(required = false)
+    private CpfFilter cpfFilter;
+
+    @Autowired
+    private ApplicationEventPublisher publisher = event -> { };
+
+    /**
+     * Mesmas regras de {@link ClienteServiceImpl#save}: a unicidade do cpf é garantida pela
+     * constraint {@link Cliente#UK_CPF}, e com o {@link CpfFilter} ligado o banco só é consultado
+     * antes do insert quando o filtro diz que o cpf talvez já exista.
+     */
+    @Override
+    public Mono<Cliente> save(Cliente cliente) {
+        cliente.setCpf(Cpf.normalize(cliente.getCpf()));
+        cliente.setDataCadastro(LocalDate.now());
+        Mono<Boolean> cadastrado = cpfFilter != null && cpfFilter.mightContain(cliente.getCpf())
+                ? repository.existsByCpf(cliente.getCpf())
+                : Mono.just(false);
+        return cadastrado.flatMap(existe -> {
+            if (existe) {
+                return Mono.error(new BusinessException(messages.getMessage("campo.cpf.ja.cadastrado")));
+            }
+            if (cpfFilter != null) {
+                cpfFilter.add(cliente.getCpf());
+            }
+            return repository.insert(cliente);
+        }).onErrorMap(ClienteReactiveServiceImpl::isCpfDuplicado,
+                e -> new BusinessException(messages.getMessage("campo.cpf.ja.cadastrado"), e))
+                .doOnNext(salvo -> publisher.publishEvent(new ClienteSavedEvent(salvo)));
+    }
+
+    private static boolean isCpfDuplicado(Throwable e) {
+        return e instanceof DataIntegrityViolationException && e.getMessage() != null
+                && e.getMessage().toLowerCase().contains(Cliente.UK_CPF);
+    }
+
+    @Override
+    public Mono<Cliente> getById(Long id) {
+        return repository.findById(id);
+    }
+
+    /**
+     * Só publica o {@link ClienteDeletedEvent} quando uma linha foi excluída, para que exclusões
+     * repetidas do mesmo cliente não retirem o cpf do filtro mais de uma vez.
+     */
+    @Override
+    public Mono<Void> delete(Cliente cliente) {
+        String mensagem = messages.getMessage("cliente.id.nulo");
+        if (cliente == null || cliente.getId() == null) {
+            log.warn(mensagem);
+            return Mono.error(new IllegalArgumentException(mensagem));
+        }
+        return repository.deleteById(cliente.getId())
+                .filter(linhas -> linhas > 0)
+                .doOnNext(linhas -> publisher.publishEvent(new ClienteDeletedEvent(cliente)))
+                .then();
+    }
+
+    /**
+     * Altera o cliente; vazio quando ele não existe mais e, com a versão preenchida, erro
+     * {@link OptimisticLockingFailureException} quando ele existe mas foi alterado por outra
+     * requisição, como o {@code @Version} do Hibernate na API bloqueante. Como no
+     * {@link ClienteServiceImpl#update}, o cpf só entra no {@link CpfFilter} quando muda, e o
+     * anterior sai dele depois da gravação; se nada for gravado, o novo cpf sai do filtro.
+     */
+    @Override
+    public Mono<Cliente> update(Cliente cliente) {
+        String mensagem = messages.getMessage("cliente.id.nulo");
+        if (cliente == null || cliente.getId() == null) {
+            log.warn(mensagem);
+            return Mono.error(new IllegalArgumentException(mensagem));
+        }
+        cliente.setCpf(Cpf.normalize(cliente.getCpf()));
+        if (cpfFilter == null) {
+            return gravar(cliente);
+        }
+        String cpf = cliente.getCpf();
+        return repository.findCpfById(cliente.getId())
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(anterior -> {
+                    if (cpf == null || anterior.filter(cpf::equals).isPresent()) {
+                        return gravar(cliente);
+                    }
+                    cpfFilter.add(cpf);
+                    return gravar(cliente)
+                            .doOnSuccess(salvo -> {
+                                if (salvo == null) {
+                                    cpfFilter.remove(cpf);
+                                } else {
+                                    anterior.ifPresent(cpfFilter::remove);
+                                }
+                            })
+                            .doOnError(e -> cpfFilter.remove(cpf));
+                });
+    }
+
+    private Mono<Cliente> gravar(Cliente cliente) {
+        return repository.update(cliente)
+                .switchIfEmpty(Mono.defer(() -> cliente.getVersao() == null
+                        ? Mono.<Cliente>empty()
+                        : repository.findCpfById(cliente.getId()).<Cliente>flatMap(cpf -> Mono.error(
+                                new OptimisticLockingFailureException(messages.getMessage("cliente.alterado"))))))
+                .onErrorMap(ClienteReactiveServiceImpl::isCpfDuplicado,
+                        e -> new BusinessException(messages.getMessage("campo.cpf.ja.cadastrado"), e))
+                .doOnNext(salvo -> publisher.publishEvent(new ClienteSavedEvent(salvo)));
+    }
+
+    @Override
+    public Mono<Page<Cliente>> find(Cliente filter, Pageable pageRequest) {
+        return repository.find(filter, pageRequest);
+    }
+}
@@ -0,0 +1,234 @@
+package br.com.teste.clientes.service.impl;
+
+import br.com.teste.clientes.service.ClienteSeeder;
+import br.com.teste.clientes.service.SyntheticClientes;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@link ClienteSeeder} em JDBC puro sobre o H2, fora do JPA: {@code clientes.seed.threads}
+ * threads (0 usa uma por processador) pegam blocos de {@value #BLOCO} índices em sequência, cada
+ * uma com a sua conexão, e gravam com inserts de {@value #LINHAS_POR_INSERT} linhas por comando,
+ * com commit a cada {@value #LINHAS_POR_COMMIT}. Cada linha é gerada na hora e descartada depois do
+ * insert, então a memória usada não depende da quantidade.
+ *
+ * <p>Os índices da tabela, menos a chave primária, são removidos durante a carga e recriados no
+ * fim a partir das definições do {@code INFORMATION_SCHEMA}: com cpfs espalhados, manter o índice
+ * único a cada insert deixa a carga várias vezes mais lenta que construí-lo de uma vez no final.
+ */
+@Slf4j
+@Service
+public class ClienteSeederImpl implements ClienteSeeder {
+
+    static final int BLOCO = 50_000;
+
+    static final int LINHAS_POR_INSERT = 500;
+
+    static final int LINHAS_POR_COMMIT = 5_000;
+
+    private static final String INSERT = "insert into cliente (id, nome, cpf, data_cadastro, versao) values ";
+
+    private final DataSource dataSource;
+
+    private final int threads;
+
+    public ClienteSeederImpl(DataSource dataSource, @Value("${clientes.seed.threads:0}") int threads) {
+        this.dataSource = dataSource;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    public long seed(long quantidade, long semente) {
+        if (quantidade <= 0 || quantidade > SyntheticClientes.LIMITE) {
+            throw new IllegalArgumentException("Quantidade de clientes sintéticos fora de 1 a "
+                    + SyntheticClientes.LIMITE + ": " + quantidade);
+        }
+        if (existemClientes()) {
+            log.warn("A tabela cliente já tem registros; os {} clientes sintéticos não foram cadastrados", quantidade);
+            return 0;
+        }
+        log.info("Cadastrando {} clientes sintéticos (semente {}) com {} threads", quantidade, semente, threads);
+        long inicio = System.nanoTime();
+        List<String> indices = removerIndices();
+        try {
+            gravar(quantidade, semente);
+        } finally {
+            recriarIndices(indices);
+        }
+        avancarSequence(quantidade);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        log.info("{} clientes sintéticos cadastrados em {} s ({} por segundo)", quantidade,
+                String.format("%.1f", segundos), Math.round(quantidade / segundos));
+        return quantidade;
+    }
+
+    private void gravar(long quantidade, long semente) {
+        SyntheticClientes clientes = new SyntheticClientes(semente);
+        AtomicLong proximo = new AtomicLong();
+        AtomicReference<Exception> falha = new AtomicReference<>();
+        List<Thread> trabalhadores = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            Thread trabalhador = new Thread(() -> {
+                try (Connection conexao = dataSource.getConnection()) {
+                    conexao.setAutoCommit(false);
+                    for (long bloco = proximo.getAndAdd(BLOCO); bloco < quantidade && falha.get() == null;
+                         bloco = proximo.getAndAdd(BLOCO)) {
+                        gravar(conexao, clientes, bloco, Math.min(bloco + BLOCO, quantidade));
+                    }
+                } catch (SQLException | RuntimeException e) {
+                    falha.compareAndSet(null, e);
+                }
+            }, "clientes-seed-" + i);
+            trabalhadores.add(trabalhador);
+            trabalhador.start();
+        }
+        for (Thread trabalhador : trabalhadores) {
+            try {
+                trabalhador.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                falha.compareAndSet(null, e);
+            }
+        }
+        if (falha.get() != null) {
+            throw new IllegalStateException("Falha ao cadastrar os clientes sintéticos", falha.get());
+        }
+    }
+
+    /**
+     * Grava os índices de {@code inicio} a {@code fim} - 1, com ids uma unidade acima deles.
+     */
+    private static void gravar(Connection conexao, SyntheticClientes clientes, long inicio, long fim)
+            throws SQLException {
+        PreparedStatement completo = conexao.prepareStatement(insert(LINHAS_POR_INSERT));
+        try {
+            long pendentes = 0;
+            for (long indice = inicio; indice < fim; indice += LINHAS_POR_INSERT) {
+                int linhas = (int) Math.min(LINHAS_POR_INSERT, fim - indice);
+                PreparedStatement insert = linhas == LINHAS_POR_INSERT ? completo
+                        : conexao.prepareStatement(insert(linhas));
+                try {
+                    int parametro = 1;
+                    for (long i = indice; i < indice + linhas; i++) {
+                        insert.setLong(parametro++, i + 1);
+                        insert.setString(parametro++, clientes.nome(i));
+                        insert.setString(parametro++, clientes.cpf(i));
+                        insert.setDate(parametro++, Date.valueOf(clientes.dataCadastro(i)));
+                    }
+                    insert.executeUpdate();
+                } finally {
+                    if (insert != completo) {
+                        insert.close();
+                    }
+                }
+                pendentes += linhas;
+                if (pendentes >= LINHAS_POR_COMMIT) {
+                    conexao.commit();
+                    pendentes = 0;
+                }
+            }
+            conexao.commit();
+        } catch (SQLException | RuntimeException e) {
+            conexao.rollback();
+            throw e;
+        } finally {
+            completo.close();
+        }
+    }
+
+    private static String insert(int linhas) {
+        StringBuilder sql = new StringBuilder(INSERT.length() + linhas * 16).append(INSERT);
+        for (int i = 0; i < linhas; i++) {
+            sql.append(i == 0 ? "(?, ?, ?, ?, 0)" : ", (?, ?, ?, ?, 0)");
+        }
+        return sql.toString();
+    }
+
+    private boolean existemClientes() {
+        try (Connection conexao = dataSource.getConnection();
+             Statement statement = conexao.createStatement();
+             ResultSet resultado = statement.executeQuery("select 1 from cliente limit 1")) {
+            return resultado.next();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Falha ao consultar a tabela cliente", e);
+        }
+    }
+
+    /**
+     * Remove as constraints únicas e os índices da tabela cliente, menos a chave primária, e
+     * devolve os comandos que os recriam, na ordem: primeiro os índices, depois as constraints que
+     * usam os índices únicos.
+     */
+    private List<String> removerIndices() {
+        List<String> indices = new ArrayList<>();
+        List<String> constraints = new ArrayList<>();
+        List<String> remocoes = new ArrayList<>();
+        try (Connection conexao = dataSource.getConnection();
+             Statement statement = conexao.createStatement()) {
+            try (ResultSet resultado = statement.executeQuery("select constraint_name, sql "
+                    + "from information_schema.constraints where table_name = 'CLIENTE' and constraint_type = 'UNIQUE'")) {
+                while (resultado.next()) {
+                    constraints.add(resultado.getString("sql"));
+                    remocoes.add("alter table cliente drop constraint \"" + resultado.getString("constraint_name") + '"');
+                }
+            }
+            try (ResultSet resultado = statement.executeQuery("select distinct index_name, constraint_name, sql "
+                    + "from information_schema.indexes where table_name = 'CLIENTE' and not primary_key")) {
+                while (resultado.next()) {
+                    indices.add(resultado.getString("sql"));
+                    if (resultado.getString("constraint_name") == null) {
+                        remocoes.add("drop index \"" + resultado.getString("index_name") + '"');
+                    }
+                }
+            }
+            for (String remocao : remocoes) {
+                statement.execute(remocao);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Falha ao remover os índices da tabela cliente", e);
+        }
+        indices.addAll(constraints);
+        return indices;
+    }
+
+    private void recriarIndices(List<String> comandos) {
+        long inicio = System.nanoTime();
+        try (Connection conexao = dataSource.getConnection();
+             Statement statement = conexao.createStatement()) {
+            for (String comando : comandos) {
+                statement.execute(comando);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Falha ao recriar os índices da tabela cliente", e);
+        }
+        log.info("{} índices da tabela cliente recriados em {} ms", comandos.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+    }
+
+    /**
+     * O Hibernate reserva ids em blocos de 50 a partir do valor da sequence; reiniciá-la 100 acima
+     * da carga mantém os próximos cadastros longe dos ids gerados.
+     */
+    private void avancarSequence(long quantidade) {
+        try (Connection conexao = dataSource.getConnection();
+             Statement statement = conexao.createStatement()) {
+            statement.execute("alter sequence cliente_seq restart with " + (quantidade + 100));
+        } catch (SQLException e) {
+            throw new IllegalStateException("Falha ao avançar a sequence cliente_seq", e);
+        }
+    }
+}
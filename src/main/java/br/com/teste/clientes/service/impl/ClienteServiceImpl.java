@@ -1,19 +1,60 @@
 package br.com.teste.clientes.service.impl;
 
+import br.com.teste.clientes.config.CacheConfig;
 import br.com.teste.clientes.config.InternacionalizacaoConfig;
 import br.com.teste.clientes.exception.BusinessException;
 import br.com.teste.clientes.model.entity.Cliente;
+import br.com.teste.clientes.model.repository.ClienteNome;
 import br.com.teste.clientes.model.repository.ClienteRepository;
+import br.com.teste.clientes.service.ClienteBatchResult;
+import br.com.teste.clientes.service.ClienteCursor;
+import br.com.teste.clientes.service.ClienteDeletedEvent;
+import br.com.teste.clientes.service.ClienteGroupCommit;
+import br.com.teste.clientes.service.ClienteSavedEvent;
 import br.com.teste.clientes.service.ClienteService;
+import br.com.teste.clientes.service.CpfFilter;
+import br.com.teste.clientes.service.NomePrefixIndex;
+import br.com.teste.clientes.service.NomeSearchIndex;
+import br.com.teste.clientes.service.Nomes;
+import br.com.teste.clientes.service.PadroesLike;
+import br.com.teste.clientes.validation.Cpf;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.ExampleMatcher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -21,51 +62,457 @@ public class ClienteServiceImpl implements ClienteService {
 
     private ClienteRepository repository;
 
-    public ClienteServiceImpl(ClienteRepository repository) {
+    private final ApplicationEventPublisher publisher;
+
+    public ClienteServiceImpl(ClienteRepository repository, ApplicationEventPublisher publisher) {
         this.repository = repository;
+        this.publisher = publisher;
     }
 
     @Autowired
     private InternacionalizacaoConfig messages;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${clientes.batch.chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Autowired(required = false)
+    private CpfFilter cpfFilter;
+
+    @Autowired(required = false)
+    private NomeSearchIndex nomeSearchIndex;
+
+    @Autowired(required = false)
+    private NomePrefixIndex nomePrefixIndex;
+
+    @Autowired(required = false)
+    private ClienteGroupCommit groupCommit;
+
+    private TransactionTemplate transactionTemplate;
+
+    private final SingleFlight<Long, Optional<Cliente>> getByIdEmAndamento = new SingleFlight<>("getById");
+
+    private final SingleFlight<List<Object>, Page<Cliente>> findEmAndamento = new SingleFlight<>("find");
+
+    private final SingleFlight<List<Object>, Slice<Cliente>> findSliceEmAndamento = new SingleFlight<>("findSlice");
+
+    @Autowired(required = false)
+    void setTransactionManager(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Autowired(required = false)
+    void setMeterRegistry(MeterRegistry registry) {
+        getByIdEmAndamento.bindTo(registry);
+        findEmAndamento.bindTo(registry);
+        findSliceEmAndamento.bindTo(registry);
+    }
+
+    /**
+     * Insere o cliente com um único comando: a unicidade do cpf é garantida pela constraint
+     * {@link Cliente#UK_CPF}, cuja violação é convertida em {@link BusinessException}. Com o
+     * {@link CpfFilter} ligado, o banco só é consultado antes do insert quando o filtro diz que o
+     * cpf talvez já exista; o cpf entra no filtro antes do insert, para que nenhum cadastro
+     * concorrente o veja como ausente. Com o {@link ClienteGroupCommit} ligado, o cadastro é
+     * gravado junto com os concorrentes, num lote do {@link #saveAll}.
+     */
     @Override
+    @CachePut(cacheNames = CacheConfig.CLIENTES, key = "#result.id")
     public Cliente save(Cliente cliente) {
-        if (repository.existsByCpf(cliente.getCpf())) {
-            throw new BusinessException(messages.getMessage("campo.cpf.ja.cadastrado"));
+        if (groupCommit != null) {
+            return groupCommit.save(cliente);
+        }
+        if (cpfFilter != null) {
+            String cpf = Cpf.normalize(cliente.getCpf());
+            if (cpfFilter.mightContain(cpf) && repository.existsByCpf(cpf)) {
+                throw new BusinessException(messages.getMessage("campo.cpf.ja.cadastrado"));
+            }
+            cpfFilter.add(cpf);
+        }
+        try {
+            Cliente salvo = repository.saveAndFlush(cliente);
+            publisher.publishEvent(new ClienteSavedEvent(salvo));
+            return salvo;
+        } catch (DataIntegrityViolationException e) {
+            if (isCpfDuplicado(e)) {
+                throw new BusinessException(messages.getMessage("campo.cpf.ja.cadastrado"), e);
+            }
+            throw e;
+        }
+    }
+
+    static boolean isCpfDuplicado(DataIntegrityViolationException e) {
+        if (!(e.getCause() instanceof ConstraintViolationException)) {
+            return false;
+        }
+        String constraint = ((ConstraintViolationException) e.getCause()).getConstraintName();
+        return constraint != null && constraint.toLowerCase().contains(Cliente.UK_CPF);
+    }
+
+    /**
+     * Cadastra os clientes em blocos de {@code clientes.batch.chunk-size}, cada bloco em sua
+     * própria transação: cada bloco consulta os cpfs já cadastrados com um único {@code IN} (só os
+     * que o {@link CpfFilter} não descarta) e insere os novos em lote JDBC. CPFs repetidos, na base
+     * ou na própria lista, são rejeitados item a item sem interromper o lote. A comparação usa a
+     * forma canônica do cpf, então o mesmo número com e sem máscara conta como repetido. Se um
+     * cadastro concorrente gravar um dos cpfs entre a consulta e o insert, o bloco é desfeito e
+     * gravado de novo um cliente por vez, e só o repetido é rejeitado.
+     */
+    @Override
+    public List<ClienteBatchResult> saveAll(List<Cliente> clientes) {
+        List<ClienteBatchResult> results = new ArrayList<>(clientes.size());
+        Set<String> cpfsDoLote = new HashSet<>();
+        for (int from = 0; from < clientes.size(); from += chunkSize) {
+            List<Cliente> chunk = clientes.subList(from, Math.min(from + chunkSize, clientes.size()));
+            results.addAll(saveChunkOuUmPorVez(chunk, cpfsDoLote));
+        }
+        return results;
+    }
+
+    private List<ClienteBatchResult> saveChunkOuUmPorVez(List<Cliente> chunk, Set<String> cpfsDoLote) {
+        Set<String> cpfsDoChunk = new HashSet<>(cpfsDoLote);
+        try {
+            List<ClienteBatchResult> results = emTransacao(() -> saveChunk(chunk, cpfsDoChunk));
+            cpfsDoLote.addAll(cpfsDoChunk);
+            return results;
+        } catch (DataIntegrityViolationException e) {
+            if (!isCpfDuplicado(e)) {
+                throw e;
+            }
+            log.debug("Bloco de {} cadastros com cpf repetido; gravando um por vez", chunk.size(), e);
+        }
+        List<ClienteBatchResult> results = new ArrayList<>(chunk.size());
+        for (Cliente cliente : chunk) {
+            results.add(saveSozinho(cliente, cpfsDoLote));
+        }
+        return results;
+    }
+
+    /**
+     * Grava o cliente numa cópia sem id e sem versão: o persist do bloco desfeito já os preencheu
+     * no original, e com eles o repositório faria um merge.
+     */
+    private ClienteBatchResult saveSozinho(Cliente cliente, Set<String> cpfsDoLote) {
+        Cliente copia = Cliente.builder()
+                .nome(cliente.getNome())
+                .cpf(cliente.getCpf())
+                .dataCadastro(cliente.getDataCadastro())
+                .build();
+        Set<String> cpfsDoChunk = new HashSet<>(cpfsDoLote);
+        try {
+            ClienteBatchResult result = emTransacao(
+                    () -> saveChunk(Collections.singletonList(copia), cpfsDoChunk)).get(0);
+            cpfsDoLote.addAll(cpfsDoChunk);
+            return result.isCreated() ? result : ClienteBatchResult.rejected(cliente, result.getError());
+        } catch (DataIntegrityViolationException e) {
+            if (!isCpfDuplicado(e)) {
+                throw e;
+            }
+            return ClienteBatchResult.rejected(cliente, messages.getMessage("campo.cpf.ja.cadastrado"));
+        }
+    }
+
+    private <T> T emTransacao(Supplier<T> acao) {
+        return transactionTemplate == null ? acao.get() : transactionTemplate.execute(status -> acao.get());
+    }
+
+    private List<ClienteBatchResult> saveChunk(List<Cliente> chunk, Set<String> cpfsDoLote) {
+        chunk.forEach(cliente -> cliente.setCpf(Cpf.normalize(cliente.getCpf())));
+        Set<String> cpfs = chunk.stream().map(Cliente::getCpf).collect(Collectors.toCollection(HashSet::new));
+        if (cpfFilter != null) {
+            cpfs.removeIf(cpf -> !cpfFilter.mightContain(cpf));
         }
-        return repository.save(cliente);
+        Set<String> cadastrados = cpfs.isEmpty() ? new HashSet<>() : new HashSet<>(repository.findCpfsIn(cpfs));
+
+        List<ClienteBatchResult> results = new ArrayList<>(chunk.size());
+        List<Cliente> novos = new ArrayList<>(chunk.size());
+        for (Cliente cliente : chunk) {
+            if (cadastrados.contains(cliente.getCpf()) || !cpfsDoLote.add(cliente.getCpf())) {
+                results.add(ClienteBatchResult.rejected(cliente, messages.getMessage("campo.cpf.ja.cadastrado")));
+            } else {
+                novos.add(cliente);
+                results.add(ClienteBatchResult.created(cliente));
+            }
+        }
+
+        if (cpfFilter != null) {
+            novos.forEach(cliente -> cpfFilter.add(cliente.getCpf()));
+        }
+        try {
+            repository.saveAll(novos);
+            repository.flush();
+        } catch (RuntimeException e) {
+            if (cpfFilter != null) {
+                novos.forEach(cliente -> cpfFilter.remove(cliente.getCpf()));
+            }
+            throw e;
+        }
+        entityManager.clear();
+        novos.forEach(cliente -> publisher.publishEvent(new ClienteSavedEvent(cliente)));
+        return results;
     }
 
+    /**
+     * Leitura pelo id com cache (ver {@link CacheConfig}). Ids inexistentes não são guardados, e o
+     * cliente devolvido é compartilhado entre requisições: não deve ser alterado por quem o recebe.
+     * Faltas no cache simultâneas para o mesmo id fazem uma única consulta ({@link SingleFlight}).
+     */
     @Override
+    @Cacheable(cacheNames = CacheConfig.CLIENTES, key = "#id", unless = "#result == null")
     public Optional<Cliente> getById(Long id) {
-        return this.repository.findById(id);
+        return getByIdEmAndamento.execute(id, () -> this.repository.findById(id));
+    }
+
+    /**
+     * Versão atual do cliente lida direto do banco, sem passar pelo cache, para validar ETags.
+     */
+    @Override
+    public Optional<Long> getVersao(Long id) {
+        return repository.findVersaoById(id);
     }
 
+    /**
+     * Exclui pelo id e só publica o {@link ClienteDeletedEvent} quando uma linha foi de fato
+     * excluída: numa exclusão repetida, como duas requisições concorrentes para o mesmo cliente, o
+     * cpf sairia do {@link CpfFilter} duas vezes, zerando contadores de outros cpfs.
+     */
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CLIENTES, key = "#cliente.id")
     public void delete(Cliente cliente) {
         String mensagem = messages.getMessage("cliente.id.nulo");
         if (cliente == null || cliente.getId() == null) {
             log.warn(mensagem);
             throw new IllegalArgumentException(mensagem);
         }
-        this.repository.delete(cliente);
+        if (this.repository.deleteDirectlyById(cliente.getId()) > 0) {
+            publisher.publishEvent(new ClienteDeletedEvent(cliente));
+        }
+    }
+
+    /**
+     * Exclusão com um único delete pelo id, sem ler o cliente antes. Como o cpf não é conhecido,
+     * ele continua no {@link CpfFilter}, o que só custa uma consulta a mais se for cadastrado de
+     * novo. Devolve {@code false} quando o cliente não existe.
+     */
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CLIENTES, key = "#id")
+    public boolean deleteById(Long id) {
+        if (repository.deleteDirectlyById(id) == 0) {
+            return false;
+        }
+        publisher.publishEvent(new ClienteDeletedEvent(Cliente.builder().id(id).build()));
+        return true;
     }
 
+    /**
+     * Como no {@link #save}, um cpf já usado por outro cliente viola a constraint
+     * {@link Cliente#UK_CPF} e vira {@link BusinessException}. Com o {@link CpfFilter} ligado, o cpf
+     * só entra no filtro quando muda, e o anterior sai dele depois da gravação; somar o mesmo cpf a
+     * cada alteração só faria os contadores crescerem. Se a gravação falhar, o novo cpf sai do
+     * filtro.
+     */
     @Override
+    @CachePut(cacheNames = CacheConfig.CLIENTES, key = "#result.id")
     public Cliente update(Cliente cliente) {
         String mensagem = messages.getMessage("cliente.id.nulo");
         if (cliente == null || cliente.getId() == null) {
             log.warn(mensagem);
             throw new IllegalArgumentException(mensagem);
         }
-        return this.repository.save(cliente);
+        String cpf = Cpf.normalize(cliente.getCpf());
+        String anterior = null;
+        boolean trocaCpf = false;
+        if (cpfFilter != null) {
+            anterior = repository.findCpfById(cliente.getId()).orElse(null);
+            trocaCpf = cpf != null && !cpf.equals(anterior);
+            if (trocaCpf) {
+                cpfFilter.add(cpf);
+            }
+        }
+        Cliente salvo;
+        try {
+            salvo = this.repository.saveAndFlush(cliente);
+        } catch (RuntimeException e) {
+            if (trocaCpf) {
+                cpfFilter.remove(cpf);
+            }
+            if (e instanceof DataIntegrityViolationException
+                    && isCpfDuplicado((DataIntegrityViolationException) e)) {
+                throw new BusinessException(messages.getMessage("campo.cpf.ja.cadastrado"), e);
+            }
+            throw e;
+        }
+        if (trocaCpf && anterior != null) {
+            cpfFilter.remove(anterior);
+        }
+        publisher.publishEvent(new ClienteSavedEvent(salvo));
+        return salvo;
+    }
+
+    /**
+     * Alteração parcial com um único update pelo id, sem ler o cliente antes: nome e cpf nulos
+     * ficam como estão, e com versão informada a alteração só acontece se ela ainda for a atual. A
+     * versão é incrementada pela própria consulta e o cliente sai do cache. Devolve {@code false}
+     * quando nenhuma linha foi alterada, por o cliente não existir ou a versão não ser mais a atual.
+     * Como no {@link #update}, o {@link CpfFilter} só muda quando o cpf é trocado de fato.
+     */
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CLIENTES, key = "#cliente.id")
+    public boolean patch(Cliente cliente) {
+        String mensagem = messages.getMessage("cliente.id.nulo");
+        if (cliente == null || cliente.getId() == null) {
+            log.warn(mensagem);
+            throw new IllegalArgumentException(mensagem);
+        }
+        String cpf = cliente.getCpf() == null ? null : Cpf.normalize(cliente.getCpf());
+        String anterior = null;
+        boolean trocaCpf = false;
+        if (cpf != null && cpfFilter != null) {
+            anterior = repository.findCpfById(cliente.getId()).orElse(null);
+            trocaCpf = !cpf.equals(anterior);
+            if (trocaCpf) {
+                cpfFilter.add(cpf);
+            }
+        }
+        int linhas;
+        try {
+            linhas = repository.patch(cliente.getId(), cliente.getNome(), cpf, cliente.getVersao());
+        } catch (DataIntegrityViolationException e) {
+            if (trocaCpf) {
+                cpfFilter.remove(cpf);
+            }
+            if (isCpfDuplicado(e)) {
+                throw new BusinessException(messages.getMessage("campo.cpf.ja.cadastrado"), e);
+            }
+            throw e;
+        }
+        if (trocaCpf && linhas == 0) {
+            cpfFilter.remove(cpf);
+        } else if (trocaCpf && anterior != null) {
+            cpfFilter.remove(anterior);
+        }
+        if (linhas > 0 && cliente.getNome() != null) {
+            publisher.publishEvent(new ClienteSavedEvent(cliente));
+        }
+        return linhas > 0;
     }
 
+    /**
+     * Busca por exemplo. Buscas simultâneas com o mesmo filtro e a mesma página fazem uma única
+     * consulta ({@link SingleFlight}) e recebem a mesma página, que não deve ser alterada.
+     */
     @Override
     public Page<Cliente> find(Cliente filter, Pageable pageRequest) {
-        Example<Cliente> example =
-                Example.of(filter, ExampleMatcher.matching().withIgnoreCase().withIgnoreNullValues()
+        return findEmAndamento.execute(Arrays.asList(filter, pageRequest),
+                () -> repository.findAll(exemplo(filter), pageRequest));
+    }
+
+    /**
+     * Mesma busca do {@link #find}, sem a consulta de {@code count}: o {@link Slice} só informa se
+     * existe a próxima página, o que basta para quem navega página a página.
+     */
+    @Override
+    public Slice<Cliente> findSlice(Cliente filter, Pageable pageRequest) {
+        return findSliceEmAndamento.execute(Arrays.asList(filter, pageRequest),
+                () -> repository.findSlice(exemplo(filter), pageRequest));
+    }
+
+    private static Example<Cliente> exemplo(Cliente filter) {
+        return Example.of(filter, ExampleMatcher.matching().withIgnoreCase().withIgnoreNullValues()
                 .withStringMatcher(ExampleMatcher.StringMatcher.CONTAINING));
-        return repository.findAll(example, pageRequest);
+    }
+
+    /**
+     * Busca ranqueada por trecho do nome no {@link NomeSearchIndex}, que devolve só os ids; os
+     * clientes são lidos pela chave primária e devolvidos na ordem do índice. Enquanto o índice não
+     * está carregado, ou quando está desligado, a busca vai ao banco com {@code like}, também sem
+     * diferenciar maiúsculas e acentos.
+     */
+    @Override
+    public List<Cliente> searchByNome(String termo, int limite) {
+        if (nomeSearchIndex == null || !nomeSearchIndex.isPronto()) {
+            return repository.findByNomeContendo(PadroesLike.contendo(Nomes.normalize(termo)),
+                    PageRequest.of(0, limite));
+        }
+        List<Long> ids = nomeSearchIndex.search(termo, limite);
+        Map<Long, Cliente> porId = new HashMap<>();
+        repository.findAllById(ids).forEach(cliente -> porId.put(cliente.getId(), cliente));
+        List<Cliente> clientes = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Cliente cliente = porId.get(id);
+            if (cliente != null) {
+                clientes.add(cliente);
+            }
+        }
+        return clientes;
+    }
+
+    /**
+     * Sugestões por prefixo do nome servidas pelo {@link NomePrefixIndex}, só com id e nome, sem
+     * ir ao banco. Enquanto o índice não está carregado, ou quando está desligado, a consulta vai
+     * ao banco com {@code like}, também sem diferenciar maiúsculas e acentos. Prefixo em branco não
+     * sugere nada.
+     */
+    @Override
+    public List<ClienteNome> suggest(String prefixo, int limite) {
+        if (nomePrefixIndex == null || !nomePrefixIndex.isPronto()) {
+            String inicio = Nomes.normalize(prefixo);
+            return inicio.isEmpty()
+                    ? new ArrayList<>()
+                    : repository.findNomesComecandoCom(PadroesLike.comecandoCom(inicio),
+                            PageRequest.of(0, limite));
+        }
+        return nomePrefixIndex.suggest(prefixo, limite);
+    }
+
+    /**
+     * Paginação por keyset: filtra a partir da chave do último cliente entregue em vez de usar
+     * OFFSET, e busca um registro a mais para saber se existe próxima página sem {@code count}.
+     */
+    @Override
+    public Slice<Cliente> findAfter(ClienteCursor cursor, int size) {
+        Pageable limite = PageRequest.of(0, size + 1);
+        List<Cliente> clientes;
+        if (cursor.getSort() == ClienteCursor.Sort.NOME) {
+            clientes = cursor.isInicio()
+                    ? repository.findOrderedByNome(limite)
+                    : repository.findAfterNome(cursor.getNome(), cursor.getId(), limite);
+        } else {
+            clientes = cursor.isInicio()
+                    ? repository.findOrderedById(limite)
+                    : repository.findAfterId(cursor.getId(), limite);
+        }
+        boolean hasNext = clientes.size() > size;
+        List<Cliente> content = hasNext ? clientes.subList(0, size) : clientes;
+        return new SliceImpl<>(content, PageRequest.of(0, size), hasNext);
+    }
+
+    /**
+     * Entrega ao consumidor, um a um, os clientes que atendem ao filtro, lidos de um cursor JDBC.
+     * Cada cliente é desanexado depois de consumido para que o contexto de persistência não cresça
+     * com o tamanho da tabela.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void export(Cliente filter, Consumer<Cliente> consumer) {
+        try (Stream<Cliente> clientes = repository.streamByFilter(filter.getId(), padrao(filter.getNome()),
+                padrao(filter.getCpf()), filter.getDataCadastro())) {
+            clientes.forEach(cliente -> {
+                consumer.accept(cliente);
+                entityManager.detach(cliente);
+            });
+        }
+    }
+
+    /**
+     * Padrão {@code like} do trecho, com os curingas escapados como faz a busca por exemplo.
+     */
+    private static String padrao(String trecho) {
+        return trecho == null ? null : PadroesLike.contendo(trecho);
     }
 }
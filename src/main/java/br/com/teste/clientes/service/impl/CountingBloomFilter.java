@@ -0,0 +1,158 @@
+package br.com.teste.clientes.service.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom com contadores de 4 bits, o que permite remover elementos. Os contadores ficam
+ * empacotados 16 por {@code long} e são alterados com CAS, sem bloqueio. Um contador que chega a
+ * 15 fica saturado e não é mais decrementado: o filtro pode passar a dar falsos positivos, mas
+ * nunca falsos negativos para elementos incluídos e não removidos.
+ */
+class CountingBloomFilter {
+
+    private static final int BITS_POR_CONTADOR = 4;
+
+    private static final int CONTADORES_POR_PALAVRA = Long.SIZE / BITS_POR_CONTADOR;
+
+    private static final long MAXIMO = (1L << BITS_POR_CONTADOR) - 1;
+
+    private final AtomicLongArray palavras;
+
+    private final long contadores;
+
+    private final int hashes;
+
+    private final AtomicLong contadoresOcupados = new AtomicLong();
+
+    CountingBloomFilter(long elementosEsperados, double probabilidadeFalsoPositivo) {
+        if (elementosEsperados <= 0 || probabilidadeFalsoPositivo <= 0 || probabilidadeFalsoPositivo >= 1) {
+            throw new IllegalArgumentException("Parâmetros inválidos para o filtro de Bloom");
+        }
+        long m = (long) Math.ceil(-elementosEsperados * Math.log(probabilidadeFalsoPositivo) / (Math.log(2) * Math.log(2)));
+        int palavrasNecessarias = (int) Math.min(Integer.MAX_VALUE - 8, (m + CONTADORES_POR_PALAVRA - 1) / CONTADORES_POR_PALAVRA);
+        this.palavras = new AtomicLongArray(palavrasNecessarias);
+        this.contadores = (long) palavrasNecessarias * CONTADORES_POR_PALAVRA;
+        this.hashes = Math.max(1, (int) Math.round((double) contadores / elementosEsperados * Math.log(2)));
+    }
+
+    void add(long chave) {
+        long h = mix(chave);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            incrementar(posicao(h1 + i * h2));
+        }
+    }
+
+    void remove(long chave) {
+        long h = mix(chave);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            decrementar(posicao(h1 + i * h2));
+        }
+    }
+
+    boolean mightContain(long chave) {
+        long h = mix(chave);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            if (contador(posicao(h1 + i * h2)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long contadores() {
+        return contadores;
+    }
+
+    int hashes() {
+        return hashes;
+    }
+
+    long bytes() {
+        return (long) palavras.length() * Long.BYTES;
+    }
+
+    /**
+     * Probabilidade de falso positivo com a ocupação atual: fração de contadores diferentes de
+     * zero elevada ao número de hashes.
+     */
+    double probabilidadeFalsoPositivo() {
+        return Math.pow((double) contadoresOcupados.get() / contadores, hashes);
+    }
+
+    /**
+     * Estimativa do número de elementos distintos a partir da ocupação (Swamidass e Baldi).
+     */
+    long elementosEstimados() {
+        double ocupacao = (double) contadoresOcupados.get() / contadores;
+        if (ocupacao >= 1) {
+            return Long.MAX_VALUE;
+        }
+        return Math.round(-(double) contadores / hashes * Math.log(1 - ocupacao));
+    }
+
+    private long posicao(int hash) {
+        return (hash & Integer.MAX_VALUE) % contadores;
+    }
+
+    private long contador(long posicao) {
+        int deslocamento = (int) (posicao % CONTADORES_POR_PALAVRA) * BITS_POR_CONTADOR;
+        return (palavras.get((int) (posicao / CONTADORES_POR_PALAVRA)) >>> deslocamento) & MAXIMO;
+    }
+
+    private void incrementar(long posicao) {
+        int indice = (int) (posicao / CONTADORES_POR_PALAVRA);
+        int deslocamento = (int) (posicao % CONTADORES_POR_PALAVRA) * BITS_POR_CONTADOR;
+        while (true) {
+            long palavra = palavras.get(indice);
+            long valor = (palavra >>> deslocamento) & MAXIMO;
+            if (valor == MAXIMO) {
+                return;
+            }
+            if (palavras.compareAndSet(indice, palavra, palavra + (1L << deslocamento))) {
+                if (valor == 0) {
+                    contadoresOcupados.incrementAndGet();
+                }
+                return;
+            }
+        }
+    }
+
+    private void decrementar(long posicao) {
+        int indice = (int) (posicao / CONTADORES_POR_PALAVRA);
+        int deslocamento = (int) (posicao % CONTADORES_POR_PALAVRA) * BITS_POR_CONTADOR;
+        while (true) {
+            long palavra = palavras.get(indice);
+            long valor = (palavra >>> deslocamento) & MAXIMO;
+            if (valor == 0 || valor == MAXIMO) {
+                return;
+            }
+            if (palavras.compareAndSet(indice, palavra, palavra - (1L << deslocamento))) {
+                if (valor == 1) {
+                    contadoresOcupados.decrementAndGet();
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Finalizador do MurmurHash3: espalha os bits da chave antes de derivar as posições por hash
+     * duplo (Kirsch e Mitzenmacher).
+     */
+    private static long mix(long chave) {
+        long h = chave;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
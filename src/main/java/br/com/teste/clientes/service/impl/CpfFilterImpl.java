@@ -0,0 +1,154 @@
+package br.com.teste.clientes.service.impl;
+
+import br.com.teste.clientes.model.repository.ClienteRepository;
+import br.com.teste.clientes.service.ClienteDeletedEvent;
+import br.com.teste.clientes.service.CpfFilter;
+import br.com.teste.clientes.validation.Cpf;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * {@link CpfFilter} sobre um {@link CountingBloomFilter} dimensionado por
+ * {@code clientes.cpf-filter.expected-insertions} e {@code clientes.cpf-filter.fpp}. É carregado
+ * quando a aplicação termina de subir, percorrendo os cpfs da base; cadastros feitos durante a
+ * carga já entram no filtro, e exclusões feitas durante a carga são ignoradas (viram, no máximo,
+ * falsos positivos). Desligue com {@code clientes.cpf-filter.enabled=false}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "clientes.cpf-filter", name = "enabled", matchIfMissing = true)
+public class CpfFilterImpl implements CpfFilter {
+
+    private final ClienteRepository repository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final CountingBloomFilter filtro;
+
+    private final long elementosEsperados;
+
+    private final double probabilidadeConfigurada;
+
+    private final AtomicLong consultas = new AtomicLong();
+
+    private final AtomicLong talvez = new AtomicLong();
+
+    private volatile boolean pronto;
+
+    private volatile long carregados;
+
+    private volatile long duracaoCargaMs;
+
+    public CpfFilterImpl(ClienteRepository repository, PlatformTransactionManager transactionManager,
+                         @Value("${clientes.cpf-filter.expected-insertions:1000000}") long elementosEsperados,
+                         @Value("${clientes.cpf-filter.fpp:0.01}") double probabilidadeConfigurada) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.elementosEsperados = elementosEsperados;
+        this.probabilidadeConfigurada = probabilidadeConfigurada;
+        this.filtro = new CountingBloomFilter(elementosEsperados, probabilidadeConfigurada);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        long inicio = System.currentTimeMillis();
+        long total = transactionTemplate.execute(status -> {
+            long n = 0;
+            try (Stream<String> cpfs = repository.streamAllCpfs()) {
+                for (String cpf : (Iterable<String>) cpfs::iterator) {
+                    filtro.add(chave(cpf));
+                    n++;
+                }
+            }
+            return n;
+        });
+        carregados = total;
+        duracaoCargaMs = System.currentTimeMillis() - inicio;
+        pronto = true;
+        log.info("Filtro de cpfs carregado com {} cpfs em {} ms ({} KB)", total, duracaoCargaMs, filtro.bytes() / 1024);
+    }
+
+    @Override
+    public boolean mightContain(String cpf) {
+        consultas.incrementAndGet();
+        boolean resultado = !pronto || filtro.mightContain(chave(cpf));
+        if (resultado) {
+            talvez.incrementAndGet();
+        }
+        return resultado;
+    }
+
+    @Override
+    public void add(String cpf) {
+        filtro.add(chave(cpf));
+    }
+
+    @Override
+    public void remove(String cpf) {
+        if (pronto) {
+            filtro.remove(chave(cpf));
+        }
+    }
+
+    /**
+     * Retira o cpf do filtro só depois do commit da exclusão; se a transação for desfeita o cpf
+     * continua no filtro. Exclusões pelo id não informam o cpf, que também continua no filtro.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClienteDeleted(ClienteDeletedEvent event) {
+        if (event.getCliente().getCpf() != null) {
+            remove(event.getCliente().getCpf());
+        }
+    }
+
+    @Override
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> estatisticas = new LinkedHashMap<>();
+        estatisticas.put("pronto", pronto);
+        estatisticas.put("elementosEsperados", elementosEsperados);
+        estatisticas.put("probabilidadeFalsoPositivoConfigurada", probabilidadeConfigurada);
+        estatisticas.put("probabilidadeFalsoPositivoAtual", filtro.probabilidadeFalsoPositivo());
+        estatisticas.put("elementosEstimados", filtro.elementosEstimados());
+        estatisticas.put("contadores", filtro.contadores());
+        estatisticas.put("hashes", filtro.hashes());
+        estatisticas.put("bytes", filtro.bytes());
+        estatisticas.put("carregadosNaInicializacao", carregados);
+        estatisticas.put("duracaoCargaMs", duracaoCargaMs);
+        estatisticas.put("consultas", consultas.get());
+        estatisticas.put("respostasTalvez", talvez.get());
+        return estatisticas;
+    }
+
+    /**
+     * Os cpfs canônicos têm 11 dígitos e cabem num {@code long}; qualquer outro valor usa o
+     * hash da string, o que só afeta a distribuição no filtro.
+     */
+    static long chave(String cpf) {
+        String normalizado = Cpf.normalize(cpf);
+        if (normalizado == null) {
+            return 0;
+        }
+        long chave = 0;
+        for (int i = 0; i < normalizado.length(); i++) {
+            char c = normalizado.charAt(i);
+            if (c < '0' || c > '9' || i >= 18) {
+                return normalizado.hashCode();
+            }
+            chave = chave * 10 + (c - '0');
+        }
+        return chave;
+    }
+}
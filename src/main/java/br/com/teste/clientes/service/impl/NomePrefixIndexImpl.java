@@ -0,0 +1,51 @@
+package br.com.teste.clientes.service.impl;
+
+import br.com.teste.clientes.model.repository.ClienteNome;
+import br.com.teste.clientes.model.repository.ClienteRepository;
+import br.com.teste.clientes.service.NomePrefixIndex;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * {@link NomePrefixIndex} sobre um {@link PrefixIndex}, carregado e mantido como descrito em
+ * {@link AbstractNomeIndex}. Desligue com {@code clientes.nome-suggest.enabled=false}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "clientes.nome-suggest", name = "enabled", matchIfMissing = true)
+public class NomePrefixIndexImpl extends AbstractNomeIndex implements NomePrefixIndex {
+
+    private final PrefixIndex index = new PrefixIndex();
+
+    public NomePrefixIndexImpl(ClienteRepository repository, PlatformTransactionManager transactionManager) {
+        super(repository, transactionManager);
+    }
+
+    @Override
+    public List<ClienteNome> suggest(String prefixo, int limite) {
+        return index.suggest(prefixo, limite);
+    }
+
+    @Override
+    void indexar(Stream<ClienteNome> nomes) {
+        index.carregar(nomes);
+    }
+
+    @Override
+    void put(long id, String nome) {
+        index.put(id, nome);
+    }
+
+    @Override
+    void remove(long id) {
+        index.remove(id);
+    }
+
+    @Override
+    String resumo() {
+        return index.size() + " nomes";
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.teste.clientes.service.impl;
+
+import br.com.teste.clientes.model.repository.ClienteNome;
+import br.com.teste.clientes.model.repository.ClienteRepository;
+import br.com.teste.clientes.service.NomeSearchIndex;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * {@link NomeSearchIndex} sobre um {@link TrigramIndex}, carregado e mantido como descrito em
+ * {@link AbstractNomeIndex}. Desligue com {@code clientes.nome-search.enabled=false}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "clientes.nome-search", name = "enabled", matchIfMissing = true)
+public class NomeSearchIndexImpl extends AbstractNomeIndex implements NomeSearchIndex {
+
+    private final TrigramIndex index = new TrigramIndex();
+
+    public NomeSearchIndexImpl(ClienteRepository repository, PlatformTransactionManager transactionManager) {
+        super(repository, transactionManager);
+    }
+
+    @Override
+    public List<Long> search(String termo, int limite) {
+        long[] ids = index.search(termo, limite);
+        List<Long> resultado = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            resultado.add(id);
+        }
+        return resultado;
+    }
+
+    @Override
+    void indexar(Stream<ClienteNome> nomes) {
+        nomes.forEach(nome -> index.put(nome.getId(), nome.getNome()));
+    }
+
+    @Override
+    void put(long id, String nome) {
+        index.put(id, nome);
+    }
+
+    @Override
+    void remove(long id) {
+        index.remove(id);
+    }
+
+    @Override
+    String resumo() {
+        return index.size() + " clientes e " + index.trigramas() + " trigramas";
+    }
+}
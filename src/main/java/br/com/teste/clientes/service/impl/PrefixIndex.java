@@ -0,0 +1,289 @@
+package br.com.teste.clientes.service.impl;
+
+import br.com.teste.clientes.model.repository.ClienteNome;
+import br.com.teste.clientes.service.Nomes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Nomes ordenados pela forma normalizada ({@link Nomes#normalize}) para sugestões por prefixo.
+ * A maior parte fica em três arrays paralelos e ordenados (nome normalizado, id e nome original),
+ * onde o início do prefixo é achado por busca binária. Cadastros e alterações recentes ficam em
+ * uma árvore pequena, e os ids alterados ou excluídos desde a última compactação escondem a
+ * entrada antiga dos arrays. A consulta intercala as duas partes.
+ *
+ * <p>Quando as alterações pendentes passam de 1/32 dos arrays, eles são refeitos por intercalação
+ * (custo linear, sob a trava de escrita), o que mantém a árvore pequena e o custo por escrita
+ * constante na média. Leituras concorrem entre si, escritas são exclusivas.
+ */
+class PrefixIndex {
+
+    private static final int COMPACTACAO_MINIMA = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private String[] chaves = new String[0];
+
+    private long[] ids = new long[0];
+
+    private String[] nomes = new String[0];
+
+    private final TreeSet<Entrada> recentes = new TreeSet<>(Entrada.ORDEM);
+
+    private final Map<Long, Entrada> recentesPorId = new HashMap<>();
+
+    private final Set<Long> obsoletos = new HashSet<>();
+
+    /**
+     * Substitui todo o conteúdo pelos nomes informados.
+     */
+    void carregar(Stream<ClienteNome> clientes) {
+        List<Entrada> entradas = new ArrayList<>();
+        clientes.forEach(cliente -> entradas.add(new Entrada(cliente.getId(), cliente.getNome())));
+        entradas.sort(Entrada.ORDEM);
+        lock.writeLock().lock();
+        try {
+            substituir(entradas.iterator(), entradas.size());
+            recentes.clear();
+            recentesPorId.clear();
+            obsoletos.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Inclui ou substitui o nome do cliente.
+     */
+    void put(long id, String nome) {
+        Entrada entrada = new Entrada(id, nome);
+        lock.writeLock().lock();
+        try {
+            removerRecente(id);
+            obsoletos.add(id);
+            recentes.add(entrada);
+            recentesPorId.put(id, entrada);
+            compactarSeNecessario();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removerRecente(id);
+            obsoletos.add(id);
+            compactarSeNecessario();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Clientes cujo nome começa pelo prefixo, ignorando maiúsculas e acentos, em ordem alfabética
+     * do nome normalizado e depois do id. Prefixo vazio não sugere nada.
+     */
+    List<ClienteNome> suggest(String prefixo, int limite) {
+        String normalizado = Nomes.normalize(prefixo);
+        List<ClienteNome> resultado = new ArrayList<>(Math.max(0, limite));
+        if (normalizado.isEmpty() || limite <= 0) {
+            return resultado;
+        }
+        lock.readLock().lock();
+        try {
+            int i = inicio(normalizado);
+            Iterator<Entrada> pendentes = recentes.tailSet(new Entrada(normalizado, Long.MIN_VALUE, null)).iterator();
+            Entrada recente = proxima(pendentes, normalizado);
+            while (resultado.size() < limite) {
+                while (i < chaves.length && obsoletos.contains(ids[i])) {
+                    i++;
+                }
+                boolean naBase = i < chaves.length && chaves[i].startsWith(normalizado);
+                if (naBase && (recente == null || recente.compareTo(chaves[i], ids[i]) > 0)) {
+                    resultado.add(new Entrada(chaves[i], ids[i], nomes[i]));
+                    i++;
+                } else if (recente != null) {
+                    resultado.add(recente);
+                    recente = proxima(pendentes, normalizado);
+                } else {
+                    break;
+                }
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            int size = recentes.size();
+            for (long id : ids) {
+                if (!obsoletos.contains(id)) {
+                    size++;
+                }
+            }
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Refaz os arrays com as alterações pendentes.
+     */
+    void compactar() {
+        lock.writeLock().lock();
+        try {
+            substituir(new Intercalacao(), chaves.length + recentes.size());
+            recentes.clear();
+            recentesPorId.clear();
+            obsoletos.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void compactarSeNecessario() {
+        if (obsoletos.size() > Math.max(COMPACTACAO_MINIMA, chaves.length >> 5)) {
+            compactar();
+        }
+    }
+
+    private void removerRecente(long id) {
+        Entrada anterior = recentesPorId.remove(id);
+        if (anterior != null) {
+            recentes.remove(anterior);
+        }
+    }
+
+    /**
+     * Primeira posição dos arrays cujo nome normalizado não é menor que o prefixo.
+     */
+    private int inicio(String prefixo) {
+        int baixo = 0;
+        int alto = chaves.length;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (chaves[meio].compareTo(prefixo) < 0) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+
+    private static Entrada proxima(Iterator<Entrada> entradas, String prefixo) {
+        if (!entradas.hasNext()) {
+            return null;
+        }
+        Entrada entrada = entradas.next();
+        return entrada.chave.startsWith(prefixo) ? entrada : null;
+    }
+
+    private void substituir(Iterator<Entrada> ordenadas, int capacidade) {
+        String[] novasChaves = new String[capacidade];
+        long[] novosIds = new long[capacidade];
+        String[] novosNomes = new String[capacidade];
+        int tamanho = 0;
+        while (ordenadas.hasNext()) {
+            Entrada entrada = ordenadas.next();
+            novasChaves[tamanho] = entrada.chave;
+            novosIds[tamanho] = entrada.id;
+            novosNomes[tamanho] = entrada.nome;
+            tamanho++;
+        }
+        if (tamanho < capacidade) {
+            novasChaves = Arrays.copyOf(novasChaves, tamanho);
+            novosIds = Arrays.copyOf(novosIds, tamanho);
+            novosNomes = Arrays.copyOf(novosNomes, tamanho);
+        }
+        chaves = novasChaves;
+        ids = novosIds;
+        nomes = novosNomes;
+    }
+
+    /**
+     * Entradas vivas dos arrays intercaladas com as recentes, já em ordem.
+     */
+    private final class Intercalacao implements Iterator<Entrada> {
+
+        private final Iterator<Entrada> pendentes = recentes.iterator();
+
+        private Entrada recente = pendentes.hasNext() ? pendentes.next() : null;
+
+        private int i;
+
+        @Override
+        public boolean hasNext() {
+            while (i < chaves.length && obsoletos.contains(ids[i])) {
+                i++;
+            }
+            return i < chaves.length || recente != null;
+        }
+
+        @Override
+        public Entrada next() {
+            hasNext();
+            if (i < chaves.length && (recente == null || recente.compareTo(chaves[i], ids[i]) > 0)) {
+                Entrada entrada = new Entrada(chaves[i], ids[i], nomes[i]);
+                i++;
+                return entrada;
+            }
+            Entrada entrada = recente;
+            recente = pendentes.hasNext() ? pendentes.next() : null;
+            return entrada;
+        }
+    }
+
+    private static final class Entrada implements ClienteNome {
+
+        static final Comparator<Entrada> ORDEM = (a, b) -> a.compareTo(b.chave, b.id);
+
+        final String chave;
+
+        final long id;
+
+        final String nome;
+
+        Entrada(long id, String nome) {
+            this(Nomes.normalize(nome), id, nome);
+        }
+
+        Entrada(String chave, long id, String nome) {
+            this.chave = chave;
+            this.id = id;
+            this.nome = nome;
+        }
+
+        int compareTo(String chave, long id) {
+            int comparacao = this.chave.compareTo(chave);
+            return comparacao != 0 ? comparacao : Long.compare(this.id, id);
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getNome() {
+            return nome;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.teste.clientes.service.impl;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Junta chamadas concorrentes com a mesma chave: a primeira executa a consulta e as que chegam
+ * enquanto ela está em andamento esperam e recebem o mesmo resultado, ou a mesma exceção. Nada é
+ * guardado depois que a consulta termina; quem chega depois executa de novo. O resultado é
+ * compartilhado entre as requisições e não deve ser alterado por quem o recebe.
+ *
+ * <p>Dentro de uma transação a consulta é sempre executada pela própria chamada, para que ela veja
+ * o que a transação já gravou.
+ *
+ * <p>Métricas, com a tag {@code operation}: {@code clientes.single-flight.calls} com
+ * {@code outcome} {@code executed} ou {@code coalesced}, {@code clientes.single-flight.ratio}
+ * (fração das chamadas que aproveitaram uma consulta em andamento) e
+ * {@code clientes.single-flight.in-flight}.
+ */
+class SingleFlight<K, V> implements MeterBinder {
+
+    private final String operacao;
+
+    private final ConcurrentMap<K, CompletableFuture<V>> emAndamento = new ConcurrentHashMap<>();
+
+    private final LongAdder executadas = new LongAdder();
+
+    private final LongAdder compartilhadas = new LongAdder();
+
+    SingleFlight(String operacao) {
+        this.operacao = operacao;
+    }
+
+    V execute(K chave, Supplier<V> consulta) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            executadas.increment();
+            return consulta.get();
+        }
+        CompletableFuture<V> nova = new CompletableFuture<>();
+        CompletableFuture<V> existente = emAndamento.putIfAbsent(chave, nova);
+        if (existente != null) {
+            compartilhadas.increment();
+            return aguardar(existente);
+        }
+        executadas.increment();
+        try {
+            V resultado = consulta.get();
+            nova.complete(resultado);
+            return resultado;
+        } catch (RuntimeException | Error e) {
+            nova.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chave, nova);
+        }
+    }
+
+    private static <V> V aguardar(CompletableFuture<V> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    long getExecutadas() {
+        return executadas.sum();
+    }
+
+    long getCompartilhadas() {
+        return compartilhadas.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("clientes.single-flight.calls", executadas, LongAdder::sum)
+                .description("Chamadas que executaram a consulta")
+                .tag("operation", operacao).tag("outcome", "executed")
+                .register(registry);
+        FunctionCounter.builder("clientes.single-flight.calls", compartilhadas, LongAdder::sum)
+                .description("Chamadas que aproveitaram uma consulta igual em andamento")
+                .tag("operation", operacao).tag("outcome", "coalesced")
+                .register(registry);
+        Gauge.builder("clientes.single-flight.ratio", this, SingleFlight::fracaoCompartilhada)
+                .description("Fração das chamadas que aproveitaram uma consulta em andamento")
+                .tag("operation", operacao)
+                .register(registry);
+        Gauge.builder("clientes.single-flight.in-flight", emAndamento, ConcurrentMap::size)
+                .description("Consultas em andamento")
+                .tag("operation", operacao)
+                .register(registry);
+    }
+
+    private double fracaoCompartilhada() {
+        long compartilhadas = getCompartilhadas();
+        long total = getExecutadas() + compartilhadas;
+        return total == 0 ? 0 : (double) compartilhadas / total;
+    }
+}
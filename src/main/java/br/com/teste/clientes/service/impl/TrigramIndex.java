@@ -0,0 +1,434 @@
+package br.com.teste.clientes.service.impl;
+
+import br.com.teste.clientes.service.NomeSearchIndex;
+import br.com.teste.clientes.service.Nomes;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido de trigramas dos nomes normalizados ({@link Nomes#normalize}). Cada nome
+ * indexado vira um documento interno; cada trigrama aponta para a lista ordenada dos documentos
+ * que o contêm. A busca intersecta as listas dos trigramas do termo, começando pela menor, e
+ * confirma cada candidato com {@code contains} antes de ranquear.
+ *
+ * <p>Alterações e exclusões marcam o documento antigo como removido em vez de reescrever as
+ * listas. Quando os removidos passam de 1/4 dos documentos, os vivos são renumerados e as listas
+ * refeitas sem os removidos (custo linear, sob a trava de escrita), o que mantém memória e busca
+ * proporcionais aos nomes atuais com custo constante por escrita na média. Leituras concorrem
+ * entre si, escritas são exclusivas.
+ */
+class TrigramIndex {
+
+    static final int TAMANHO_MINIMO_TERMO = NomeSearchIndex.TAMANHO_MINIMO_TERMO;
+
+    private static final int CAPACIDADE_INICIAL = 1024;
+
+    private static final int COMPACTACAO_MINIMA = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    private final IdParaDocumento documentoPorId = new IdParaDocumento();
+
+    private final BitSet removidos = new BitSet();
+
+    private long[] ids = new long[CAPACIDADE_INICIAL];
+
+    private String[] nomes = new String[CAPACIDADE_INICIAL];
+
+    private int documentos;
+
+    private int totalRemovidos;
+
+    /**
+     * Inclui ou substitui o nome do cliente.
+     */
+    void put(long id, String nome) {
+        String normalizado = Nomes.normalize(nome);
+        lock.writeLock().lock();
+        try {
+            int anterior = documentoPorId.get(id);
+            if (anterior >= 0) {
+                if (nomes[anterior].equals(normalizado)) {
+                    return;
+                }
+                marcarRemovido(anterior);
+            }
+            int documento = novoDocumento(id, normalizado);
+            documentoPorId.put(id, documento);
+            for (int i = 0; i + TAMANHO_MINIMO_TERMO <= normalizado.length(); i++) {
+                postings.computeIfAbsent(trigrama(normalizado, i), t -> new Postings()).add(documento);
+            }
+            compactarSeNecessario();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int documento = documentoPorId.remove(id);
+            if (documento >= 0) {
+                marcarRemovido(documento);
+                compactarSeNecessario();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids dos clientes cujo nome contém o termo, do mais relevante para o menos: nome igual ao
+     * termo, nome começando pelo termo, alguma palavra começando pelo termo e, por fim, o termo no
+     * meio de uma palavra. Empates ficam com o nome mais curto e depois com o menor id.
+     */
+    long[] search(String termo, int limite) {
+        String normalizado = Nomes.normalize(termo);
+        if (normalizado.length() < TAMANHO_MINIMO_TERMO || limite <= 0) {
+            return new long[0];
+        }
+        lock.readLock().lock();
+        try {
+            int[] candidatos = candidatos(normalizado);
+            PriorityQueue<Resultado> melhores = new PriorityQueue<>(limite + 1, Resultado.ORDEM.reversed());
+            for (int documento : candidatos) {
+                if (documento < 0) {
+                    break;
+                }
+                if (removidos.get(documento)) {
+                    continue;
+                }
+                String nome = nomes[documento];
+                int posicao = nome.indexOf(normalizado);
+                if (posicao < 0) {
+                    continue;
+                }
+                int relevancia = relevancia(nome, normalizado, posicao);
+                if (melhores.size() == limite && !melhores.peek().piorQue(relevancia, nome.length(), ids[documento])) {
+                    continue;
+                }
+                melhores.add(new Resultado(relevancia, nome.length(), ids[documento]));
+                if (melhores.size() > limite) {
+                    melhores.poll();
+                }
+            }
+            long[] resultado = new long[melhores.size()];
+            for (int i = resultado.length - 1; i >= 0; i--) {
+                resultado[i] = melhores.poll().id;
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documentos - totalRemovidos;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int removidos() {
+        lock.readLock().lock();
+        try {
+            return totalRemovidos;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int trigramas() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Documentos que têm todos os trigramas do termo, em ordem crescente. O array pode ter sobras
+     * no final, marcadas com -1.
+     */
+    private int[] candidatos(String termo) {
+        Postings[] listas = new Postings[termo.length() - TAMANHO_MINIMO_TERMO + 1];
+        for (int i = 0; i < listas.length; i++) {
+            listas[i] = postings.get(trigrama(termo, i));
+            if (listas[i] == null) {
+                return new int[0];
+            }
+        }
+        Arrays.sort(listas, Comparator.comparingInt(p -> p.tamanho));
+        int[] atual = Arrays.copyOf(listas[0].documentos, listas[0].tamanho);
+        int tamanho = atual.length;
+        for (int i = 1; i < listas.length && tamanho > 0; i++) {
+            if (listas[i] == listas[i - 1]) {
+                continue;
+            }
+            tamanho = intersectar(atual, tamanho, listas[i]);
+        }
+        if (tamanho < atual.length) {
+            Arrays.fill(atual, tamanho, atual.length, -1);
+        }
+        return atual;
+    }
+
+    private static int intersectar(int[] atual, int tamanho, Postings outra) {
+        int[] documentos = outra.documentos;
+        int j = 0;
+        int resultado = 0;
+        for (int i = 0; i < tamanho && j < outra.tamanho; i++) {
+            int documento = atual[i];
+            while (j < outra.tamanho && documentos[j] < documento) {
+                j++;
+            }
+            if (j < outra.tamanho && documentos[j] == documento) {
+                atual[resultado++] = documento;
+            }
+        }
+        return resultado;
+    }
+
+    private static int relevancia(String nome, String termo, int posicao) {
+        if (posicao == 0) {
+            return nome.length() == termo.length() ? 0 : 1;
+        }
+        for (int p = posicao; p > 0; p = nome.indexOf(termo, p + 1)) {
+            if (nome.charAt(p - 1) == ' ') {
+                return 2;
+            }
+        }
+        return 3;
+    }
+
+    private int novoDocumento(long id, String normalizado) {
+        if (documentos == ids.length) {
+            ids = Arrays.copyOf(ids, documentos * 2);
+            nomes = Arrays.copyOf(nomes, documentos * 2);
+        }
+        ids[documentos] = id;
+        nomes[documentos] = normalizado;
+        return documentos++;
+    }
+
+    private void marcarRemovido(int documento) {
+        removidos.set(documento);
+        nomes[documento] = "";
+        totalRemovidos++;
+    }
+
+    private void compactarSeNecessario() {
+        if (totalRemovidos > Math.max(COMPACTACAO_MINIMA, documentos >> 2)) {
+            compactar();
+        }
+    }
+
+    /**
+     * Renumera os documentos vivos na mesma ordem, o que mantém as listas ordenadas, e refaz as
+     * listas sem os removidos, descartando as que ficarem vazias.
+     */
+    void compactar() {
+        lock.writeLock().lock();
+        try {
+            int[] novoNumero = new int[documentos];
+            int vivos = 0;
+            for (int documento = 0; documento < documentos; documento++) {
+                if (removidos.get(documento)) {
+                    novoNumero[documento] = -1;
+                    continue;
+                }
+                novoNumero[documento] = vivos;
+                ids[vivos] = ids[documento];
+                nomes[vivos] = nomes[documento];
+                documentoPorId.put(ids[vivos], vivos);
+                vivos++;
+            }
+            int capacidade = Math.max(CAPACIDADE_INICIAL, Integer.highestOneBit(Math.max(1, vivos)) << 1);
+            ids = Arrays.copyOf(ids, capacidade);
+            nomes = Arrays.copyOf(nomes, capacidade);
+            Arrays.fill(nomes, vivos, capacidade, null);
+            postings.values().removeIf(lista -> lista.renumerar(novoNumero) == 0);
+            documentos = vivos;
+            totalRemovidos = 0;
+            removidos.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static long trigrama(String texto, int inicio) {
+        return ((long) texto.charAt(inicio) << 32) | ((long) texto.charAt(inicio + 1) << 16) | texto.charAt(inicio + 2);
+    }
+
+    private static final class Postings {
+
+        int[] documentos = new int[4];
+
+        int tamanho;
+
+        /**
+         * Inclui o documento no fim da lista. Os documentos chegam em ordem crescente, então um
+         * trigrama repetido no mesmo nome só precisa ser comparado com o último.
+         */
+        void add(int documento) {
+            if (tamanho > 0 && documentos[tamanho - 1] == documento) {
+                return;
+            }
+            if (tamanho == documentos.length) {
+                documentos = Arrays.copyOf(documentos, tamanho + (tamanho >> 1));
+            }
+            documentos[tamanho++] = documento;
+        }
+
+        /**
+         * Troca cada documento pelo novo número, descartando os removidos (-1), e devolve quantos
+         * sobraram.
+         */
+        int renumerar(int[] novoNumero) {
+            int restantes = 0;
+            for (int i = 0; i < tamanho; i++) {
+                int documento = novoNumero[documentos[i]];
+                if (documento >= 0) {
+                    documentos[restantes++] = documento;
+                }
+            }
+            tamanho = restantes;
+            if (documentos.length > 4 && restantes < documentos.length >> 1) {
+                documentos = Arrays.copyOf(documentos, Math.max(4, restantes));
+            }
+            return restantes;
+        }
+    }
+
+    private static final class Resultado {
+
+        static final Comparator<Resultado> ORDEM = Comparator.<Resultado>comparingInt(r -> r.relevancia)
+                .thenComparingInt(r -> r.tamanho)
+                .thenComparingLong(r -> r.id);
+
+        final int relevancia;
+
+        final int tamanho;
+
+        final long id;
+
+        Resultado(int relevancia, int tamanho, long id) {
+            this.relevancia = relevancia;
+            this.tamanho = tamanho;
+            this.id = id;
+        }
+
+        boolean piorQue(int relevancia, int tamanho, long id) {
+            if (this.relevancia != relevancia) {
+                return this.relevancia > relevancia;
+            }
+            if (this.tamanho != tamanho) {
+                return this.tamanho > tamanho;
+            }
+            return this.id > id;
+        }
+    }
+
+    /**
+     * Mapa id do cliente → documento com endereçamento aberto, sem caixas de {@code Long}.
+     */
+    private static final class IdParaDocumento {
+
+        private static final long VAZIO = Long.MIN_VALUE;
+
+        private long[] chaves = vazias(CAPACIDADE_INICIAL);
+
+        private int[] valores = new int[CAPACIDADE_INICIAL];
+
+        private int tamanho;
+
+        int get(long id) {
+            int i = posicao(id, chaves.length);
+            while (chaves[i] != VAZIO) {
+                if (chaves[i] == id) {
+                    return valores[i];
+                }
+                i = (i + 1) & (chaves.length - 1);
+            }
+            return -1;
+        }
+
+        void put(long id, int documento) {
+            if ((tamanho + 1) * 2 > chaves.length) {
+                redimensionar();
+            }
+            int i = posicao(id, chaves.length);
+            while (chaves[i] != VAZIO && chaves[i] != id) {
+                i = (i + 1) & (chaves.length - 1);
+            }
+            if (chaves[i] == VAZIO) {
+                tamanho++;
+            }
+            chaves[i] = id;
+            valores[i] = documento;
+        }
+
+        int remove(long id) {
+            int i = posicao(id, chaves.length);
+            while (chaves[i] != VAZIO) {
+                if (chaves[i] == id) {
+                    int documento = valores[i];
+                    chaves[i] = VAZIO;
+                    tamanho--;
+                    reinserirSeguintes(i);
+                    return documento;
+                }
+                i = (i + 1) & (chaves.length - 1);
+            }
+            return -1;
+        }
+
+        private void reinserirSeguintes(int removido) {
+            int i = (removido + 1) & (chaves.length - 1);
+            while (chaves[i] != VAZIO) {
+                long chave = chaves[i];
+                int valor = valores[i];
+                chaves[i] = VAZIO;
+                tamanho--;
+                put(chave, valor);
+                i = (i + 1) & (chaves.length - 1);
+            }
+        }
+
+        private void redimensionar() {
+            long[] antigasChaves = chaves;
+            int[] antigosValores = valores;
+            chaves = vazias(antigasChaves.length * 2);
+            valores = new int[antigasChaves.length * 2];
+            tamanho = 0;
+            for (int i = 0; i < antigasChaves.length; i++) {
+                if (antigasChaves[i] != VAZIO) {
+                    put(antigasChaves[i], antigosValores[i]);
+                }
+            }
+        }
+
+        private static long[] vazias(int capacidade) {
+            long[] chaves = new long[capacidade];
+            Arrays.fill(chaves, VAZIO);
+            return chaves;
+        }
+
+        private static int posicao(long id, int capacidade) {
+            long h = id * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & (capacidade - 1);
+        }
+    }
+}
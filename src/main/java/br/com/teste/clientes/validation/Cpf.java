@@ -0,0 +1,157 @@
+package br.com.teste.clientes.validation;
+
+/**
+ * Regras do cpf usadas na validação e no armazenamento. A forma canônica é a de 11 dígitos, sem
+ * pontuação: é ela que vai para a coluna {@code cpf} e para as consultas, de modo que
+ * "123.456.789-09" e "12345678909" caiam no mesmo registro da constraint única.
+ */
+public final class Cpf {
+
+    public static final int DIGITOS = 11;
+
+    private Cpf() {
+    }
+
+    /**
+     * Confere formato e dígitos verificadores numa única passada, sem alocar. Aceita os 11 dígitos
+     * puros ou com a máscara {@code 000.000.000-00}, com pontos e hífen opcionais nas suas posições.
+     * CPFs com todos os dígitos iguais são rejeitados.
+     */
+    public static boolean isValid(CharSequence cpf) {
+        if (cpf == null) {
+            return false;
+        }
+        int digitos = 0;
+        int primeiro = -1;
+        boolean repetidos = true;
+        int soma1 = 0;
+        int soma2 = 0;
+        int dv1 = 0;
+        int dv2 = 0;
+        char anterior = 0;
+        for (int i = 0; i < cpf.length(); i++) {
+            char c = cpf.charAt(i);
+            if (c >= '0' && c <= '9') {
+                int d = c - '0';
+                if (digitos == 0) {
+                    primeiro = d;
+                } else if (d != primeiro) {
+                    repetidos = false;
+                }
+                if (digitos < 9) {
+                    soma1 += d * (10 - digitos);
+                    soma2 += d * (11 - digitos);
+                } else if (digitos == 9) {
+                    dv1 = d;
+                    soma2 += d * 2;
+                } else if (digitos == 10) {
+                    dv2 = d;
+                } else {
+                    return false;
+                }
+                digitos++;
+            } else if (!isSeparador(c, digitos, anterior)) {
+                return false;
+            }
+            anterior = c;
+        }
+        return digitos == DIGITOS && !repetidos
+                && dv1 == digitoVerificador(soma1) && dv2 == digitoVerificador(soma2);
+    }
+
+    /**
+     * Cpf canônico com a base de nove dígitos informada, entre 0 e 999.999.999, completada pelos
+     * dígitos verificadores. Não recusa bases com todos os dígitos iguais, cujo cpf é inválido.
+     */
+    public static String fromBase(int base) {
+        if (base < 0 || base > 999_999_999) {
+            throw new IllegalArgumentException("Base de cpf fora de 0 a 999999999: " + base);
+        }
+        char[] cpf = new char[DIGITOS];
+        int soma1 = 0;
+        int soma2 = 0;
+        for (int i = 8; i >= 0; i--, base /= 10) {
+            int d = base % 10;
+            cpf[i] = (char) ('0' + d);
+            soma1 += d * (10 - i);
+            soma2 += d * (11 - i);
+        }
+        int dv1 = digitoVerificador(soma1);
+        cpf[9] = (char) ('0' + dv1);
+        cpf[10] = (char) ('0' + digitoVerificador(soma2 + dv1 * 2));
+        return new String(cpf);
+    }
+
+    /**
+     * Forma canônica do cpf: remove pontos e hífen. Quando o valor já está normalizado a própria
+     * instância é devolvida. Não valida os dígitos, por isso também serve para trechos de cpf
+     * usados como filtro.
+     */
+    public static String normalize(String cpf) {
+        if (cpf == null || isNormalized(cpf)) {
+            return cpf;
+        }
+        StringBuilder digitos = new StringBuilder(DIGITOS);
+        for (int i = 0; i < cpf.length(); i++) {
+            char c = cpf.charAt(i);
+            if (c != '.' && c != '-') {
+                digitos.append(c);
+            }
+        }
+        return digitos.toString();
+    }
+
+    /**
+     * Cpf para logs: um cpf completo, com ou sem máscara, vira {@code ***.***.***-DV}, mostrando só
+     * os dígitos verificadores; em qualquer outro valor, como um trecho usado na busca, todos os
+     * dígitos são trocados por {@code *}.
+     */
+    public static String mask(String cpf) {
+        if (cpf == null) {
+            return null;
+        }
+        String digitos = normalize(cpf);
+        if (digitos.length() == DIGITOS && isDigitos(digitos)) {
+            return "***.***.***-" + digitos.substring(9);
+        }
+        StringBuilder mascarado = new StringBuilder(cpf.length());
+        for (int i = 0; i < cpf.length(); i++) {
+            char c = cpf.charAt(i);
+            mascarado.append(c >= '0' && c <= '9' ? '*' : c);
+        }
+        return mascarado.toString();
+    }
+
+    private static boolean isDigitos(String valor) {
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isNormalized(String cpf) {
+        for (int i = 0; i < cpf.length(); i++) {
+            char c = cpf.charAt(i);
+            if (c == '.' || c == '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSeparador(char c, int digitos, char anterior) {
+        boolean aposDigito = anterior >= '0' && anterior <= '9';
+        if (c == '.') {
+            return aposDigito && (digitos == 3 || digitos == 6);
+        }
+        return c == '-' && aposDigito && digitos == 9;
+    }
+
+    private static int digitoVerificador(int soma) {
+        int resto = (soma * 10) % 11;
+        return resto == 10 ? 0 : resto;
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.teste.clientes.validation;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+
+public class CpfValidator implements ConstraintValidator<CpfValido, CharSequence> {
+
+    @Override
+    public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+        return value == null || Cpf.isValid(value);
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.teste.clientes.validation;
+
+import javax.validation.Constraint;
+import javax.validation.Payload;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Cpf com dígitos verificadores válidos, com ou sem máscara. Valores nulos são aceitos; combine com
+ * {@code @NotNull} quando o campo for obrigatório.
+ *
+ * @see Cpf#isValid(CharSequence)
+ */
+@Documented
+@Constraint(validatedBy = CpfValidator.class)
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CpfValido {
+
+    String message() default "{campo.cpf.invalido}";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
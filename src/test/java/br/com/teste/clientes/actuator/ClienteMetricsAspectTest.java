@@ -0,0 +1,94 @@
+package br.com.teste.clientes.actuator;
+
+import br.com.teste.clientes.api.dto.ClienteDTO;
+import br.com.teste.clientes.api.mapper.ClienteMapper;
+import br.com.teste.clientes.api.resource.ClienteController;
+import br.com.teste.clientes.config.InternacionalizacaoConfig;
+import br.com.teste.clientes.model.entity.Cliente;
+import br.com.teste.clientes.model.repository.ClienteRepository;
+import br.com.teste.clientes.service.ClienteService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+
+public class ClienteMetricsAspectTest {
+
+    SimpleMeterRegistry registry;
+
+    ClienteMetricsAspect aspect;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        aspect = new ClienteMetricsAspect(registry);
+    }
+
+    @Test
+    @DisplayName("Deve medir as operações da API com o resultado e os campos usados no filtro")
+    public void timeApiTest() {
+        ClienteService service = Mockito.mock(ClienteService.class);
+        Page<Cliente> vazia = new PageImpl<>(Collections.emptyList());
+        Mockito.when(service.find(any(Cliente.class), any())).thenReturn(vazia);
+        Mockito.when(service.getById(1L)).thenReturn(Optional.empty());
+        ClienteController target = new ClienteController(service, new ClienteMapper());
+        ReflectionTestUtils.setField(target, "messages", Mockito.mock(InternacionalizacaoConfig.class));
+        ClienteController controller = proxy(target);
+
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse());
+        controller.find(ClienteDTO.builder().cpf("47442993001").nome("Fulano").build(), PageRequest.of(0, 10), true,
+                request);
+        controller.find(new ClienteDTO(), PageRequest.of(0, 10), true, request);
+        assertThrows(ResponseStatusException.class, () -> controller.get(1L, request));
+
+        assertThat(registry.get(ClienteMetricsAspect.API).tags("operation", "find", "filters", "nome+cpf",
+                "outcome", "SUCCESS").timer().count()).isEqualTo(1);
+        assertThat(registry.get(ClienteMetricsAspect.API).tags("operation", "find", "filters", "none")
+                .timer().count()).isEqualTo(1);
+        assertThat(registry.get(ClienteMetricsAspect.API).tags("operation", "get", "filters", "n/a",
+                "outcome", "CLIENT_ERROR").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve medir as chamadas ao repositório pelo método e pela exceção lançada")
+    public void timeRepositoryTest() {
+        ClienteRepository mock = Mockito.mock(ClienteRepository.class);
+        Mockito.when(mock.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("cpf"));
+        ClienteRepository repository = proxy(mock);
+
+        repository.existsByCpf("47442993001");
+        repository.existsByCpf("08607652028");
+        assertThrows(DataIntegrityViolationException.class, () -> repository.saveAndFlush(new Cliente()));
+
+        assertThat(registry.get(ClienteMetricsAspect.REPOSITORY).tags("method", "existsByCpf",
+                "outcome", "SUCCESS", "exception", "none").timer().count()).isEqualTo(2);
+        assertThat(registry.get(ClienteMetricsAspect.REPOSITORY).tags("method", "saveAndFlush",
+                "outcome", "ERROR", "exception", "DataIntegrityViolationException").timer().count()).isEqualTo(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(target instanceof ClienteController);
+        factory.addAspect(aspect);
+        return (T) factory.getProxy();
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.teste.clientes.api.mapper;
+
+import br.com.teste.clientes.api.dto.ClienteDTO;
+import br.com.teste.clientes.model.entity.Cliente;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClienteMapperTest {
+
+    ClienteMapper mapper = new ClienteMapper();
+
+    @Test
+    @DisplayName("Deve converter o DTO em entidade")
+    public void toEntityTest() {
+        LocalDate data = LocalDate.now();
+        ClienteDTO dto = new ClienteDTO(1L, "Fulano", "47442993001", data);
+
+        Cliente cliente = mapper.toEntity(dto);
+
+        assertThat(cliente).isEqualTo(new Cliente(1L, "Fulano", "47442993001", data));
+    }
+
+    @Test
+    @DisplayName("Deve remover a máscara do cpf ao converter o DTO em entidade")
+    public void toEntityNormalizesCpfTest() {
+        ClienteDTO dto = ClienteDTO.builder().nome("Fulano").cpf("474.429.930-01").build();
+
+        assertThat(mapper.toEntity(dto).getCpf()).isEqualTo("47442993001");
+    }
+
+    @Test
+    @DisplayName("Deve descartar o id do DTO ao converter um cadastro novo")
+    public void toNewEntityTest() {
+        ClienteDTO dto = new ClienteDTO(1L, "Fulano", "474.429.930-01", null);
+
+        assertThat(mapper.toNewEntity(dto)).isEqualTo(new Cliente(null, "Fulano", "47442993001", null));
+    }
+
+    @Test
+    @DisplayName("Deve converter a entidade em DTO")
+    public void toDtoTest() {
+        LocalDate data = LocalDate.now();
+        Cliente cliente = new Cliente(1L, "Fulano", "47442993001", data);
+
+        assertThat(mapper.toDto(cliente)).isEqualTo(new ClienteDTO(1L, "Fulano", "47442993001", data));
+        assertThat(mapper.toDtoList(Arrays.asList(cliente))).containsExactly(mapper.toDto(cliente));
+    }
+
+    @Test
+    @DisplayName("Deve converter nulo em nulo")
+    public void nullTest() {
+        assertThat(mapper.toEntity(null)).isNull();
+        assertThat(mapper.toDto(null)).isNull();
+    }
+}
@@ -2,16 +2,24 @@ package br.com.teste.clientes.api.resource;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import br.com.teste.clientes.api.dto.ClienteDTO;
 import br.com.teste.clientes.exception.BusinessException;
+import br.com.teste.clientes.model.repository.ClienteNome;
+import br.com.teste.clientes.service.ClienteBatchResult;
+import br.com.teste.clientes.service.ClienteCursor;
 import br.com.teste.clientes.service.ClienteService;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.DisplayName;
@@ -26,10 +34,13 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
@@ -82,6 +93,22 @@ public class ClienteControllerTest {
 				.andExpect(jsonPath("dataCadastro", is(dataEsperada)));
 	}
 
+	@Test
+	@DisplayName("Deve ignorar o id enviado no corpo ao criar um cliente")
+	public void createClienteIgnoresIdTest() throws Exception {
+		ClienteDTO dto = new ClienteDTO(5L, "Fulano", "47442993001", null);
+		Cliente clienteSalvo = new Cliente(1L, "Fulano", "47442993001", LocalDate.now());
+		BDDMockito.given(service.save(Mockito.any(Cliente.class))).willReturn(clienteSalvo);
+
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post(CLIENTE_API)
+				.contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON)
+				.content(asJsonString(dto));
+
+		mvc.perform(request).andExpect(status().isCreated())
+				.andExpect(jsonPath("id").value(clienteSalvo.getId()));
+		Mockito.verify(service).save(Mockito.argThat(cliente -> cliente.getId() == null));
+	}
+
 	@Test
 	@DisplayName("Deve lançar erro de validação quando campos obrigatórios não forem preenchidos")
 	public void createInvalidClienteTest() throws Exception {
@@ -132,6 +159,55 @@ public class ClienteControllerTest {
 				.andExpect(jsonPath("errors[0]").value(mensagemErro));
 	}
 
+	@Test
+	@DisplayName("Deve criar clientes em lote informando o resultado de cada item")
+	public void createBatchClienteTest() throws Exception {
+		ClienteDTO valido = new ClienteDTO(null, "Fulano", "47442993001", null);
+		ClienteDTO invalido = new ClienteDTO(null, "Cicrano", "11111111", null);
+		ClienteDTO duplicado = new ClienteDTO(null, "Beltrano", "08607652028", null);
+		Cliente clienteSalvo = new Cliente(1L, "Fulano", "47442993001", LocalDate.now());
+
+		BDDMockito.given(service.saveAll(Mockito.anyList())).willReturn(Arrays.asList(
+				ClienteBatchResult.created(clienteSalvo),
+				ClienteBatchResult.rejected(new Cliente(null, "Beltrano", "08607652028", null),
+						"campo.cpf.ja.cadastrado")));
+
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post(CLIENTE_API.concat("/batch"))
+				.contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON)
+				.content(asJsonString(Arrays.asList(valido, invalido, duplicado)));
+
+		mvc.perform(request).andExpect(status().isOk())
+				.andExpect(jsonPath("$", hasSize(3)))
+				.andExpect(jsonPath("[0].status").value("CREATED"))
+				.andExpect(jsonPath("[0].cliente.id").value(clienteSalvo.getId()))
+				.andExpect(jsonPath("[1].status").value("REJECTED"))
+				.andExpect(jsonPath("[1].errors[0]").value("{campo.cpf.invalido}"))
+				.andExpect(jsonPath("[2].index").value(2))
+				.andExpect(jsonPath("[2].status").value("REJECTED"))
+				.andExpect(jsonPath("[2].errors[0]").value("campo.cpf.ja.cadastrado"));
+	}
+
+	@Test
+	@DisplayName("Deve rejeitar os itens nulos do lote sem interromper os demais")
+	public void createBatchWithNullItemTest() throws Exception {
+		ClienteDTO valido = new ClienteDTO(null, "Fulano", "47442993001", null);
+		Cliente clienteSalvo = new Cliente(1L, "Fulano", "47442993001", LocalDate.now());
+		BDDMockito.given(messages.getMessage("cliente.lote.item.nulo")).willReturn("cliente.lote.item.nulo");
+		BDDMockito.given(service.saveAll(Mockito.anyList()))
+				.willReturn(Arrays.asList(ClienteBatchResult.created(clienteSalvo)));
+
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post(CLIENTE_API.concat("/batch"))
+				.contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON)
+				.content(asJsonString(Arrays.asList(valido, null)));
+
+		mvc.perform(request).andExpect(status().isOk())
+				.andExpect(jsonPath("$", hasSize(2)))
+				.andExpect(jsonPath("[0].status").value("CREATED"))
+				.andExpect(jsonPath("[1].index").value(1))
+				.andExpect(jsonPath("[1].status").value("REJECTED"))
+				.andExpect(jsonPath("[1].errors[0]").value("cliente.lote.item.nulo"));
+	}
+
 	@Test
 	@DisplayName("Deve buscar um cliente pelo id")
 	void getClienteByIdTest() throws Exception {
@@ -168,20 +244,21 @@ public class ClienteControllerTest {
 	public void deleteClienteTest() throws Exception {
 
 		Long id = 1L;
-		BDDMockito.given(service.getById(Mockito.anyLong()))
-				.willReturn(Optional.of(Cliente.builder().id(id).build()));
+		BDDMockito.given(service.deleteById(id)).willReturn(true);
 
 		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.delete(CLIENTE_API.concat("/" + id));
 
 		mvc.perform(request).andExpect(status().isNoContent());
 
+		Mockito.verify(service, Mockito.never()).getById(Mockito.anyLong());
+
 	}
 
 	@Test
 	@DisplayName("Deve retornar resource not found quando não encontrar o cliente para deletar")
 	public void deleteInexistenClienteTest() throws Exception {
 
-		BDDMockito.given(service.getById(Mockito.anyLong())).willReturn(Optional.empty());
+		BDDMockito.given(service.deleteById(Mockito.anyLong())).willReturn(false);
 
 		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.delete(CLIENTE_API.concat("/" + 1));
 
@@ -215,6 +292,95 @@ public class ClienteControllerTest {
 				//.andExpect(jsonPath("dataCadastro").value(updatedCliente.getDataCadastro()));
 	}
 
+	@Test
+	@DisplayName("Deve devolver a versão do cliente no ETag")
+	public void getClienteETagTest() throws Exception {
+		Cliente cliente = new Cliente(1L, "Fulano", "47442993001", LocalDate.now(), 3L);
+		BDDMockito.given(service.getById(1L)).willReturn(Optional.of(cliente));
+
+		mvc.perform(MockMvcRequestBuilders.get(CLIENTE_API.concat("/1")).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+	}
+
+	@Test
+	@DisplayName("Deve responder not modified sem carregar o cliente quando o ETag não mudou")
+	public void getClienteNotModifiedTest() throws Exception {
+		BDDMockito.given(service.getVersao(1L)).willReturn(Optional.of(3L));
+
+		mvc.perform(MockMvcRequestBuilders.get(CLIENTE_API.concat("/1")).accept(MediaType.APPLICATION_JSON)
+				.header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+				.andExpect(content().string(""));
+
+		Mockito.verify(service, Mockito.never()).getById(Mockito.anyLong());
+	}
+
+	@Test
+	@DisplayName("Deve responder precondition failed quando o If-Match não for a versão atual")
+	public void updateStaleClienteTest() throws Exception {
+		Cliente cliente = new Cliente(1L, "Fulano", "47442993001", LocalDate.now(), 4L);
+		BDDMockito.given(service.getById(1L)).willReturn(Optional.of(cliente));
+		ClienteDTO dto = new ClienteDTO(1L, "Cicrano", "08607652028", null);
+
+		mvc.perform(MockMvcRequestBuilders.put(CLIENTE_API.concat("/1"))
+				.contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON)
+				.header(HttpHeaders.IF_MATCH, "\"3\"")
+				.content(asJsonString(dto)))
+				.andExpect(status().isPreconditionFailed());
+
+		Mockito.verify(service, Mockito.never()).update(Mockito.any(Cliente.class));
+	}
+
+	@Test
+	@DisplayName("Deve alterar parte do cliente sem carregá-lo e devolver a ETag da nova versão")
+	public void patchClienteTest() throws Exception {
+		BDDMockito.given(service.patch(Mockito.any(Cliente.class))).willReturn(true);
+
+		mvc.perform(MockMvcRequestBuilders.patch(CLIENTE_API.concat("/1"))
+				.contentType(MediaType.APPLICATION_JSON)
+				.header(HttpHeaders.IF_MATCH, "\"3\"")
+				.content("{\"nome\": \"Cicrano\"}"))
+				.andExpect(status().isNoContent())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+
+		Mockito.verify(service).patch(Cliente.builder().id(1L).nome("Cicrano").versao(3L).build());
+		Mockito.verify(service, Mockito.never()).getById(Mockito.anyLong());
+	}
+
+	@Test
+	@DisplayName("Deve distinguir cliente inexistente de versão desatualizada quando o patch não altera nada")
+	public void patchClienteNotChangedTest() throws Exception {
+		BDDMockito.given(service.patch(Mockito.any(Cliente.class))).willReturn(false);
+		BDDMockito.given(service.getVersao(1L)).willReturn(Optional.of(4L));
+
+		mvc.perform(MockMvcRequestBuilders.patch(CLIENTE_API.concat("/1"))
+				.contentType(MediaType.APPLICATION_JSON)
+				.header(HttpHeaders.IF_MATCH, "\"3\"")
+				.content("{\"cpf\": \"08607652028\"}"))
+				.andExpect(status().isPreconditionFailed());
+
+		mvc.perform(MockMvcRequestBuilders.patch(CLIENTE_API.concat("/2"))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"cpf\": \"08607652028\"}"))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	@DisplayName("Deve recusar patch sem campos ou com cpf inválido")
+	public void patchInvalidClienteTest() throws Exception {
+		mvc.perform(MockMvcRequestBuilders.patch(CLIENTE_API.concat("/1"))
+				.contentType(MediaType.APPLICATION_JSON).content("{}"))
+				.andExpect(status().isBadRequest());
+
+		mvc.perform(MockMvcRequestBuilders.patch(CLIENTE_API.concat("/1"))
+				.contentType(MediaType.APPLICATION_JSON).content("{\"cpf\": \"12345678900\"}"))
+				.andExpect(status().isBadRequest());
+
+		Mockito.verify(service, Mockito.never()).patch(Mockito.any(Cliente.class));
+	}
+
 	@Test
 	@DisplayName("Deve filtrar clientes")
 	public void findClienteTest() throws Exception {
@@ -241,6 +407,153 @@ public class ClienteControllerTest {
 				.andExpect(jsonPath("pageable.pageNumber").value(pagePR));
 	}
 
+	@Test
+	@DisplayName("Deve filtrar clientes sem contar o total quando count=false")
+	public void findClienteWithoutCountTest() throws Exception {
+		Cliente cliente = new Cliente(1L, "Fulano", "47442993001", LocalDate.now());
+		BDDMockito.given(service.findSlice(Mockito.any(Cliente.class), Mockito.any(Pageable.class)))
+				.willReturn(new SliceImpl<Cliente>(Arrays.asList(cliente), PageRequest.of(0, 1), true));
+
+		mvc.perform(MockMvcRequestBuilders.get(CLIENTE_API.concat("?nome=Fulano&page=0&size=1&count=false"))
+				.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("content", Matchers.hasSize(1)))
+				.andExpect(jsonPath("last").value(false))
+				.andExpect(jsonPath("totalElements").doesNotExist());
+
+		Mockito.verify(service, Mockito.never()).find(Mockito.any(Cliente.class), Mockito.any(Pageable.class));
+	}
+
+	@Test
+	@DisplayName("Deve listar clientes por cursor informando o cursor da próxima página")
+	public void findByCursorTest() throws Exception {
+		Cliente fulano = new Cliente(1L, "Fulano", "47442993001", LocalDate.now());
+		Cliente cicrano = new Cliente(2L, "Cicrano", "08607652028", LocalDate.now());
+		ClienteCursor inicio = ClienteCursor.inicio(ClienteCursor.Sort.NOME);
+		BDDMockito.given(service.findAfter(inicio, 2))
+				.willReturn(new SliceImpl<>(Arrays.asList(cicrano, fulano), PageRequest.of(0, 2), true));
+
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get(CLIENTE_API.concat("/cursor?sort=nome&size=2"))
+				.accept(MediaType.APPLICATION_JSON);
+
+		String next = new ClienteCursor(ClienteCursor.Sort.NOME, 1L, "Fulano").encode();
+		mvc.perform(request).andExpect(status().isOk())
+				.andExpect(jsonPath("content", Matchers.hasSize(2)))
+				.andExpect(jsonPath("content[0].nome").value("Cicrano"))
+				.andExpect(jsonPath("size").value(2))
+				.andExpect(jsonPath("next").value(next))
+				.andExpect(jsonPath("totalElements").doesNotExist());
+	}
+
+	@Test
+	@DisplayName("Deve retornar bad request quando o cursor informado for inválido")
+	public void findByInvalidCursorTest() throws Exception {
+
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get(CLIENTE_API.concat("/cursor?after=invalido"))
+				.accept(MediaType.APPLICATION_JSON);
+
+		mvc.perform(request).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	@DisplayName("Deve buscar clientes pelo nome na ordem de relevância")
+	public void searchByNomeTest() throws Exception {
+		Cliente fulano = new Cliente(1L, "Fulano", "47442993001", LocalDate.now());
+		Cliente fulanoSilva = new Cliente(2L, "Fulano da Silva", "08607652028", LocalDate.now());
+		BDDMockito.given(service.searchByNome("ulan", 5)).willReturn(Arrays.asList(fulano, fulanoSilva));
+
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get(CLIENTE_API.concat("/search?nome=ulan&limit=5"))
+				.accept(MediaType.APPLICATION_JSON);
+
+		mvc.perform(request).andExpect(status().isOk())
+				.andExpect(jsonPath("$", Matchers.hasSize(2)))
+				.andExpect(jsonPath("[0].id").value(1))
+				.andExpect(jsonPath("[1].nome").value("Fulano da Silva"));
+	}
+
+	@Test
+	@DisplayName("Deve retornar bad request quando o termo da busca por nome for curto demais")
+	public void searchByShortNomeTest() throws Exception {
+
+		mvc.perform(MockMvcRequestBuilders.get(CLIENTE_API.concat("/search?nome=fu")))
+				.andExpect(status().isBadRequest());
+		mvc.perform(MockMvcRequestBuilders.get(CLIENTE_API.concat("/search")).param("nome", "a\u0301b"))
+				.andExpect(status().isBadRequest());
+		Mockito.verify(service, Mockito.never()).searchByNome(Mockito.anyString(), Mockito.anyInt());
+	}
+
+	@Test
+	@DisplayName("Deve sugerir clientes pelo início do nome só com id e nome")
+	public void suggestTest() throws Exception {
+		BDDMockito.given(service.suggest("ful", 10))
+				.willReturn(Arrays.asList(clienteNome(2L, "Fulana"), clienteNome(1L, "Fulano")));
+
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get(CLIENTE_API.concat("/suggest?prefix=ful"))
+				.accept(MediaType.APPLICATION_JSON);
+
+		mvc.perform(request).andExpect(status().isOk())
+				.andExpect(jsonPath("$", Matchers.hasSize(2)))
+				.andExpect(jsonPath("[0].id").value(2))
+				.andExpect(jsonPath("[0].nome").value("Fulana"))
+				.andExpect(jsonPath("[0].cpf").doesNotExist());
+	}
+
+	private static ClienteNome clienteNome(Long id, String nome) {
+		return new ClienteNome() {
+			@Override
+			public Long getId() {
+				return id;
+			}
+
+			@Override
+			public String getNome() {
+				return nome;
+			}
+		};
+	}
+
+	@Test
+	@DisplayName("Deve exportar os clientes filtrados em NDJSON")
+	public void exportNdjsonTest() throws Exception {
+		LocalDate data = LocalDate.of(2020, 8, 1);
+		Cliente fulano = new Cliente(1L, "Fulano", "47442993001", data);
+		Cliente cicrano = new Cliente(2L, "Cicrano", "08607652028", data);
+		BDDMockito.willAnswer(invocation -> {
+			Consumer<Cliente> consumer = invocation.getArgument(1);
+			consumer.accept(fulano);
+			consumer.accept(cicrano);
+			return null;
+		}).given(service).export(Mockito.any(Cliente.class), Mockito.any());
+
+		MvcResult result = mvc.perform(MockMvcRequestBuilders.get(CLIENTE_API.concat("/export?nome=ano")))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		mvc.perform(asyncDispatch(result)).andExpect(status().isOk())
+				.andExpect(content().contentType("application/x-ndjson"))
+				.andExpect(content().string(
+						"{\"id\":1,\"nome\":\"Fulano\",\"cpf\":\"47442993001\",\"dataCadastro\":\"01/08/2020\"}\n"
+						+ "{\"id\":2,\"nome\":\"Cicrano\",\"cpf\":\"08607652028\",\"dataCadastro\":\"01/08/2020\"}\n"));
+	}
+
+	@Test
+	@DisplayName("Deve exportar os clientes em CSV")
+	public void exportCsvTest() throws Exception {
+		Cliente cliente = new Cliente(1L, "Fulano; de Tal", "47442993001", LocalDate.of(2020, 8, 1));
+		BDDMockito.willAnswer(invocation -> {
+			Consumer<Cliente> consumer = invocation.getArgument(1);
+			consumer.accept(cliente);
+			return null;
+		}).given(service).export(Mockito.any(Cliente.class), Mockito.any());
+
+		MvcResult result = mvc.perform(MockMvcRequestBuilders.get(CLIENTE_API.concat("/export?format=csv")))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		mvc.perform(asyncDispatch(result)).andExpect(status().isOk())
+				.andExpect(content().string("id;nome;cpf;dataCadastro\n1;\"Fulano; de Tal\";47442993001;01/08/2020\n"));
+	}
+
 	static String asJsonString(final Object obj) {
 		try {
 			return new ObjectMapper().writeValueAsString(obj);
@@ -0,0 +1,107 @@
+package br.com.teste.clientes.api.resource;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import br.com.teste.clientes.config.InternacionalizacaoConfig;
+import br.com.teste.clientes.service.ClienteImport;
+import br.com.teste.clientes.service.ClienteImportService;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@WebMvcTest(controllers = ClienteImportController.class)
+@AutoConfigureMockMvc
+public class ClienteImportControllerTest {
+
+	static final String IMPORT_API = "/api/clientes/import";
+
+	@Autowired
+	MockMvc mvc;
+
+	@MockBean
+	ClienteImportService service;
+
+	@MockBean
+	InternacionalizacaoConfig messages;
+
+	@Test
+	@DisplayName("Deve iniciar a importação do arquivo enviado")
+	public void uploadTest() throws Exception {
+		ClienteImport importacao = new ClienteImport(10);
+		ArgumentCaptor<Path> arquivo = ArgumentCaptor.forClass(Path.class);
+		BDDMockito.given(service.start(arquivo.capture())).willReturn(importacao);
+		MockMultipartFile file = new MockMultipartFile("file", "clientes.csv", "text/csv",
+				"nome;cpf\nFulano;47442993001\n".getBytes(StandardCharsets.UTF_8));
+
+		mvc.perform(MockMvcRequestBuilders.multipart(IMPORT_API).file(file))
+				.andExpect(status().isAccepted())
+				.andExpect(header().string("Location", IMPORT_API + "/" + importacao.getId()))
+				.andExpect(jsonPath("id").value(importacao.getId()))
+				.andExpect(jsonPath("status").value("RUNNING"));
+
+		Assertions.assertThat(Files.readAllLines(arquivo.getValue())).containsExactly("nome;cpf", "Fulano;47442993001");
+		Files.delete(arquivo.getValue());
+	}
+
+	@Test
+	@DisplayName("Deve retornar service unavailable quando não houver vaga para a importação")
+	public void uploadBusyTest() throws Exception {
+		BDDMockito.given(service.start(Mockito.any(Path.class))).willThrow(new RejectedExecutionException());
+
+		mvc.perform(MockMvcRequestBuilders.post(IMPORT_API).contentType("text/csv").content("Fulano;47442993001"))
+				.andExpect(status().isServiceUnavailable());
+	}
+
+	@Test
+	@DisplayName("Deve informar o progresso e os erros da importação")
+	public void getImportTest() throws Exception {
+		ClienteImport importacao = new ClienteImport(10);
+		importacao.linhaLida();
+		importacao.linhaLida();
+		importacao.importado();
+		importacao.rejeitado(2, Arrays.asList("campo.cpf.invalido"));
+		BDDMockito.given(service.get(importacao.getId())).willReturn(Optional.of(importacao));
+
+		mvc.perform(MockMvcRequestBuilders.get(IMPORT_API + "/" + importacao.getId()).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("linhasLidas").value(2))
+				.andExpect(jsonPath("importados").value(1))
+				.andExpect(jsonPath("rejeitados").value(1))
+				.andExpect(jsonPath("errors[0].linha").value(2))
+				.andExpect(jsonPath("errors[0].errors[0]").value("campo.cpf.invalido"));
+	}
+
+	@Test
+	@DisplayName("Deve retornar resource not found para uma importação inexistente")
+	public void importNotFoundTest() throws Exception {
+		BDDMockito.given(service.get(Mockito.anyString())).willReturn(Optional.empty());
+
+		mvc.perform(MockMvcRequestBuilders.get(IMPORT_API + "/inexistente")).andExpect(status().isNotFound());
+	}
+}
@@ -0,0 +1,137 @@
+package br.com.teste.clientes.api.resource;
+
+import static org.hamcrest.Matchers.hasSize;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+import br.com.teste.clientes.api.dto.ClienteDTO;
+import br.com.teste.clientes.config.InternacionalizacaoConfig;
+import br.com.teste.clientes.exception.BusinessException;
+import br.com.teste.clientes.model.entity.Cliente;
+import br.com.teste.clientes.service.ClienteReactiveService;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import reactor.core.publisher.Mono;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles({"test", "reactive"})
+@WebFluxTest(controllers = ClienteReactiveController.class)
+public class ClienteReactiveControllerTest {
+
+	static final String CLIENTE_API = "/api/clientes";
+
+	@Autowired
+	WebTestClient client;
+
+	@MockBean
+	ClienteReactiveService service;
+
+	@MockBean
+	InternacionalizacaoConfig messages;
+
+	@Test
+	@DisplayName("Deve criar um cliente com sucesso")
+	public void createClienteTest() {
+		LocalDate data = LocalDate.now();
+		Cliente clienteSalvo = new Cliente(1L, "Fulano", "47442993001", data);
+		BDDMockito.given(service.save(Mockito.any(Cliente.class))).willReturn(Mono.just(clienteSalvo));
+
+		client.post().uri(CLIENTE_API).contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(new ClienteDTO(null, "Fulano", "474.429.930-01", null))
+				.exchange()
+				.expectStatus().isCreated()
+				.expectBody()
+				.jsonPath("id").isEqualTo(1)
+				.jsonPath("cpf").isEqualTo("47442993001")
+				.jsonPath("dataCadastro").isEqualTo(data.format(DateTimeFormatter.ofPattern("dd/MM/yyyy")));
+	}
+
+	@Test
+	@DisplayName("Deve lançar erro de validação no mesmo formato da API bloqueante")
+	public void createInvalidClienteTest() {
+		client.post().uri(CLIENTE_API).contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(new ClienteDTO())
+				.exchange()
+				.expectStatus().isBadRequest()
+				.expectBody()
+				.jsonPath("errors").value(hasSize(2))
+				.jsonPath("errors[0]").value(Matchers.containsString("obrigatorio"));
+	}
+
+	@Test
+	@DisplayName("Deve lançar erro ao tentar cadastrar um cliente com cpf já cadastrado")
+	public void createClienteWithDuplicatedCpfTest() {
+		BDDMockito.given(service.save(Mockito.any(Cliente.class)))
+				.willReturn(Mono.error(new BusinessException("campo.cpf.ja.cadastrado")));
+
+		client.post().uri(CLIENTE_API).contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(new ClienteDTO(null, "Fulano", "47442993001", null))
+				.exchange()
+				.expectStatus().isBadRequest()
+				.expectBody()
+				.jsonPath("errors[0]").isEqualTo("campo.cpf.ja.cadastrado");
+	}
+
+	@Test
+	@DisplayName("Deve retornar resource not found quando o cliente procurado não existir")
+	public void clienteNotFoundTest() {
+		BDDMockito.given(service.getById(Mockito.anyLong())).willReturn(Mono.empty());
+		BDDMockito.given(messages.getMessage("cliente.inexistente")).willReturn("Cliente inexistente.");
+
+		client.get().uri(CLIENTE_API + "/1").exchange()
+				.expectStatus().isNotFound()
+				.expectBody()
+				.jsonPath("errors[0]").value(Matchers.containsString("Cliente inexistente."));
+	}
+
+	@Test
+	@DisplayName("Deve responder conflito quando o cliente é alterado por outra requisição durante a atualização")
+	public void updateConflictTest() {
+		Cliente atual = new Cliente(1L, "Fulano", "47442993001", LocalDate.now(), 0L);
+		BDDMockito.given(service.getById(1L)).willReturn(Mono.just(atual));
+		BDDMockito.given(service.update(Mockito.any(Cliente.class)))
+				.willReturn(Mono.error(new OptimisticLockingFailureException("cliente.alterado")));
+		BDDMockito.given(messages.getMessage("cliente.alterado")).willReturn("Cliente alterado.");
+
+		client.put().uri(CLIENTE_API + "/1").contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(new ClienteDTO(null, "Cicrano", "47442993001", null))
+				.exchange()
+				.expectStatus().isEqualTo(HttpStatus.CONFLICT)
+				.expectBody()
+				.jsonPath("errors[0]").value(Matchers.containsString("Cliente alterado."));
+	}
+
+	@Test
+	@DisplayName("Deve filtrar clientes com paginação")
+	public void findClientesTest() {
+		Cliente cliente = new Cliente(1L, "Fulano", "47442993001", LocalDate.now());
+		BDDMockito.given(service.find(Mockito.any(Cliente.class), Mockito.any(Pageable.class)))
+				.willReturn(Mono.just(new PageImpl<>(Arrays.asList(cliente), PageRequest.of(0, 100), 1)));
+
+		client.get().uri(CLIENTE_API + "?nome=Fulano&page=0&size=100").exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("content").value(hasSize(1))
+				.jsonPath("totalElements").isEqualTo(1)
+				.jsonPath("pageable.pageSize").isEqualTo(100);
+	}
+}
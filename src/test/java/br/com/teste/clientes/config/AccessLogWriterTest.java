@@ -0,0 +1,89 @@
+package br.com.teste.clientes.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AccessLogWriterTest {
+
+    @Test
+    @DisplayName("Deve entregar os itens em ordem e recusar sem esperar quando o buffer estiver cheio")
+    public void bufferTest() {
+        AccessLogBuffer<Integer> buffer = new AccessLogBuffer<>(3);
+
+        assertThat(buffer.capacity()).isEqualTo(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.poll()).isEqualTo(0);
+        assertThat(buffer.offer(4)).isTrue();
+        for (int i = 1; i <= 4; i++) {
+            assertThat(buffer.poll()).isEqualTo(i);
+        }
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve descartar e contar os eventos que não cabem, amostrando só leituras bem-sucedidas")
+    public void registrarTest() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AccessLogWriter writer = new AccessLogWriter(2, 0, registry);
+
+        writer.registrar(evento("GET", 200));
+        writer.registrar(evento("GET", 404));
+        writer.registrar(evento("POST", 201));
+        writer.registrar(evento("DELETE", 204));
+
+        assertThat(registry.get(AccessLogWriter.DESCARTADOS).counter().count()).isEqualTo(1);
+        assertThat(registry.get("clientes.access.log.pending").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve acordar a thread de escrita parada quando um evento chegar")
+    public void acordarTest() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AccessLogWriter writer = new AccessLogWriter(16, 1, registry);
+        writer.start();
+        try {
+            for (int rodada = 0; rodada < 3; rodada++) {
+                Thread.sleep(50);
+                writer.registrar(evento("POST", 201));
+
+                long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+                while (registry.get("clientes.access.log.pending").gauge().value() > 0 && System.nanoTime() < limite) {
+                    Thread.sleep(1);
+                }
+                assertThat(registry.get("clientes.access.log.pending").gauge().value()).isZero();
+            }
+        } finally {
+            writer.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve escrever o evento em JSON com o cpf mascarado, inclusive na query")
+    public void jsonTest() throws Exception {
+        AccessLogWriter writer = new AccessLogWriter(2, 1, new SimpleMeterRegistry());
+        AccessLogEvent event = new AccessLogEvent(0, 0, "POST", "/api/clientes", "nome=Ana&cpf=474.429.930-01");
+        event.status = 201;
+        event.duracaoNanos = 1_234_567;
+        event.clienteId = 7L;
+        event.cpf = "47442993001";
+
+        assertThat(writer.json(event)).isEqualTo("{\"ts\":\"1970-01-01T00:00:00Z\",\"method\":\"POST\","
+                + "\"path\":\"/api/clientes\",\"query\":\"nome=Ana&cpf=***.***.***-01\",\"status\":201,"
+                + "\"durationMs\":1.235,\"clienteId\":7,\"cpf\":\"***.***.***-01\"}");
+    }
+
+    private static AccessLogEvent evento(String method, int status) {
+        AccessLogEvent event = new AccessLogEvent(0, 0, method, "/api/clientes", null);
+        event.status = status;
+        return event;
+    }
+}
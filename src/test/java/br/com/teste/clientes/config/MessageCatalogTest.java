@@ -0,0 +1,32 @@
+package br.com.teste.clientes.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MessageCatalogTest {
+
+    @Test
+    @DisplayName("Deve resolver todas as mensagens no idioma informado, caindo no arquivo base")
+    public void loadTest() {
+        ReloadableResourceBundleMessageSource messageSource = new ReloadableResourceBundleMessageSource();
+        messageSource.setBasename("classpath:messages");
+        messageSource.setDefaultEncoding(StandardCharsets.ISO_8859_1.name());
+        messageSource.setFallbackToSystemLocale(false);
+
+        MessageCatalog ingles = MessageCatalog.load(messageSource, "messages", StandardCharsets.ISO_8859_1, Locale.UK);
+        MessageCatalog portugues = MessageCatalog.load(messageSource, "messages", StandardCharsets.ISO_8859_1,
+                new Locale("pt", "BR"));
+
+        assertThat(ingles.get("cliente.inexistente")).isEqualTo("Client not found.");
+        assertThat(portugues.get("cliente.inexistente")).isEqualTo("Cliente não encontrado.");
+        assertThat(portugues.get("codigo.inexistente")).isNull();
+        assertThat(ingles.contains("Client not found.")).isTrue();
+        assertThat(ingles.contains("Cliente não encontrado.")).isFalse();
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.teste.clientes.config;
+
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SlowQueryListenerTest {
+
+    @Test
+    @DisplayName("Deve descrever os parâmetros só pelo tipo, sem os valores")
+    public void formatoTest() throws Exception {
+        ParameterSetOperation cpf = new ParameterSetOperation(
+                PreparedStatement.class.getMethod("setString", int.class, String.class), new Object[]{1, "47442993001"});
+        ParameterSetOperation id = new ParameterSetOperation(
+                PreparedStatement.class.getMethod("setLong", int.class, long.class), new Object[]{2, 10L});
+        ParameterSetOperation data = new ParameterSetOperation(
+                PreparedStatement.class.getMethod("setNull", int.class, int.class), new Object[]{3, Types.DATE});
+
+        assertThat(SlowQueryListener.formato(Arrays.asList(cpf, id, data))).isEqualTo("[String, Long, null]");
+    }
+
+    @Test
+    @DisplayName("Deve apontar o método do serviço de clientes da pilha como origem, passando pelos auxiliares")
+    public void origemTest() {
+        StackTraceElement[] pilha = {
+                new StackTraceElement("org.hibernate.loader.Loader", "doQuery", "Loader.java", 1),
+                new StackTraceElement("br.com.teste.clientes.service.impl.ClienteServiceImpl$$EnhancerBySpringCGLIB$$1",
+                        "find", null, -1),
+                new StackTraceElement("br.com.teste.clientes.service.impl.ClienteServiceImpl", "find", "ClienteServiceImpl.java", 1),
+                new StackTraceElement("br.com.teste.clientes.api.resource.ClienteController", "find", "ClienteController.java", 1)
+        };
+
+        assertThat(SlowQueryListener.origem(pilha)).isEqualTo("ClienteServiceImpl.find");
+
+        StackTraceElement[] indice = {
+                new StackTraceElement("br.com.teste.clientes.service.impl.TrigramIndex", "buscar", "TrigramIndex.java", 1),
+                new StackTraceElement("br.com.teste.clientes.service.impl.ClienteServiceImpl", "searchByNome",
+                        "ClienteServiceImpl.java", 1)
+        };
+        assertThat(SlowQueryListener.origem(indice)).isEqualTo("ClienteServiceImpl.searchByNome");
+
+        StackTraceElement[] importacao = {
+                new StackTraceElement("br.com.teste.clientes.service.impl.ClienteImportServiceImpl", "gravarLote",
+                        "ClienteImportServiceImpl.java", 1),
+                new StackTraceElement("java.lang.Thread", "run", "Thread.java", 1)
+        };
+        assertThat(SlowQueryListener.origem(importacao)).isEqualTo("ClienteImportServiceImpl.gravarLote");
+        assertThat(SlowQueryListener.origem(new StackTraceElement[0])).isEqualTo("origem desconhecida");
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.teste.clientes.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VirtualThreadConfigTest {
+
+    @Test
+    @DisplayName("Deve criar uma virtual thread por tarefa no JDK 21 ou mais novo e nada nos anteriores")
+    public void newVirtualThreadPerTaskExecutorTest() throws Exception {
+        ExecutorService executor = VirtualThreadConfig.newVirtualThreadPerTaskExecutor("teste-vt-");
+
+        if (versaoDoJava() < 21) {
+            assertThat(executor).isNull();
+            return;
+        }
+        try {
+            Future<Thread> primeira = executor.submit(Thread::currentThread);
+            Future<Thread> segunda = executor.submit(Thread::currentThread);
+
+            Thread thread = primeira.get(5, TimeUnit.SECONDS);
+            assertThat(Thread.class.getMethod("isVirtual").invoke(thread)).isEqualTo(true);
+            assertThat(thread.getName()).startsWith("teste-vt-");
+            assertThat(segunda.get(5, TimeUnit.SECONDS)).isNotSameAs(thread);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static int versaoDoJava() {
+        String versao = System.getProperty("java.specification.version");
+        return versao.startsWith("1.") ? Integer.parseInt(versao.substring(2)) : Integer.parseInt(versao);
+    }
+}
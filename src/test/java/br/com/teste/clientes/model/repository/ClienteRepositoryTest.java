@@ -1,16 +1,25 @@
 package br.com.teste.clientes.model.repository;
 
 import br.com.teste.clientes.model.entity.Cliente;
+import br.com.teste.clientes.service.PadroesLike;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -47,6 +56,122 @@ public class ClienteRepositoryTest {
         assertThat(exists).isFalse();
     }
 
+    @Test
+    @DisplayName("Deve gravar o cpf sem máscara, encontrando o mesmo cliente pelas duas formas")
+    public void persistNormalizedCpfTest() {
+
+        Cliente cliente = entityManager.persistFlushFind(Cliente.builder().nome("Fulano").cpf("474.429.930-01").build());
+
+        assertThat(cliente.getCpf()).isEqualTo("47442993001");
+        assertThat(repository.existsByCpf("47442993001")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve retornar apenas os cpfs informados que já estão cadastrados")
+    public void findCpfsInTest() {
+
+        entityManager.persist(Cliente.builder().nome("Fulano").cpf("47442993001").build());
+        entityManager.persist(Cliente.builder().nome("Cicrano").cpf("08607652028").build());
+
+        List<String> cpfs = repository.findCpfsIn(Arrays.asList("47442993001", "52998224725"));
+
+        assertThat(cpfs).containsExactly("47442993001");
+    }
+
+    @Test
+    @DisplayName("Deve listar os clientes seguintes ao cursor na ordem de nome e id")
+    public void findAfterNomeTest() {
+
+        Cliente ana = entityManager.persist(Cliente.builder().nome("Ana").cpf("47442993001").build());
+        Cliente bia = entityManager.persist(Cliente.builder().nome("Bia").cpf("08607652028").build());
+        Cliente outraBia = entityManager.persist(Cliente.builder().nome("Bia").cpf("52998224725").build());
+        Cliente caio = entityManager.persist(Cliente.builder().nome("Caio").cpf("11144477735").build());
+
+        List<Cliente> primeiros = repository.findOrderedByNome(PageRequest.of(0, 2));
+        List<Cliente> seguintes = repository.findAfterNome(bia.getNome(), bia.getId(), PageRequest.of(0, 10));
+
+        assertThat(primeiros).containsExactly(ana, bia);
+        assertThat(seguintes).containsExactly(outraBia, caio);
+    }
+
+    @Test
+    @DisplayName("Deve percorrer apenas os clientes que atendem ao filtro, com curingas literais")
+    public void streamByFilterTest() {
+
+        Cliente mariana = entityManager.persist(Cliente.builder().nome("Mariana").cpf("47442993001").build());
+        entityManager.persist(Cliente.builder().nome("Cicrano").cpf("08607652028").build());
+        Cliente adriana = entityManager.persist(Cliente.builder().nome("Adriana").cpf("52998224725").build());
+
+        Cliente curinga = entityManager.persist(Cliente.builder().nome("Ana_100%").cpf("39053344705").build());
+
+        try (Stream<Cliente> clientes = repository.streamByFilter(null, PadroesLike.contendo("ANA"), null, null)) {
+            assertThat(clientes).containsExactly(mariana, adriana, curinga);
+        }
+        try (Stream<Cliente> clientes = repository.streamByFilter(null, PadroesLike.contendo("a_"), null, null)) {
+            assertThat(clientes).containsExactly(curinga);
+        }
+        try (Stream<Cliente> clientes = repository.streamByFilter(null, PadroesLike.contendo("%"), null, null)) {
+            assertThat(clientes).containsExactly(curinga);
+        }
+        try (Stream<Cliente> clientes = repository.streamByFilter(null, null, PadroesLike.contendo("2247"), null)) {
+            assertThat(clientes).containsExactly(adriana);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve buscar pelo trecho do nome ignorando maiúsculas e acentos, com curingas literais")
+    public void findByNomeContendoTest() {
+
+        Cliente jose = entityManager.persist(Cliente.builder().nome("JOSÉ Conceição").cpf("47442993001").build());
+        entityManager.persist(Cliente.builder().nome("José da Conceição Silva").cpf("08607652028").build());
+        entityManager.persist(Cliente.builder().nome("Josefa Conceicao_").cpf("52998224725").build());
+
+        assertThat(repository.findByNomeContendo(PadroesLike.contendo("jose conceicao"), PageRequest.of(0, 10)))
+                .containsExactly(jose);
+        assertThat(repository.findByNomeContendo(PadroesLike.contendo("conceicao"), PageRequest.of(0, 2)))
+                .extracting(Cliente::getNome).containsExactly("JOSÉ Conceição", "Josefa Conceicao_");
+        assertThat(repository.findByNomeContendo(PadroesLike.contendo("o_"), PageRequest.of(0, 10)))
+                .extracting(Cliente::getNome).containsExactly("Josefa Conceicao_");
+    }
+
+    @Test
+    @DisplayName("Deve sugerir nomes pelo prefixo ignorando maiúsculas e acentos, com curingas literais")
+    public void findNomesComecandoComTest() {
+
+        Cliente jose = entityManager.persist(Cliente.builder().nome("JOSÉ Conceição").cpf("47442993001").build());
+        Cliente josefa = entityManager.persist(Cliente.builder().nome("Josefa_ Silva").cpf("08607652028").build());
+        entityManager.persist(Cliente.builder().nome("Maria José").cpf("52998224725").build());
+
+        assertThat(repository.findNomesComecandoCom(PadroesLike.comecandoCom("jose"), PageRequest.of(0, 10)))
+                .extracting(ClienteNome::getId).containsExactly(jose.getId(), josefa.getId());
+        assertThat(repository.findNomesComecandoCom(PadroesLike.comecandoCom("josef_"), PageRequest.of(0, 10)))
+                .isEmpty();
+        assertThat(repository.findNomesComecandoCom(PadroesLike.comecandoCom("josefa_"), PageRequest.of(0, 10)))
+                .extracting(ClienteNome::getNome).containsExactly("Josefa_ Silva");
+        assertThat(repository.findNomesComecandoCom(PadroesLike.comecandoCom("%"), PageRequest.of(0, 10)))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve paginar a busca por exemplo sem contar, indicando se existe a próxima página")
+    public void findSliceTest() {
+
+        Cliente mariana = entityManager.persist(Cliente.builder().nome("Mariana").cpf("47442993001").build());
+        entityManager.persist(Cliente.builder().nome("Cicrano").cpf("08607652028").build());
+        Cliente adriana = entityManager.persist(Cliente.builder().nome("Adriana").cpf("52998224725").build());
+        Cliente ana = entityManager.persist(Cliente.builder().nome("Ana").cpf("11144477735").build());
+        Example<Cliente> example = Example.of(Cliente.builder().nome("ANA").build(), ExampleMatcher.matching()
+                .withIgnoreCase().withStringMatcher(ExampleMatcher.StringMatcher.CONTAINING));
+
+        Slice<Cliente> primeira = repository.findSlice(example, PageRequest.of(0, 2, Sort.by("nome")));
+        Slice<Cliente> segunda = repository.findSlice(example, PageRequest.of(1, 2, Sort.by("nome")));
+
+        assertThat(primeira.getContent()).containsExactly(adriana, ana);
+        assertThat(primeira.hasNext()).isTrue();
+        assertThat(segunda.getContent()).containsExactly(mariana);
+        assertThat(segunda.hasNext()).isFalse();
+    }
+
     @Test
     @DisplayName("Deve obter um cliente por id")
     public void findByIdTest() {
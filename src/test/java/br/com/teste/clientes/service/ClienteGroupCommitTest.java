@@ -0,0 +1,107 @@
+package br.com.teste.clientes.service;
+
+import br.com.teste.clientes.exception.BusinessException;
+import br.com.teste.clientes.model.entity.Cliente;
+import br.com.teste.clientes.model.repository.ClienteRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "clientes.group-commit.enabled=true",
+        "clientes.group-commit.max-wait=200ms"
+})
+@ActiveProfiles("test")
+public class ClienteGroupCommitTest {
+
+    static final String[] CPFS = {"47442993001", "08607652028", "52998224725", "11144477735"};
+
+    @Autowired
+    ClienteService service;
+
+    @Autowired
+    ClienteRepository repository;
+
+    @Autowired
+    MeterRegistry registry;
+
+    @AfterEach
+    public void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve gravar cadastros concorrentes em lote, devolvendo a cada um o próprio resultado")
+    public void saveConcurrentlyTest() throws Exception {
+        service.save(Cliente.builder().nome("Existente").cpf(CPFS[0]).build());
+        DistributionSummary lotes = registry.get("clientes.group-commit.batch.size").summary();
+        long lotesAntes = lotes.count();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Cliente>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Cliente cliente = Cliente.builder().nome("Fulano " + i).cpf(CPFS[i % CPFS.length]).build();
+            futures.add(executor.submit(() -> {
+                largada.await();
+                return service.save(cliente);
+            }));
+        }
+        largada.countDown();
+
+        List<Cliente> salvos = new ArrayList<>();
+        int rejeitados = 0;
+        for (Future<Cliente> future : futures) {
+            try {
+                salvos.add(future.get());
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(BusinessException.class);
+                rejeitados++;
+            }
+        }
+        executor.shutdown();
+
+        assertThat(salvos).hasSize(3).allSatisfy(cliente -> assertThat(cliente.getId()).isNotNull());
+        assertThat(salvos).extracting(Cliente::getCpf).containsExactlyInAnyOrder(CPFS[1], CPFS[2], CPFS[3]);
+        assertThat(rejeitados).isEqualTo(5);
+        assertThat(repository.count()).isEqualTo(4);
+        assertThat(lotes.count() - lotesAntes).isLessThan(8);
+    }
+
+    @Test
+    @DisplayName("Deve regravar um a um quando o lote falha, devolvendo o cliente com o id gravado")
+    public void saveAfterBatchFailureTest() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<Cliente> valido = executor.submit(() ->
+                service.save(Cliente.builder().nome("Fulano").cpf(CPFS[1]).build()));
+        Thread.sleep(50);
+        Future<Cliente> invalido = executor.submit(() ->
+                service.save(Cliente.builder().nome("").cpf(CPFS[2]).build()));
+
+        Cliente salvo = valido.get();
+        assertThatThrownBy(invalido::get).isInstanceOf(ExecutionException.class);
+        executor.shutdown();
+
+        assertThat(repository.count()).isEqualTo(1);
+        assertThat(repository.findById(salvo.getId())).hasValueSatisfying(cliente ->
+                assertThat(cliente.getCpf()).isEqualTo(CPFS[1]));
+        assertThat(service.getById(salvo.getId())).hasValueSatisfying(cliente ->
+                assertThat(cliente.getId()).isEqualTo(salvo.getId()));
+    }
+}
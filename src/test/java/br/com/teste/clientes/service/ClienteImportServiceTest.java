@@ -0,0 +1,92 @@
+package br.com.teste.clientes.service;
+
+import br.com.teste.clientes.config.InternacionalizacaoConfig;
+import br.com.teste.clientes.model.entity.Cliente;
+import br.com.teste.clientes.service.impl.ClienteImportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.validation.Validation;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class ClienteImportServiceTest {
+
+    ClienteImportServiceImpl service;
+
+    @MockBean
+    ClienteService clienteService;
+
+    @BeforeEach
+    public void setUp() {
+        service = new ClienteImportServiceImpl(clienteService,
+                Validation.buildDefaultValidatorFactory().getValidator(), 1);
+        InternacionalizacaoConfig messages = Mockito.mock(InternacionalizacaoConfig.class);
+        Mockito.when(messages.getMessage(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        ReflectionTestUtils.setField(service, "messages", messages);
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+    }
+
+    @Test
+    @DisplayName("Deve importar o CSV em blocos registrando os erros de cada linha")
+    public void importCsvTest() throws Exception {
+        Path arquivo = Files.createTempFile("clientes", ".csv");
+        Files.write(arquivo, Arrays.asList(
+                "nome;cpf",
+                "Fulano;47442993001",
+                "Cicrano;11111111",
+                "Beltrano;08607652028",
+                "",
+                "linha sem separador",
+                "Repetido;47442993001"), StandardCharsets.UTF_8);
+        Mockito.when(clienteService.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Cliente> bloco = invocation.getArgument(0);
+            return bloco.stream()
+                    .map(cliente -> cliente.getNome().equals("Repetido")
+                            ? ClienteBatchResult.rejected(cliente, "campo.cpf.ja.cadastrado")
+                            : ClienteBatchResult.created(cliente))
+                    .collect(Collectors.toList());
+        });
+
+        ClienteImport importacao = new ClienteImport(10);
+        ReflectionTestUtils.invokeMethod(service, "run", importacao, arquivo);
+
+        assertThat(importacao.getStatus()).isEqualTo(ClienteImport.Status.COMPLETED);
+        assertThat(importacao.getLinhasLidas()).isEqualTo(5);
+        assertThat(importacao.getImportados()).isEqualTo(2);
+        assertThat(importacao.getRejeitados()).isEqualTo(3);
+        assertThat(importacao.getErrors()).extracting(ClienteImport.RowError::getLinha).containsExactly(3L, 6L, 7L);
+        assertThat(importacao.getErrors().get(2).getErrors()).containsExactly("campo.cpf.ja.cadastrado");
+        Mockito.verify(clienteService, Mockito.times(2)).saveAll(anyList());
+        assertThat(Files.exists(arquivo)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve guardar no máximo a quantidade configurada de erros")
+    public void maxErrorsTest() {
+        ClienteImport importacao = new ClienteImport(1);
+
+        importacao.rejeitado(1, Arrays.asList("erro"));
+        importacao.rejeitado(2, Arrays.asList("erro"));
+
+        assertThat(importacao.getRejeitados()).isEqualTo(2);
+        assertThat(importacao.getErrors()).hasSize(1);
+    }
+}
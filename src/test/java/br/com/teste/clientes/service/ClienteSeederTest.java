@@ -0,0 +1,74 @@
+package br.com.teste.clientes.service;
+
+import br.com.teste.clientes.service.impl.ClienteSeederImpl;
+import br.com.teste.clientes.validation.Cpf;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ClienteSeederTest {
+
+    private JdbcTemplate jdbc;
+
+    private ClienteSeeder seeder;
+
+    @BeforeEach
+    public void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create sequence cliente_seq start with 1 increment by 50");
+        jdbc.execute("create table cliente (id bigint primary key, nome varchar(150) not null, "
+                + "cpf varchar(11) not null, data_cadastro date, versao bigint default 0 not null)");
+        jdbc.execute("alter table cliente add constraint uk_cliente_cpf unique (cpf)");
+        jdbc.execute("create index idx_cliente_nome_id on cliente (nome, id)");
+        seeder = new ClienteSeederImpl(dataSource, 3);
+    }
+
+    @Test
+    @DisplayName("Deve cadastrar os clientes sintéticos em paralelo e avançar a sequence")
+    public void seedTest() {
+        long quantidade = 120_345;
+
+        assertThat(seeder.seed(quantidade, 42)).isEqualTo(quantidade);
+
+        assertThat(jdbc.queryForObject("select count(*) from cliente", Long.class)).isEqualTo(quantidade);
+        assertThat(jdbc.queryForObject("select min(id) || '-' || max(id) from cliente", String.class))
+                .isEqualTo("1-" + quantidade);
+        SyntheticClientes clientes = new SyntheticClientes(42);
+        List<Map<String, Object>> amostra = jdbc.queryForList(
+                "select id, nome, cpf from cliente where id in (1, 50001, ?)", quantidade);
+        assertThat(amostra).hasSize(3).allSatisfy(linha -> {
+            long indice = ((Number) linha.get("ID")).longValue() - 1;
+            assertThat(linha.get("CPF")).isEqualTo(clientes.cpf(indice));
+            assertThat(linha.get("NOME")).isEqualTo(clientes.nome(indice));
+            assertThat(Cpf.isValid((String) linha.get("CPF"))).isTrue();
+        });
+        assertThat(jdbc.queryForObject("select cliente_seq.nextval from dual", Long.class))
+                .isEqualTo(quantidade + 100);
+        assertThat(jdbc.queryForList("select distinct index_name from information_schema.indexes "
+                + "where table_name = 'CLIENTE' and not primary_key", String.class))
+                .anyMatch(indice -> indice.startsWith("UK_CLIENTE_CPF")).contains("IDX_CLIENTE_NOME_ID");
+        assertThatThrownBy(() -> jdbc.update("insert into cliente (id, nome, cpf) values (0, 'Fulano', ?)",
+                clientes.cpf(0))).isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    @DisplayName("Não deve cadastrar numa tabela que já tem clientes")
+    public void tabelaComClientesTest() {
+        jdbc.update("insert into cliente (id, nome, cpf) values (1, 'Fulano', '47442993001')");
+
+        assertThat(seeder.seed(1_000, 42)).isZero();
+        assertThat(jdbc.queryForObject("select count(*) from cliente", Long.class)).isEqualTo(1);
+    }
+}
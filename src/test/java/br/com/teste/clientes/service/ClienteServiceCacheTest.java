@@ -0,0 +1,103 @@
+package br.com.teste.clientes.service;
+
+import br.com.teste.clientes.config.CacheConfig;
+import br.com.teste.clientes.model.entity.Cliente;
+import br.com.teste.clientes.model.repository.ClienteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ClienteServiceCacheTest {
+
+    @Autowired
+    ClienteService service;
+
+    @SpyBean
+    ClienteRepository repository;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @AfterEach
+    public void tearDown() {
+        repository.deleteAll();
+        cache().clear();
+    }
+
+    @Test
+    @DisplayName("Deve guardar no cache o cliente cadastrado e devolvê-lo sem consultar o banco")
+    public void getByIdFromCacheTest() {
+        Cliente cliente = service.save(Cliente.builder().nome("Fulano").cpf("47442993001").build());
+        repository.deleteById(cliente.getId());
+
+        assertThat(service.getById(cliente.getId())).contains(cliente);
+    }
+
+    @Test
+    @DisplayName("Deve carregar no cache o cliente lido do banco e não guardar ids inexistentes")
+    public void getByIdLoadsCacheTest() {
+        Cliente cliente = repository.save(Cliente.builder().nome("Fulano").cpf("47442993001").build());
+
+        assertThat(service.getById(cliente.getId())).isPresent();
+        assertThat(cache().get(cliente.getId(), Cliente.class)).isEqualTo(cliente);
+
+        assertThat(service.getById(-1L)).isEmpty();
+        assertThat(cache().get(-1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve atualizar o cache na alteração e removê-lo na exclusão")
+    public void updateAndDeleteRefreshCacheTest() {
+        Cliente cliente = service.save(Cliente.builder().nome("Fulano").cpf("47442993001").build());
+        Long id = cliente.getId();
+        Cliente alteracao = Cliente.builder().id(id).nome("Cicrano").cpf(cliente.getCpf())
+                .dataCadastro(cliente.getDataCadastro()).versao(cliente.getVersao()).build();
+
+        service.update(alteracao);
+        assertThat(cache().get(id, Cliente.class).getNome()).isEqualTo("Cicrano");
+        assertThat(service.getById(id).map(Cliente::getNome)).contains("Cicrano");
+        Mockito.verify(repository, Mockito.never()).findById(id);
+
+        service.delete(cliente);
+        assertThat(cache().get(cliente.getId())).isNull();
+        assertThat(service.getById(cliente.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve alterar parcialmente e excluir pelo id sem deixar o cliente antigo no cache")
+    public void patchAndDeleteByIdEvictCacheTest() {
+        Cliente cliente = service.save(Cliente.builder().nome("Fulano").cpf("47442993001").build());
+        Long id = cliente.getId();
+
+        assertThat(service.patch(Cliente.builder().id(id).cpf("086.076.520-28").build())).isTrue();
+        assertThat(cache().get(id)).isNull();
+        Cliente alterado = service.getById(id).get();
+        assertThat(alterado.getNome()).isEqualTo("Fulano");
+        assertThat(alterado.getCpf()).isEqualTo("08607652028");
+        assertThat(alterado.getVersao()).isEqualTo(cliente.getVersao() + 1);
+
+        assertThat(service.patch(Cliente.builder().id(id).nome("Cicrano").versao(cliente.getVersao()).build()))
+                .isFalse();
+        assertThat(service.patch(Cliente.builder().id(-1L).nome("Cicrano").build())).isFalse();
+
+        assertThat(service.deleteById(id)).isTrue();
+        assertThat(cache().get(id)).isNull();
+        assertThat(service.getById(id)).isEmpty();
+        assertThat(service.deleteById(id)).isFalse();
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(CacheConfig.CLIENTES);
+    }
+}
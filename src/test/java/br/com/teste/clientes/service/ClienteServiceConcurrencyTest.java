@@ -0,0 +1,93 @@
+package br.com.teste.clientes.service;
+
+import br.com.teste.clientes.exception.BusinessException;
+import br.com.teste.clientes.model.entity.Cliente;
+import br.com.teste.clientes.model.repository.ClienteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ClienteServiceConcurrencyTest {
+
+    static final int THREADS = 16;
+
+    @Autowired
+    ClienteService service;
+
+    @Autowired
+    ClienteRepository repository;
+
+    @AfterEach
+    public void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve cadastrar apenas um cliente quando o mesmo cpf for enviado em paralelo")
+    public void saveSameCpfConcurrentlyTest() throws Exception {
+        String cpf = "47442993001";
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Cliente>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Cliente cliente = Cliente.builder().nome("Fulano " + i).cpf(cpf).build();
+            futures.add(executor.submit(() -> {
+                largada.await();
+                return service.save(cliente);
+            }));
+        }
+        largada.countDown();
+
+        int salvos = 0;
+        int duplicados = 0;
+        for (Future<Cliente> future : futures) {
+            try {
+                future.get();
+                salvos++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(BusinessException.class);
+                duplicados++;
+            }
+        }
+        executor.shutdown();
+
+        assertThat(salvos).isEqualTo(1);
+        assertThat(duplicados).isEqualTo(THREADS - 1);
+        assertThat(repository.existsByCpf(cpf)).isTrue();
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve recusar a alteração feita sobre uma versão antiga do cliente")
+    public void updateStaleVersionTest() {
+        Cliente salvo = service.save(Cliente.builder().nome("Fulano").cpf("47442993001").build());
+        Cliente primeira = Cliente.builder().id(salvo.getId()).nome("Cicrano").cpf(salvo.getCpf())
+                .dataCadastro(salvo.getDataCadastro()).versao(salvo.getVersao()).build();
+        Cliente segunda = Cliente.builder().id(salvo.getId()).nome("Beltrano").cpf(salvo.getCpf())
+                .dataCadastro(salvo.getDataCadastro()).versao(salvo.getVersao()).build();
+
+        Cliente alterado = service.update(primeira);
+
+        assertThat(alterado.getVersao()).isEqualTo(salvo.getVersao() + 1);
+        assertThrows(OptimisticLockingFailureException.class, () -> service.update(segunda));
+        assertThat(service.getVersao(salvo.getId())).contains(alterado.getVersao());
+        assertThat(repository.findById(salvo.getId()).get().getNome()).isEqualTo("Cicrano");
+    }
+}
@@ -3,6 +3,7 @@ package br.com.teste.clientes.service;
 import br.com.teste.clientes.config.InternacionalizacaoConfig;
 import br.com.teste.clientes.exception.BusinessException;
 import br.com.teste.clientes.model.entity.Cliente;
+import br.com.teste.clientes.model.repository.ClienteNome;
 import br.com.teste.clientes.model.repository.ClienteRepository;
 import br.com.teste.clientes.service.impl.ClienteServiceImpl;
 import org.assertj.core.api.Assertions;
@@ -10,18 +11,25 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.hibernate.exception.ConstraintViolationException;
 import org.mockito.Mockito;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -38,9 +46,12 @@ public class ClienteServiceTest {
     @MockBean
     ClienteRepository repository;
 
+    ApplicationEventPublisher publisher;
+
     @BeforeEach
     public void SetUp() {
-        this.service = new ClienteServiceImpl(repository);
+        this.publisher = Mockito.mock(ApplicationEventPublisher.class);
+        this.service = new ClienteServiceImpl(repository, publisher);
     }
 
     @Test
@@ -53,8 +64,7 @@ public class ClienteServiceTest {
         Cliente clienteSaving = Cliente.builder().nome(nome).cpf(cpf).build();
         Cliente clienteSaved = new Cliente(id, nome, cpf, data);
 
-        Mockito.when(repository.existsByCpf(Mockito.anyString())).thenReturn(false);
-        Mockito.when(repository.save(clienteSaving)).thenReturn(clienteSaved);
+        Mockito.when(repository.saveAndFlush(clienteSaving)).thenReturn(clienteSaved);
 
         Cliente savedCliente = service.save(clienteSaving);
 
@@ -69,12 +79,171 @@ public class ClienteServiceTest {
     public void shoulNotSaveAClienteWithDuplicatedCpfTest() {
         String mensagemErro = "campo.cpf.ja.cadastrado";
         Cliente cliente = Cliente.builder().nome("Fulano").cpf("47442993001").build();
-        Mockito.when(repository.existsByCpf(Mockito.anyString())).thenThrow( new BusinessException(mensagemErro));
+        InternacionalizacaoConfig messagesMock = Mockito.mock(InternacionalizacaoConfig.class);
+        Mockito.when(messagesMock.getMessage(mensagemErro)).thenReturn(mensagemErro);
+        ReflectionTestUtils.setField(service, "messages", messagesMock);
+        Mockito.when(repository.saveAndFlush(cliente)).thenThrow(new DataIntegrityViolationException("cpf",
+                new ConstraintViolationException("cpf", null, "PUBLIC.UK_CLIENTE_CPF_INDEX_8")));
 
         Throwable exception = Assertions.catchThrowable(() -> service.save(cliente));
 
         assertThat(exception).isInstanceOfAny(BusinessException.class).hasMessage("campo.cpf.ja.cadastrado");
-        Mockito.verify(repository, Mockito.never()).save(cliente);
+        Mockito.verify(repository, Mockito.never()).existsByCpf(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve lançar o erro BusinessException ao tentar atualizar um cliente com cpf de outro cliente")
+    public void shouldNotUpdateAClienteWithDuplicatedCpfTest() {
+        String mensagemErro = "campo.cpf.ja.cadastrado";
+        Cliente cliente = new Cliente(1L, "Fulano", "47442993001", LocalDate.now());
+        InternacionalizacaoConfig messagesMock = Mockito.mock(InternacionalizacaoConfig.class);
+        Mockito.when(messagesMock.getMessage(anyString())).thenReturn(mensagemErro);
+        ReflectionTestUtils.setField(service, "messages", messagesMock);
+        Mockito.when(repository.saveAndFlush(cliente)).thenThrow(new DataIntegrityViolationException("cpf",
+                new ConstraintViolationException("cpf", null, "PUBLIC.UK_CLIENTE_CPF_INDEX_8")));
+
+        Throwable exception = Assertions.catchThrowable(() -> service.update(cliente));
+
+        assertThat(exception).isInstanceOfAny(BusinessException.class).hasMessage("campo.cpf.ja.cadastrado");
+        Mockito.verify(publisher, Mockito.never()).publishEvent(any(ClienteSavedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Deve propagar violações de integridade que não sejam de cpf duplicado")
+    public void shouldPropagateOtherIntegrityViolationsTest() {
+        Cliente cliente = Cliente.builder().nome("Fulano").cpf("47442993001").build();
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("nome");
+        Mockito.when(repository.saveAndFlush(cliente)).thenThrow(violation);
+
+        Throwable exception = Assertions.catchThrowable(() -> service.save(cliente));
+
+        assertThat(exception).isSameAs(violation);
+    }
+
+    @Test
+    @DisplayName("Deve salvar em lote apenas os clientes com cpf ainda não cadastrado")
+    public void saveAllClientesTest() {
+        Cliente novo = Cliente.builder().nome("Fulano").cpf("47442993001").build();
+        Cliente cadastrado = Cliente.builder().nome("Cicrano").cpf("08607652028").build();
+        Cliente repetido = Cliente.builder().nome("Beltrano").cpf("47442993001").build();
+
+        messagesMock(service);
+        ReflectionTestUtils.setField(service, "entityManager", Mockito.mock(EntityManager.class));
+        Mockito.when(repository.findCpfsIn(anyCollection())).thenReturn(Arrays.asList("08607652028"));
+
+        List<ClienteBatchResult> results = service.saveAll(Arrays.asList(novo, cadastrado, repetido));
+
+        assertThat(results).extracting(ClienteBatchResult::isCreated).containsExactly(true, false, false);
+        assertThat(results).extracting(ClienteBatchResult::getCliente).containsExactly(novo, cadastrado, repetido);
+        Mockito.verify(repository, Mockito.times(1)).findCpfsIn(anyCollection());
+        Mockito.verify(repository, Mockito.times(1)).saveAll(Arrays.asList(novo));
+    }
+
+    @Test
+    @DisplayName("Deve gravar um por vez o bloco com cpf cadastrado concorrentemente, rejeitando só o repetido")
+    public void saveAllConcurrentDuplicateTest() {
+        Cliente fulano = Cliente.builder().nome("Fulano").cpf("47442993001").build();
+        Cliente cicrano = Cliente.builder().nome("Cicrano").cpf("08607652028").build();
+        CpfFilter cpfFilter = Mockito.mock(CpfFilter.class);
+        ReflectionTestUtils.setField(service, "cpfFilter", cpfFilter);
+        ReflectionTestUtils.setField(service, "entityManager", Mockito.mock(EntityManager.class));
+        Mockito.when(cpfFilter.mightContain(anyString())).thenReturn(true);
+        messagesMock(service);
+        Mockito.when(repository.findCpfsIn(anyCollection())).thenReturn(Collections.emptyList());
+        Mockito.doThrow(new DataIntegrityViolationException("cpf",
+                new ConstraintViolationException("cpf", null, "PUBLIC.UK_CLIENTE_CPF_INDEX_8")))
+                .doNothing()
+                .doThrow(new DataIntegrityViolationException("cpf",
+                        new ConstraintViolationException("cpf", null, "PUBLIC.UK_CLIENTE_CPF_INDEX_8")))
+                .when(repository).flush();
+
+        List<ClienteBatchResult> results = service.saveAll(Arrays.asList(fulano, cicrano));
+
+        assertThat(results).extracting(ClienteBatchResult::isCreated).containsExactly(true, false);
+        assertThat(results.get(0).getCliente()).isNotSameAs(fulano);
+        assertThat(results.get(0).getCliente().getCpf()).isEqualTo("47442993001");
+        assertThat(results.get(1).getCliente()).isSameAs(cicrano);
+        Mockito.verify(repository, Mockito.times(3)).flush();
+        Mockito.verify(cpfFilter, Mockito.times(2)).add("08607652028");
+        Mockito.verify(cpfFilter, Mockito.times(2)).remove("08607652028");
+        Mockito.verify(cpfFilter, Mockito.times(1)).remove("47442993001");
+        Mockito.verify(publisher, Mockito.times(1)).publishEvent(any(ClienteSavedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Não deve consultar o cpf no banco quando o filtro garante que ele não existe")
+    public void saveWithCpfFilterSkipsLookupTest() {
+        Cliente cliente = Cliente.builder().nome("Fulano").cpf("47442993001").build();
+        CpfFilter cpfFilter = Mockito.mock(CpfFilter.class);
+        ReflectionTestUtils.setField(service, "cpfFilter", cpfFilter);
+        Mockito.when(repository.saveAndFlush(cliente)).thenReturn(cliente);
+
+        service.save(cliente);
+
+        Mockito.verify(repository, Mockito.never()).existsByCpf(anyString());
+        Mockito.verify(cpfFilter).add("47442993001");
+    }
+
+    @Test
+    @DisplayName("Deve recusar o cpf duplicado sem tentar o insert quando o filtro indica que ele talvez exista")
+    public void saveWithCpfFilterRejectsDuplicateTest() {
+        Cliente cliente = Cliente.builder().nome("Fulano").cpf("47442993001").build();
+        CpfFilter cpfFilter = Mockito.mock(CpfFilter.class);
+        ReflectionTestUtils.setField(service, "cpfFilter", cpfFilter);
+        messagesMock(service);
+        Mockito.when(cpfFilter.mightContain("47442993001")).thenReturn(true);
+        Mockito.when(repository.existsByCpf("47442993001")).thenReturn(true);
+
+        assertThrows(BusinessException.class, () -> service.save(cliente));
+
+        Mockito.verify(repository, Mockito.never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Deve consultar em lote apenas os cpfs que o filtro não descarta")
+    public void saveAllWithCpfFilterTest() {
+        Cliente novo = Cliente.builder().nome("Fulano").cpf("47442993001").build();
+        Cliente cadastrado = Cliente.builder().nome("Cicrano").cpf("08607652028").build();
+        CpfFilter cpfFilter = Mockito.mock(CpfFilter.class);
+        ReflectionTestUtils.setField(service, "cpfFilter", cpfFilter);
+        ReflectionTestUtils.setField(service, "entityManager", Mockito.mock(EntityManager.class));
+        messagesMock(service);
+        Mockito.when(cpfFilter.mightContain("08607652028")).thenReturn(true);
+        Mockito.when(repository.findCpfsIn(anyCollection())).thenReturn(Arrays.asList("08607652028"));
+
+        List<ClienteBatchResult> results = service.saveAll(Arrays.asList(novo, cadastrado));
+
+        assertThat(results).extracting(ClienteBatchResult::isCreated).containsExactly(true, false);
+        Mockito.verify(repository).findCpfsIn(Collections.singleton("08607652028"));
+        Mockito.verify(cpfFilter).add("47442993001");
+    }
+
+    @Test
+    @DisplayName("Deve buscar pelo nome na ordem do índice, lendo os clientes pelo id")
+    public void searchByNomeTest() {
+        Cliente fulano = new Cliente(1L, "Fulano", "47442993001", LocalDate.now());
+        Cliente fulanoSilva = new Cliente(2L, "Fulano da Silva", "08607652028", LocalDate.now());
+        NomeSearchIndex index = Mockito.mock(NomeSearchIndex.class);
+        ReflectionTestUtils.setField(service, "nomeSearchIndex", index);
+        Mockito.when(index.isPronto()).thenReturn(true);
+        Mockito.when(index.search("fulano", 10)).thenReturn(Arrays.asList(1L, 2L));
+        Mockito.when(repository.findAllById(Arrays.asList(1L, 2L))).thenReturn(Arrays.asList(fulanoSilva, fulano));
+
+        assertThat(service.searchByNome("fulano", 10)).containsExactly(fulano, fulanoSilva);
+        Mockito.verify(repository, Mockito.never()).findByNomeContendo(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Deve sugerir nomes pelo índice de prefixos sem consultar o banco")
+    public void suggestTest() {
+        ClienteNome fulano = Mockito.mock(ClienteNome.class);
+        NomePrefixIndex index = Mockito.mock(NomePrefixIndex.class);
+        ReflectionTestUtils.setField(service, "nomePrefixIndex", index);
+        Mockito.when(index.isPronto()).thenReturn(true);
+        Mockito.when(index.suggest("ful", 10)).thenReturn(Collections.singletonList(fulano));
+
+        assertThat(service.suggest("ful", 10)).containsExactly(fulano);
+        Mockito.verifyNoInteractions(repository);
     }
 
     @Test
@@ -112,10 +281,25 @@ public class ClienteServiceTest {
 
         Cliente cliente = Cliente.builder().id(1L).build();
         messagesMock(service);
+        Mockito.when(repository.deleteDirectlyById(1L)).thenReturn(1);
 
         assertDoesNotThrow( () -> service.delete(cliente) );
 
-        Mockito.verify(repository, Mockito.times(1)).delete(cliente);
+        Mockito.verify(repository, Mockito.times(1)).deleteDirectlyById(1L);
+        Mockito.verify(publisher).publishEvent(any(ClienteDeletedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Não deve publicar a exclusão de um cliente que já tinha sido excluído")
+    public void deleteAlreadyDeletedClienteTest() {
+
+        Cliente cliente = Cliente.builder().id(1L).cpf("47442993001").build();
+        messagesMock(service);
+        Mockito.when(repository.deleteDirectlyById(1L)).thenReturn(0);
+
+        service.delete(cliente);
+
+        Mockito.verify(publisher, Mockito.never()).publishEvent(any(ClienteDeletedEvent.class));
     }
 
     @Test
@@ -126,7 +310,7 @@ public class ClienteServiceTest {
         messagesMock(service);
 
         assertThrows(IllegalArgumentException.class, () -> service.delete(cliente) );
-        Mockito.verify(repository, Mockito.never()).delete(cliente);
+        Mockito.verify(repository, Mockito.never()).deleteDirectlyById(any());
     }
 
     @Test
@@ -139,7 +323,7 @@ public class ClienteServiceTest {
         Cliente updatedCliente = new Cliente(id, "Cicrano", "08607652028", data);
 
         messagesMock(service);
-        Mockito.when(repository.save(updatingCliente)).thenReturn(updatedCliente);
+        Mockito.when(repository.saveAndFlush(updatingCliente)).thenReturn(updatedCliente);
 
         Cliente cliente = service.update(updatingCliente);
 
@@ -149,6 +333,73 @@ public class ClienteServiceTest {
         assertThat(cliente.getDataCadastro()).isEqualTo(updatedCliente.getDataCadastro());
     }
 
+    @Test
+    @DisplayName("Deve incluir o cpf no filtro só quando a alteração o troca, retirando o anterior")
+    public void updateWithCpfFilterTest() {
+        CpfFilter cpfFilter = Mockito.mock(CpfFilter.class);
+        ReflectionTestUtils.setField(service, "cpfFilter", cpfFilter);
+        messagesMock(service);
+        Cliente mesmoCpf = new Cliente(1L, "Fulano", "47442993001", null);
+        Cliente outroCpf = new Cliente(1L, "Fulano", "086.076.520-28", null);
+        Mockito.when(repository.findCpfById(1L)).thenReturn(Optional.of("47442993001"));
+        Mockito.when(repository.saveAndFlush(any(Cliente.class))).then(invocation -> invocation.getArgument(0));
+
+        service.update(mesmoCpf);
+        Mockito.verify(cpfFilter, Mockito.never()).add(anyString());
+        Mockito.verify(cpfFilter, Mockito.never()).remove(anyString());
+
+        service.update(outroCpf);
+        Mockito.verify(cpfFilter).add("08607652028");
+        Mockito.verify(cpfFilter).remove("47442993001");
+    }
+
+    @Test
+    @DisplayName("Deve trocar o cpf no filtro na alteração parcial só quando ele muda e a linha é alterada")
+    public void patchWithCpfFilterTest() {
+        CpfFilter cpfFilter = Mockito.mock(CpfFilter.class);
+        ReflectionTestUtils.setField(service, "cpfFilter", cpfFilter);
+        messagesMock(service);
+        Mockito.when(repository.findCpfById(1L)).thenReturn(Optional.of("47442993001"));
+        Mockito.when(repository.patch(eq(1L), any(), anyString(), any())).thenReturn(1);
+
+        service.patch(Cliente.builder().id(1L).cpf("474.429.930-01").build());
+        Mockito.verifyNoInteractions(cpfFilter);
+
+        service.patch(Cliente.builder().id(1L).cpf("086.076.520-28").build());
+        Mockito.verify(cpfFilter).add("08607652028");
+        Mockito.verify(cpfFilter).remove("47442993001");
+
+        Mockito.when(repository.patch(eq(1L), any(), anyString(), eq(0L))).thenReturn(0);
+        service.patch(Cliente.builder().id(1L).cpf("52998224725").versao(0L).build());
+        Mockito.verify(cpfFilter).add("52998224725");
+        Mockito.verify(cpfFilter).remove("52998224725");
+        Mockito.verify(cpfFilter, Mockito.times(1)).remove("47442993001");
+    }
+
+    @Test
+    @DisplayName("Deve retirar do filtro o novo cpf quando a alteração falha")
+    public void updateFailureRemovesCpfFromFilterTest() {
+        CpfFilter cpfFilter = Mockito.mock(CpfFilter.class);
+        ReflectionTestUtils.setField(service, "cpfFilter", cpfFilter);
+        messagesMock(service);
+        Cliente duplicado = new Cliente(1L, "Fulano", "08607652028", null);
+        Cliente desatualizado = new Cliente(1L, "Fulano", "52998224725", null);
+        Mockito.when(repository.findCpfById(1L)).thenReturn(Optional.of("47442993001"));
+        Mockito.when(repository.saveAndFlush(duplicado)).thenThrow(new DataIntegrityViolationException("cpf",
+                new ConstraintViolationException("cpf", null, "PUBLIC.UK_CLIENTE_CPF_INDEX_8")));
+        Mockito.when(repository.saveAndFlush(desatualizado))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Cliente.class, 1L));
+
+        assertThrows(BusinessException.class, () -> service.update(duplicado));
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> service.update(desatualizado));
+
+        Mockito.verify(cpfFilter).add("08607652028");
+        Mockito.verify(cpfFilter).remove("08607652028");
+        Mockito.verify(cpfFilter).add("52998224725");
+        Mockito.verify(cpfFilter).remove("52998224725");
+        Mockito.verify(cpfFilter, Mockito.never()).remove("47442993001");
+    }
+
     @Test
     @DisplayName("Deve ocorrer erro ao tentar atualizar um cliente inexistente")
     public void updateInvalidClienteTest() {
@@ -158,7 +409,7 @@ public class ClienteServiceTest {
 
         assertThrows(IllegalArgumentException.class, () -> service.update(cliente) );
 
-        Mockito.verify(repository, Mockito.never()).save(cliente);
+        Mockito.verify(repository, Mockito.never()).saveAndFlush(cliente);
     }
 
     @Test
@@ -182,6 +433,21 @@ public class ClienteServiceTest {
         assertThat(result.getPageable().getPageSize()).isEqualTo(sizePR);
     }
 
+    @Test
+    @DisplayName("Deve indicar a próxima página do cursor buscando um registro a mais")
+    public void findAfterTest() {
+
+        Cliente fulano = new Cliente(1L, "Fulano", "47442993001", null);
+        Cliente cicrano = new Cliente(2L, "Cicrano", "08607652028", null);
+        Mockito.when(repository.findAfterId(Mockito.eq(1L), Mockito.eq(PageRequest.of(0, 2))))
+                .thenReturn(Arrays.asList(fulano, cicrano));
+
+        Slice<Cliente> result = service.findAfter(new ClienteCursor(ClienteCursor.Sort.ID, 1L, null), 1);
+
+        assertThat(result.getContent()).containsExactly(fulano);
+        assertThat(result.hasNext()).isTrue();
+    }
+
     private void messagesMock(ClienteService service) {
         InternacionalizacaoConfig messagesMock = Mockito.mock(InternacionalizacaoConfig.class);
         Mockito.when(messagesMock.getMessage(anyString())).thenReturn("cliente.id.nulo");
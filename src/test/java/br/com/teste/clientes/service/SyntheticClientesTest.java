@@ -0,0 +1,55 @@
+package br.com.teste.clientes.service;
+
+import br.com.teste.clientes.validation.Cpf;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SyntheticClientesTest {
+
+    @Test
+    @DisplayName("Deve gerar cpfs válidos e distintos")
+    public void cpfsValidosDistintosTest() {
+        SyntheticClientes clientes = new SyntheticClientes(42);
+        Set<String> cpfs = new HashSet<>();
+
+        for (long i = 0; i < 200_000; i++) {
+            String cpf = clientes.cpf(i);
+            assertThat(Cpf.isValid(cpf)).as(cpf).isTrue();
+            cpfs.add(cpf);
+        }
+        for (long i = SyntheticClientes.LIMITE - 1_000; i < SyntheticClientes.LIMITE; i++) {
+            cpfs.add(clientes.cpf(i));
+        }
+
+        assertThat(cpfs).hasSize(201_000);
+    }
+
+    @Test
+    @DisplayName("Deve gerar os mesmos clientes para a mesma semente e outros para outra semente")
+    public void deterministicoTest() {
+        SyntheticClientes clientes = new SyntheticClientes(7);
+        SyntheticClientes mesmaSemente = new SyntheticClientes(7);
+        SyntheticClientes outraSemente = new SyntheticClientes(8);
+
+        assertThat(mesmaSemente.cpf(123)).isEqualTo(clientes.cpf(123));
+        assertThat(mesmaSemente.nome(123)).isEqualTo(clientes.nome(123));
+        assertThat(mesmaSemente.dataCadastro(123)).isEqualTo(clientes.dataCadastro(123));
+        assertThat(outraSemente.cpf(123)).isNotEqualTo(clientes.cpf(123));
+        assertThat(clientes.nome(123)).matches("\\S+ \\S+ \\S+");
+    }
+
+    @Test
+    @DisplayName("Deve recusar índices fora do intervalo de cpfs distintos")
+    public void indiceForaDoLimiteTest() {
+        SyntheticClientes clientes = new SyntheticClientes(1);
+
+        assertThatThrownBy(() -> clientes.cpf(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> clientes.cpf(SyntheticClientes.LIMITE)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.teste.clientes.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CountingBloomFilterTest {
+
+    @Test
+    @DisplayName("Não deve dar falsos negativos e deve respeitar a taxa de falsos positivos configurada")
+    public void mightContainTest() {
+        CountingBloomFilter filtro = new CountingBloomFilter(10_000, 0.01);
+        for (long cpf = 0; cpf < 10_000; cpf++) {
+            filtro.add(10_000_000_000L + cpf);
+        }
+
+        for (long cpf = 0; cpf < 10_000; cpf++) {
+            assertThat(filtro.mightContain(10_000_000_000L + cpf)).isTrue();
+        }
+        int falsosPositivos = 0;
+        for (long cpf = 0; cpf < 100_000; cpf++) {
+            if (filtro.mightContain(20_000_000_000L + cpf)) {
+                falsosPositivos++;
+            }
+        }
+        assertThat(falsosPositivos / 100_000.0).isLessThan(0.02);
+        assertThat(filtro.probabilidadeFalsoPositivo()).isLessThan(0.02);
+        assertThat(filtro.elementosEstimados()).isBetween(9_500L, 10_500L);
+    }
+
+    @Test
+    @DisplayName("Deve esquecer o elemento removido sem afetar os demais")
+    public void removeTest() {
+        CountingBloomFilter filtro = new CountingBloomFilter(1_000, 0.001);
+        filtro.add(47442993001L);
+        filtro.add(8607652028L);
+
+        filtro.remove(47442993001L);
+
+        assertThat(filtro.mightContain(47442993001L)).isFalse();
+        assertThat(filtro.mightContain(8607652028L)).isTrue();
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.teste.clientes.service.impl;
+
+import br.com.teste.clientes.model.repository.ClienteNome;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrefixIndexTest {
+
+    @Test
+    @DisplayName("Deve sugerir pelo início do nome em ordem alfabética, ignorando acentos")
+    public void suggestTest() {
+        PrefixIndex index = new PrefixIndex();
+        index.carregar(Stream.of(nome(1, "Mariana Souza"), nome(2, "Ana Maria"), nome(3, "Márcia Lima"),
+                nome(4, "Maria"), nome(5, "Mario"), nome(6, "maria")));
+
+        assertThat(ids(index.suggest("MAR", 10))).containsExactly(3L, 4L, 6L, 1L, 5L);
+        assertThat(ids(index.suggest("maria", 2))).containsExactly(4L, 6L);
+        assertThat(index.suggest("marc", 10)).extracting(ClienteNome::getNome).containsExactly("Márcia Lima");
+        assertThat(index.suggest("ana m", 10)).extracting(ClienteNome::getId).containsExactly(2L);
+        assertThat(index.suggest("  ", 10)).isEmpty();
+        assertThat(index.suggest("zzz", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve intercalar cadastros recentes e esconder nomes alterados ou excluídos")
+    public void putAndRemoveTest() {
+        PrefixIndex index = new PrefixIndex();
+        index.carregar(Stream.of(nome(1, "Beatriz"), nome(2, "Bruna"), nome(3, "Bruno")));
+
+        index.put(4, "Bianca");
+        index.put(2, "Carla");
+        index.remove(3);
+
+        assertThat(ids(index.suggest("b", 10))).containsExactly(1L, 4L);
+        assertThat(ids(index.suggest("c", 10))).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(3);
+
+        index.compactar();
+
+        assertThat(ids(index.suggest("b", 10))).containsExactly(1L, 4L);
+        assertThat(ids(index.suggest("c", 10))).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    private static List<Long> ids(List<ClienteNome> nomes) {
+        return nomes.stream().map(ClienteNome::getId).collect(Collectors.toList());
+    }
+
+    private static ClienteNome nome(long id, String nome) {
+        return new ClienteNome() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getNome() {
+                return nome;
+            }
+        };
+    }
+}
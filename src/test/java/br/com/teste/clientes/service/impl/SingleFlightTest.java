@@ -0,0 +1,98 @@
+package br.com.teste.clientes.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SingleFlightTest {
+
+    @Test
+    @DisplayName("Deve executar uma única consulta para chamadas simultâneas com a mesma chave")
+    public void coalesceTest() throws Exception {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>("getById");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        singleFlight.bindTo(registry);
+        AtomicInteger consultas = new AtomicInteger();
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        Future<String> primeira = executor.submit(() -> singleFlight.execute(1L, () -> {
+            consultas.incrementAndGet();
+            await(liberar);
+            return "Fulano";
+        }));
+        while (registry.get("clientes.single-flight.in-flight").gauge().value() < 1) {
+            Thread.sleep(1);
+        }
+        Future<String> segunda = executor.submit(() -> singleFlight.execute(1L, () -> "outra consulta"));
+        Future<String> terceira = executor.submit(() -> singleFlight.execute(1L, () -> "outra consulta"));
+        while (singleFlight.getCompartilhadas() < 2) {
+            Thread.sleep(1);
+        }
+        liberar.countDown();
+
+        assertThat(primeira.get(5, TimeUnit.SECONDS)).isEqualTo("Fulano");
+        assertThat(segunda.get(5, TimeUnit.SECONDS)).isEqualTo("Fulano");
+        assertThat(terceira.get(5, TimeUnit.SECONDS)).isEqualTo("Fulano");
+        assertThat(singleFlight.execute(1L, () -> "nova consulta")).isEqualTo("nova consulta");
+        executor.shutdown();
+
+        assertThat(consultas.get()).isEqualTo(1);
+        assertThat(registry.get("clientes.single-flight.calls").tags("operation", "getById", "outcome", "executed")
+                .functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("clientes.single-flight.calls").tags("operation", "getById", "outcome", "coalesced")
+                .functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("clientes.single-flight.ratio").gauge().value()).isEqualTo(0.5);
+        assertThat(registry.get("clientes.single-flight.in-flight").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve repassar a exceção da consulta a todas as chamadas que a aguardavam")
+    public void coalesceErrorTest() throws Exception {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>("getById");
+        IllegalStateException erro = new IllegalStateException("banco fora do ar");
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        Future<String> primeira = executor.submit(() -> singleFlight.execute(1L, () -> {
+            await(liberar);
+            throw erro;
+        }));
+        while (singleFlight.getExecutadas() < 1) {
+            Thread.sleep(1);
+        }
+        Future<String> segunda = executor.submit(() -> singleFlight.execute(1L, () -> "outra consulta"));
+        while (singleFlight.getCompartilhadas() < 1) {
+            Thread.sleep(1);
+        }
+        liberar.countDown();
+
+        ExecutionException naPrimeira = assertThrows(ExecutionException.class,
+                () -> primeira.get(5, TimeUnit.SECONDS));
+        ExecutionException naSegunda = assertThrows(ExecutionException.class,
+                () -> segunda.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        assertThat(naPrimeira.getCause()).isSameAs(erro);
+        assertThat(naSegunda.getCause()).isSameAs(erro);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package br.com.teste.clientes.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TrigramIndexTest {
+
+    @Test
+    @DisplayName("Deve ranquear nome igual, prefixo, início de palavra e trecho, ignorando acentos")
+    public void searchRankingTest() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "Mariana Souza");
+        index.put(2, "Ana Maria");
+        index.put(3, "João Mariano");
+        index.put(4, "Maria");
+        index.put(5, "Márcia Lima");
+        index.put(6, "Rosemaria Alves");
+
+        assertThat(index.search("MARIA", 10)).containsExactly(4, 1, 2, 3, 6);
+        assertThat(index.search("marcia", 10)).containsExactly(5);
+        assertThat(index.search("maria", 2)).containsExactly(4, 1);
+    }
+
+    @Test
+    @DisplayName("Deve exigir todos os trigramas e o trecho contíguo do termo")
+    public void searchRequiresSubstringTest() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "Ana Bela");
+        index.put(2, "Anabela");
+
+        assertThat(index.search("anabel", 10)).containsExactly(2);
+        assertThat(index.search("zzz", 10)).isEmpty();
+        assertThat(index.search("an", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve devolver cada cliente uma única vez quando o nome repete o trigrama")
+    public void searchRepeatedTrigramTest() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "Ana Mariana");
+        index.put(2, "Anaana");
+        index.put(3, "Bruna");
+
+        assertThat(index.search("ana", 10)).containsExactly(2, 1);
+        assertThat(index.search("ana", 2)).containsExactly(2, 1);
+    }
+
+    @Test
+    @DisplayName("Deve refletir alterações e exclusões")
+    public void putAndRemoveTest() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "Fulano");
+        index.put(2, "Cicrano");
+
+        index.put(1, "Beltrano");
+        index.remove(2);
+
+        assertThat(index.search("fulano", 10)).isEmpty();
+        assertThat(index.search("rano", 10)).containsExactly(1);
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.removidos()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve compactar os documentos removidos sem perder os atuais")
+    public void compactacaoTest() {
+        TrigramIndex index = new TrigramIndex();
+        for (long id = 0; id < 4_000; id++) {
+            index.put(id, "Cliente " + id + " Antigo");
+        }
+        for (long id = 0; id < 4_000; id++) {
+            index.put(id, "Cliente " + id + " Novo");
+        }
+        for (long id = 0; id < 1_000; id++) {
+            index.remove(id);
+        }
+
+        assertThat(index.size()).isEqualTo(3_000);
+        assertThat(index.removidos()).isLessThanOrEqualTo(1_024);
+        assertThat(index.search("antigo", 10)).isEmpty();
+        assertThat(index.search("cliente 3999 novo", 10)).containsExactly(3999);
+        assertThat(index.search("cliente 999 ", 10)).isEmpty();
+        assertThat(index.search("novo", 5_000)).hasSize(3_000);
+
+        index.compactar();
+        assertThat(index.removidos()).isZero();
+        assertThat(index.search("cliente 1000 novo", 10)).containsExactly(1000);
+        TrigramIndex atuais = new TrigramIndex();
+        for (long id = 1_000; id < 4_000; id++) {
+            atuais.put(id, "Cliente " + id + " Novo");
+        }
+        assertThat(index.trigramas()).isEqualTo(atuais.trigramas());
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.teste.clientes.validation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CpfTest {
+
+    @Test
+    @DisplayName("Deve aceitar cpfs válidos com e sem máscara")
+    public void validCpfTest() {
+        assertThat(Cpf.isValid("47442993001")).isTrue();
+        assertThat(Cpf.isValid("474.429.930-01")).isTrue();
+        assertThat(Cpf.isValid("474429930-01")).isTrue();
+        assertThat(Cpf.isValid("08607652028")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cpfs com dígitos verificadores, tamanho ou máscara inválidos")
+    public void invalidCpfTest() {
+        assertThat(Cpf.isValid(null)).isFalse();
+        assertThat(Cpf.isValid("")).isFalse();
+        assertThat(Cpf.isValid("47442993002")).isFalse();
+        assertThat(Cpf.isValid("47442993011")).isFalse();
+        assertThat(Cpf.isValid("4744299300")).isFalse();
+        assertThat(Cpf.isValid("474429930011")).isFalse();
+        assertThat(Cpf.isValid("11111111111")).isFalse();
+        assertThat(Cpf.isValid("47.4429.930-01")).isFalse();
+        assertThat(Cpf.isValid("474..429930-01")).isFalse();
+        assertThat(Cpf.isValid("474 429 930 01")).isFalse();
+        assertThat(Cpf.isValid("4744299300a")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve completar a base de nove dígitos com os dígitos verificadores")
+    public void fromBaseTest() {
+        assertThat(Cpf.fromBase(474429930)).isEqualTo("47442993001");
+        assertThat(Cpf.fromBase(86076520)).isEqualTo("08607652028");
+        assertThat(Cpf.isValid(Cpf.fromBase(123456789))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve remover pontos e hífen, devolvendo a mesma instância quando já normalizado")
+    public void normalizeTest() {
+        String cpf = "47442993001";
+
+        assertThat(Cpf.normalize("474.429.930-01")).isEqualTo(cpf);
+        assertThat(Cpf.normalize(cpf)).isSameAs(cpf);
+        assertThat(Cpf.normalize("474.42")).isEqualTo("47442");
+        assertThat(Cpf.normalize(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve mascarar o cpf para logs, mostrando só os dígitos verificadores de um cpf completo")
+    public void maskTest() {
+        assertThat(Cpf.mask("47442993001")).isEqualTo("***.***.***-01");
+        assertThat(Cpf.mask("474.429.930-01")).isEqualTo("***.***.***-01");
+        assertThat(Cpf.mask("474.42")).isEqualTo("***.**");
+        assertThat(Cpf.mask(null)).isNull();
+    }
+}